@@ -0,0 +1,18 @@
+package com.marcos.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fleet.batch")
+public class BatchProperties {
+
+    // Máximo de ids em GET /buses?ids= e GET /vans?ids=
+    private int maxIds = 1000;
+
+    // Máximo de operações em um POST /batch (todas na mesma transação)
+    private int maxOperations = 1000;
+}
@@ -0,0 +1,48 @@
+package com.marcos.backend.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+// Cache de leitura dos serviços (tamanho e TTL em spring.cache.caffeine.spec)
+/*
+ * Estatísticas de acertos/falhas/remoções em /actuator/metrics/cache.gets,
+ * /actuator/metrics/cache.evictions e /actuator/caches
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String BUSES = "buses";
+    public static final String VANS = "vans";
+    // Lista completa de Meios Acessíveis, pela versão da tabela (AccessibilityFeatureService)
+    public static final String ACCESSIBILITY_FEATURES = "accessibilityFeatures";
+    public static final String ACCESSIBILITY_FEATURE_BY_ID = "accessibilityFeatureById";
+    public static final String VEHICLE_PLATES = "vehiclePlates";
+
+    // Caffeine configurado por spring.cache.*, com put/evict adiados para depois do commit
+    /*
+     * Sem o proxy, o @CacheEvict de uma escrita roda antes do commit: uma leitura
+     * concorrente nesse intervalo ainda vê a linha antiga e a devolve ao cache, que
+     * fica com o valor velho até o TTL. Fora de transação o comportamento não muda.
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            caffeine.setCacheSpecification(spec);
+        }
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            caffeine.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
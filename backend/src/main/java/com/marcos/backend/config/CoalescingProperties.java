@@ -0,0 +1,21 @@
+package com.marcos.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fleet.coalescing")
+public class CoalescingProperties {
+
+    // Listagens idênticas simultâneas compartilham uma execução (ResponseCoalescer)
+    private boolean enabled = true;
+
+    // Tempo em que a resposta pronta ainda atende requisições idênticas; zero = só as simultâneas.
+    // Uma escrita confirmada encerra a reutilização na hora
+    private Duration reuseWindow = Duration.ZERO;
+}
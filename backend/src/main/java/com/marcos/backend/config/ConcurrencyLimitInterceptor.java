@@ -0,0 +1,101 @@
+package com.marcos.backend.config;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.exceptions.ErrorResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * Limita as requisições simultâneas por endpoint para que o banco não receba mais
+ * trabalho do que o pool de conexões atende. Acima do limite a requisição espera
+ * até acquireTimeout por uma vaga e depois recebe 503 com Retry-After.
+ * Em respostas assíncronas (exportação em streaming) a vaga só é liberada no fim do envio.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final ConcurrencyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Semaphore> semaphores = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (!properties.isEnabled() || !(handler instanceof HandlerMethod)
+                || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        String endpoint = endpointOf(request);
+        Semaphore semaphore = semaphores.computeIfAbsent(endpoint, this::register);
+        if (!semaphore.tryAcquire(properties.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            meterRegistry.counter("fleet.concurrency.rejected", "endpoint", endpoint).increment();
+            reject(request, response);
+            return false;
+        }
+        request.setAttribute(PERMIT, semaphore);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        Object permit = request.getAttribute(PERMIT);
+        if (permit instanceof Semaphore semaphore) {
+            request.removeAttribute(PERMIT);
+            semaphore.release();
+        }
+    }
+
+    private Semaphore register(String endpoint) {
+        Semaphore semaphore = new Semaphore(properties.limitFor(endpoint));
+        meterRegistry.gauge("fleet.concurrency.available",
+                Tags.of("endpoint", endpoint),
+                semaphore, Semaphore::availablePermits);
+        return semaphore;
+    }
+
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws Exception {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ErrorResponse body = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message("Limite de requisições simultâneas atingido, tente novamente")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,31 @@
+package com.marcos.backend.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fleet.concurrency")
+public class ConcurrencyProperties {
+
+    private boolean enabled = true;
+
+    // Requisições simultâneas por endpoint; alinhado ao tamanho do pool do Hikari
+    private int maxConcurrentRequests = 20;
+
+    // Espera por uma vaga antes de responder 503
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+
+    // Limites específicos, chave "MÉTODO /padrão", ex.: "GET /buses/export" = 2
+    private Map<String, Integer> limits = new HashMap<>();
+
+    public int limitFor(String endpoint) {
+        return limits.getOrDefault(endpoint, maxConcurrentRequests);
+    }
+}
@@ -10,8 +10,11 @@ public class Cors implements WebMvcConfigurer {
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOrigins("http://localhost:5173", "http://127.0.0.1:5500")
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                .allowedHeaders("Content-Type", "Authorization", "X-Custom-Header")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
+                .allowedHeaders("Content-Type", "Authorization", "X-Custom-Header", "Last-Event-ID",
+                        "If-Match", "If-None-Match")
+                // Sem exposição o navegador esconde o ETag, e o frontend não teria o que mandar no If-Match
+                .exposedHeaders("ETag")
                 .allowCredentials(true);
     }
 }
@@ -0,0 +1,23 @@
+package com.marcos.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fleet.http-cache")
+public class HttpCacheProperties {
+
+    // Tempo em que navegador/proxy reutilizam os dados de referência sem consultar a aplicação;
+    // depois disso revalidam com If-None-Match (304 sem corpo quando nada mudou)
+    private Duration referenceDataMaxAge = Duration.ofSeconds(60);
+
+    public CacheControl referenceData() {
+        return CacheControl.maxAge(referenceDataMaxAge).cachePublic().mustRevalidate();
+    }
+}
@@ -0,0 +1,35 @@
+package com.marcos.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fleet.live")
+public class LiveFeedProperties {
+
+    // Intervalo de leitura de novos eventos publicados na outbox
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    // Conexões simultâneas por instância; acima disso, 503
+    private int maxClients = 5000;
+
+    // Mudanças aguardando envio por cliente; cliente lento que enche o buffer é desconectado
+    private int bufferSize = 256;
+
+    // Mudanças recentes mantidas para retomar a conexão com Last-Event-ID
+    private int replaySize = 10000;
+
+    // Conexões são encerradas depois disso; o EventSource reconecta sozinho
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+
+    // Comentário periódico que mantém a conexão viva e detecta clientes desconectados
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    // Threads que escrevem nas conexões (compartilhadas por todos os clientes)
+    private int senderThreads = 4;
+}
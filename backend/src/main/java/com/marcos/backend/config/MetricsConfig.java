@@ -0,0 +1,34 @@
+package com.marcos.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Métricas da aplicação, expostas em /actuator/prometheus
+/*
+ * - http.server.requests: latência por endpoint (histograma, tags uri/method/status)
+ * - fleet.service: métodos dos serviços anotados com @Timed (tags class/method)
+ * - spring.data.repository.invocations: métodos dos repositórios Spring Data
+ * - fleet.repository: consultas fora do Spring Data (VehicleCatalogRepository)
+ * - fleet.sql.statements: comandos SQL (Hibernate e JdbcTemplate) por requisição
+ * - hikaricp.connections.* e cache.*: pool de conexões e caches Caffeine
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "fleet.service";
+    public static final String REPOSITORY_TIMER = "fleet.repository";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // Mesma instância no proxy do DataSource (SlowQueryLogConfig) e no StatementMetricsInterceptor
+    @Bean
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+}
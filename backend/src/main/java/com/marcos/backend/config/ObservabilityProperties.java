@@ -0,0 +1,32 @@
+package com.marcos.backend.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fleet.observability")
+public class ObservabilityProperties {
+
+    // Comandos SQL a partir desta duração vão para o log de consultas lentas
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    // Comandos SQL (JDBC) por requisição acima dos quais a requisição é sinalizada
+    private int statementBudget = 10;
+
+    // Orçamentos específicos, chave "MÉTODO /padrão", ex.: "POST /buses/bulk" = 100
+    private Map<String, Integer> statementBudgets = new HashMap<>();
+
+    // O mesmo SELECT repetido esta quantidade de vezes na requisição indica N+1
+    private int repeatedStatementThreshold = 5;
+
+    public int statementBudgetFor(String endpoint) {
+        return statementBudgets.getOrDefault(endpoint, statementBudget);
+    }
+}
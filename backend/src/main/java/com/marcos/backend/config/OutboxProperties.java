@@ -0,0 +1,39 @@
+package com.marcos.backend.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fleet.outbox")
+public class OutboxProperties {
+
+    // Destino dos eventos publicados, além do feed /changes
+    public enum Sink {
+        NONE,
+        MEMORY,
+        FILE
+    }
+
+    // Publicação em segundo plano; desligada, os eventos ficam pendentes (e fora do feed)
+    private boolean publisherEnabled = true;
+
+    // Eventos por transação de publicação
+    private int batchSize = 500;
+
+    // Eventos publicados mais antigos que isto são removidos
+    private Duration retention = Duration.ofDays(7);
+
+    private Sink sink = Sink.MEMORY;
+
+    // MEMORY: últimos eventos guardados
+    private int memoryCapacity = 10000;
+
+    // FILE: NDJSON, um evento por linha (acrescentado ao final)
+    private Path file = Path.of("change-events.ndjson");
+}
@@ -0,0 +1,18 @@
+package com.marcos.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fleet.plates")
+public class PlateLookupProperties {
+
+    // Máximo de placas em uma consulta em lote (POST /vehicles/by-plate)
+    private int maxBatchSize = 5000;
+
+    // Mapa placa -> veículo em memória (cache vehiclePlates) para placas lidas com frequência
+    private boolean cacheEnabled = true;
+}
@@ -0,0 +1,39 @@
+package com.marcos.backend.config;
+
+import java.util.function.Supplier;
+
+// Leituras que vão ao primário mesmo em transação readOnly: valores que entram em cache
+/*
+ * Um cache preenchido a partir de uma réplica atrasada guarda a versão antiga
+ * do registro até o TTL, mesmo depois de a escrita ter removido a entrada.
+ * A conexão é aberta no primeiro comando (LazyConnectionDataSourceProxy), então
+ * basta o comando rodar dentro de call(). Sem réplicas configuradas não há efeito.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> REQUIRED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> read) {
+        if (Boolean.TRUE.equals(REQUIRED.get())) {
+            return read.get();
+        }
+        REQUIRED.set(true);
+        try {
+            return read.get();
+        } finally {
+            REQUIRED.remove();
+        }
+    }
+
+    static boolean required() {
+        return Boolean.TRUE.equals(REQUIRED.get());
+    }
+
+    // Leituras desta thread vão ao primário: dentro de call() ou cliente que acabou de escrever (ReadYourWrites)
+    public static boolean current() {
+        return required() || ReadYourWrites.primaryRequired();
+    }
+}
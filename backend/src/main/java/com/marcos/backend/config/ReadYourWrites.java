@@ -0,0 +1,86 @@
+package com.marcos.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Leitura das próprias escritas com réplicas: o cliente que escreveu lê do primário por um tempo
+/*
+ * Depois do commit de uma transação de escrita, a resposta leva o cookie
+ * fleet-read-primary-until (instante em milissegundos) e o restante da
+ * requisição já lê do primário. Requisições seguintes com o cookie ainda
+ * válido também vão ao primário, em qualquer instância da aplicação.
+ * Fora de uma requisição HTTP (tarefas internas) não há aderência.
+ */
+final class ReadYourWrites {
+
+    static final String COOKIE = "fleet-read-primary-until";
+
+    private static final String ATTRIBUTE = ReadYourWrites.class.getName() + ".primary";
+
+    private ReadYourWrites() {
+    }
+
+    static boolean primaryRequired() {
+        HttpServletRequest request = currentRequest();
+        if (request == null) {
+            return false;
+        }
+        if (request.getAttribute(ATTRIBUTE) instanceof Boolean required) {
+            return required;
+        }
+        boolean required = stickyUntil(request) > System.currentTimeMillis();
+        request.setAttribute(ATTRIBUTE, required);
+        return required;
+    }
+
+    static void markWritten(Duration window) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return;
+        }
+        servletAttributes.getRequest().setAttribute(ATTRIBUTE, true);
+        HttpServletResponse response = servletAttributes.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        long until = System.currentTimeMillis() + window.toMillis();
+        ResponseCookie cookie = ResponseCookie.from(COOKIE, String.valueOf(until))
+                .path("/")
+                .maxAge(window)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private static long stickyUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest()
+                : null;
+    }
+}
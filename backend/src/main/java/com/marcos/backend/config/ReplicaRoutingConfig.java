@@ -0,0 +1,74 @@
+package com.marcos.backend.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Primário + réplicas de leitura (fleet.datasource.routing.enabled=true)
+/*
+ * Substitui o DataSource automático do Spring Boot. Cada banco tem o seu pool
+ * Hikari com as mesmas configurações de spring.datasource.hikari.*; os pools
+ * aparecem em hikaricp.connections.* com os nomes <pool-name> e <pool-name>-replica-N.
+ *
+ * fleet.datasource.routing.replicas[0].url=jdbc:postgresql://replica1:5432/poo
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "fleet.datasource.routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    private static final String HIKARI = "spring.datasource.hikari";
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(DataSourceProperties dataSourceProperties,
+            ReplicaRoutingProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource primary = pool(environment, meterRegistry, "", dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaRoutingProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaRoutingProperties.Replica replica = configured.get(i);
+            String name = "replica-" + (i + 1);
+            replicas.put(name, pool(environment, meterRegistry, "-" + name, replica.getUrl(),
+                    replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername(),
+                    replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword()));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, properties, meterRegistry);
+    }
+
+    // A conexão física só é aberta no primeiro comando, quando readOnly já é conhecido
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private HikariDataSource pool(Environment environment, MeterRegistry meterRegistry, String suffix, String url,
+            String username, String password) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind(HIKARI, Bindable.ofInstance(pool));
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setPoolName((pool.getPoolName() != null ? pool.getPoolName() : "fleet-pool") + suffix);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
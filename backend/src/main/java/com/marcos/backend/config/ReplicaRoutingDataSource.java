@@ -0,0 +1,189 @@
+package com.marcos.backend.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Encaminha transações readOnly para as réplicas e o restante para o primário
+/*
+ * A chave é decidida quando a conexão física é aberta; por isso o DataSource
+ * fica atrás de um LazyConnectionDataSourceProxy (ReplicaRoutingConfig), que só
+ * abre a conexão no primeiro comando, quando a transação já está marcada readOnly.
+ *
+ * - Transação de escrita (ou sem transação): primário; após o commit, ReadYourWrites
+ * - Transação readOnly: réplica em rodízio entre as que estão dentro de maxLag;
+ *   primário quando nenhuma está disponível, o cliente escreveu há pouco ou a
+ *   leitura vai para um cache (PrimaryReads)
+ *
+ * O atraso de cada réplica é medido em segundo plano (pg_last_xact_replay_timestamp);
+ * réplica que não responde, ou que perdeu a conexão com o primário, fica fora da
+ * rotação até a próxima verificação bem-sucedida.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    // Zero quando a réplica já aplicou tudo o que recebeu (primário sem escritas recentes)
+    /*
+     * Receber = aplicar só indica atraso zero com o receptor de WAL conectado: sem
+     * conexão com o primário nada novo chega e os LSNs continuam iguais. Sem receptor
+     * em streaming o resultado é NaN e a réplica sai da rotação. O usuário das
+     * réplicas precisa de pg_read_all_stats (ou pg_monitor) para ver o status;
+     * sem a permissão, o status vem nulo e as leituras ficam no primário.
+     */
+    static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') "
+            + "THEN CAST('NaN' AS double precision) "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile double lagSeconds = Double.NaN;
+        private boolean reportedDown;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final List<Replica> replicas;
+    private final ReplicaRoutingProperties properties;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService lagMonitor;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+            ReplicaRoutingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        replicaReads = meterRegistry.counter("fleet.datasource.reads", "target", "replica");
+        primaryReads = meterRegistry.counter("fleet.datasource.reads", "target", "primary");
+        for (Replica replica : this.replicas) {
+            Gauge.builder("fleet.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Atraso da réplica em segundos (NaN quando indisponível)")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+
+        lagMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getLagCheckInterval().toMillis();
+        lagMonitor.scheduleWithFixedDelay(this::checkLag, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registerWrite();
+            return PRIMARY;
+        }
+        if (PrimaryReads.current()) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+
+        // Sem réplicas o rodízio não tem por onde girar (ReplicaRoutingProperties já barra na inicialização)
+        int size = replicas.size();
+        if (size > 0) {
+            double maxLag = properties.getMaxLag().toMillis() / 1000.0;
+            int start = Math.floorMod(next.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (replica.lagSeconds <= maxLag) {
+                    replicaReads.increment();
+                    return replica.name;
+                }
+            }
+        }
+        primaryReads.increment();
+        return PRIMARY;
+    }
+
+    // Uma vez por transação de escrita: depois do commit o cliente passa a ler do primário
+    private void registerWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ReadYourWrites.markWritten(properties.getReadYourWritesWindow());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaRoutingDataSource.this);
+            }
+        });
+    }
+
+    private void checkLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                    Statement statement = connection.createStatement();
+                    ResultSet result = statement.executeQuery(LAG_QUERY)) {
+                result.next();
+                replica.lagSeconds = result.getDouble(1);
+                replica.reportedDown = false;
+            } catch (Exception e) {
+                replica.lagSeconds = Double.NaN;
+                if (!replica.reportedDown) {
+                    replica.reportedDown = true;
+                    log.warn("Réplica {} indisponível, leituras vão ao primário: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Fecha os pools criados em ReplicaRoutingConfig junto com o contexto
+    @Override
+    public void destroy() throws Exception {
+        lagMonitor.shutdownNow();
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
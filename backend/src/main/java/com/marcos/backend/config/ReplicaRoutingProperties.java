@@ -0,0 +1,55 @@
+package com.marcos.backend.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fleet.datasource.routing")
+public class ReplicaRoutingProperties implements Validator {
+
+    // Desligado: um único DataSource (spring.datasource.*), como antes
+    private boolean enabled = false;
+
+    // Réplicas de leitura; usuário e senha ausentes usam os de spring.datasource
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Réplica com atraso maior que este fica fora da rotação até alcançar o primário
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // Intervalo da verificação de atraso de cada réplica
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    // Depois de uma escrita, as leituras do mesmo cliente vão ao primário por este tempo
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+
+    @Override
+    public boolean supports(Class<?> type) {
+        return ReplicaRoutingProperties.class.isAssignableFrom(type);
+    }
+
+    // Roteamento ligado sem réplicas é erro de configuração: a aplicação não sobe
+    @Override
+    public void validate(Object target, Errors errors) {
+        ReplicaRoutingProperties properties = (ReplicaRoutingProperties) target;
+        if (properties.isEnabled() && properties.getReplicas().isEmpty()) {
+            errors.rejectValue("replicas", "empty", "informe ao menos uma réplica com o roteamento ligado");
+        }
+    }
+
+    @Data
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,15 @@
+package com.marcos.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Tarefas periódicas (@Scheduled): publicação e limpeza da outbox, conferência de /stats
+/*
+ * Feed ao vivo, índice de Meios Acessíveis e heartbeat também são periódicos.
+ * O pool tem uma thread por tarefa (spring.task.scheduling.pool.size): a conferência
+ * de /stats espera o LOCK TABLE e não pode atrasar o feed nem a publicação da outbox.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
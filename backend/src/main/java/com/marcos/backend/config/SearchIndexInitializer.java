@@ -0,0 +1,35 @@
+package com.marcos.backend.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+// Cria os índices de trigramas da pesquisa por relevância
+/*
+ * Só com fleet.search.mode=TRIGRAM (PostgreSQL com pg_trgm), por isso fica fora
+ * das migrações versionadas: a extensão pode exigir permissões que o modo LIKE
+ * não precisa. O preenchimento de search_text é feito pela migração V4.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexInitializer implements ApplicationRunner {
+
+    private final SearchProperties searchProperties;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!searchProperties.isTrigram()) {
+            return;
+        }
+
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        for (String table : new String[] { "buses", "vans" }) {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_search_text_trgm ON " + table
+                    + " USING gin (search_text gin_trgm_ops)");
+        }
+    }
+}
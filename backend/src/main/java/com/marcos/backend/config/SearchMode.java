@@ -0,0 +1,12 @@
+package com.marcos.backend.config;
+
+// Modo de pesquisa por Marca ou Modelo
+/*
+ * LIKE: LOWER(coluna) LIKE '%termo%' direto em brand/model
+ * TRIGRAM: coluna search_text normalizada com índice GIN (pg_trgm),
+ * resultados ordenados por relevância (similarity)
+ */
+public enum SearchMode {
+    LIKE,
+    TRIGRAM
+}
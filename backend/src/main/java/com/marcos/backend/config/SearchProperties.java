@@ -0,0 +1,18 @@
+package com.marcos.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fleet.search")
+public class SearchProperties {
+
+    private SearchMode mode = SearchMode.LIKE;
+
+    public boolean isTrigram() {
+        return mode == SearchMode.TRIGRAM;
+    }
+}
@@ -0,0 +1,83 @@
+package com.marcos.backend.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Objects;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import com.marcos.backend.utils.SearchText;
+
+// Migração 4: preenche search_text de Ônibus e Vans com SearchText (Java)
+/*
+ * Em SQL, translate() só cobre uma tabela fixa de acentos e lower() depende do
+ * locale do banco (com lc_ctype C só converte ASCII): o resultado não seria o de
+ * SearchText.normalize e a pesquisa perderia registros. Como search_text só é
+ * calculado em Java, a carga inicial também é; grava apenas os registros que mudam.
+ * Registrada no Flyway pelo Spring Boot (beans JavaMigration).
+ */
+@Component
+public class SearchTextMigration implements JavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("4");
+    }
+
+    @Override
+    public String getDescription() {
+        return "search text backfill";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return 1;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        for (String table : new String[] { "buses", "vans" }) {
+            recompute(connection, table);
+        }
+    }
+
+    private void recompute(Connection connection, String table) throws Exception {
+        try (Statement select = connection.createStatement();
+                PreparedStatement update = connection.prepareStatement(
+                        "UPDATE " + table + " SET search_text = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            int pending = 0;
+            try (ResultSet rs = select.executeQuery("SELECT id, brand, model, search_text FROM " + table)) {
+                while (rs.next()) {
+                    String searchText = SearchText.of(rs.getString("brand"), rs.getString("model"));
+                    if (Objects.equals(searchText, rs.getString("search_text"))) {
+                        continue;
+                    }
+                    update.setString(1, searchText);
+                    update.setLong(2, rs.getLong("id"));
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.marcos.backend.config;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+// Log de consultas lentas (substitui spring.jpa.show-sql)
+/*
+ * O DataSource é envolvido por um proxy (datasource-proxy) que mede cada comando,
+ * inclusive os do JdbcTemplate. Só os que passam de fleet.observability.slow-query-threshold
+ * são registrados, no logger "fleet.slow-query", em uma linha chave=valor:
+ *
+ * slow-query durationMs=312 type=PREPARED batchSize=0 success=true sql="select ..."
+ *
+ * Os mesmos campos vão como pares chave/valor do SLF4J para formatos estruturados
+ * (logging.structured.format.console=ecs|logstash).
+ *
+ * O mesmo proxy alimenta o StatementCounter (comandos por requisição, detector de N+1).
+ */
+@Configuration
+public class SlowQueryLogConfig {
+
+    private static final Logger log = LoggerFactory.getLogger("fleet.slow-query");
+    private static final String DATA_SOURCE = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourceProxy(ObjectProvider<ObservabilityProperties> properties,
+            ObjectProvider<StatementCounter> statementCounter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Só o DataSource da aplicação: com réplicas, os pools internos ficam atrás dele
+                if (!DATA_SOURCE.equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SlowQueryListener(properties.getObject().getSlowQueryThreshold().toMillis()))
+                        .listener(statementCounter.getObject())
+                        .build();
+            }
+        };
+    }
+
+    private record SlowQueryListener(long thresholdMillis) implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            long durationMs = execInfo.getElapsedTime();
+            if (durationMs < thresholdMillis || !log.isWarnEnabled()) {
+                return;
+            }
+            // Uma linha por comando, mesmo com SQL formatado em várias linhas
+            String sql = queryInfoList.stream()
+                    .map(query -> query.getQuery().replaceAll("\\s+", " ").trim())
+                    .collect(Collectors.joining("; "));
+            log.atWarn()
+                    .addKeyValue("durationMs", durationMs)
+                    .addKeyValue("type", execInfo.getStatementType())
+                    .addKeyValue("batchSize", execInfo.getBatchSize())
+                    .addKeyValue("success", execInfo.isSuccess())
+                    .addKeyValue("sql", sql)
+                    .log("slow-query durationMs={} type={} batchSize={} success={} sql=\"{}\"", durationMs,
+                            execInfo.getStatementType(), execInfo.getBatchSize(), execInfo.isSuccess(), sql);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.marcos.backend.config;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+// Conta os comandos SQL executados na thread atual, no nível do JDBC
+/*
+ * Listener do proxy do DataSource (SlowQueryLogConfig): conta os comandos do
+ * Hibernate e também os do JdbcTemplate (catálogo, outbox, estatísticas).
+ * A contagem só acontece entre start() e stop() (uma requisição, no
+ * StatementMetricsInterceptor, ou um trecho de teste); fora disso o listener
+ * não faz nada. Capturas podem ser aninhadas: cada comando conta em todas as
+ * capturas abertas na thread. Um executeBatch conta como um comando (uma ida ao banco).
+ */
+public class StatementCounter implements QueryExecutionListener {
+
+    private final ThreadLocal<Deque<Capture>> captures = new ThreadLocal<>();
+
+    public Capture start() {
+        Deque<Capture> open = captures.get();
+        if (open == null) {
+            open = new ArrayDeque<>();
+            captures.set(open);
+        }
+        Capture capture = new Capture();
+        open.push(capture);
+        return capture;
+    }
+
+    // Encerra a captura (e as abertas depois dela que não foram encerradas)
+    public Capture stop(Capture capture) {
+        Deque<Capture> open = captures.get();
+        if (open == null) {
+            return capture;
+        }
+        if (open.contains(capture)) {
+            while (open.pop() != capture) {
+                // descarta capturas internas esquecidas abertas
+            }
+        }
+        if (open.isEmpty()) {
+            captures.remove();
+        }
+        return capture;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Deque<Capture> open = captures.get();
+        if (open == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        String sql = queryInfoList.get(0).getQuery().trim();
+        for (Capture capture : open) {
+            capture.add(sql);
+        }
+    }
+
+    // Comandos de uma captura: total e o SELECT mais repetido (sinal de N+1)
+    public static class Capture {
+
+        private long count;
+        private final Map<String, Integer> repeats = new HashMap<>();
+        private String mostRepeated;
+        private int maxRepeats;
+
+        private void add(String sql) {
+            count++;
+            if (!sql.regionMatches(true, 0, "select", 0, 6)) {
+                return;
+            }
+            int times = repeats.merge(sql, 1, Integer::sum);
+            if (times > maxRepeats) {
+                maxRepeats = times;
+                mostRepeated = sql;
+            }
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public int maxRepeats() {
+            return maxRepeats;
+        }
+
+        public String mostRepeated() {
+            return mostRepeated;
+        }
+    }
+}
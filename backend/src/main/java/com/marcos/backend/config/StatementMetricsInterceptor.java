@@ -0,0 +1,103 @@
+package com.marcos.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * Registra em fleet.sql.statements quantos comandos SQL (Hibernate e JdbcTemplate)
+ * a requisição executou (tags method/uri, com o padrão do endpoint).
+ * A contagem também fica no atributo STATEMENT_COUNT da requisição.
+ *
+ * Detector de N+1: requisições acima do orçamento (fleet.observability.statement-budget)
+ * ou que repetem o mesmo SELECT (repeated-statement-threshold) vão para o logger
+ * "fleet.n-plus-one" e para o contador fleet.sql.statements.flagged (tag reason).
+ * Respostas assíncronas (exportação em streaming) contam só a parte síncrona.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatementMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String STATEMENT_COUNT = StatementMetricsInterceptor.class.getName() + ".count";
+
+    private static final String CAPTURE = StatementMetricsInterceptor.class.getName() + ".capture";
+    private static final Logger log = LoggerFactory.getLogger("fleet.n-plus-one");
+
+    private final StatementCounter statementCounter;
+    private final ObservabilityProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(CAPTURE, statementCounter.start());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        record(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        record(request);
+    }
+
+    private void record(HttpServletRequest request) {
+        if (!(request.getAttribute(CAPTURE) instanceof StatementCounter.Capture capture)) {
+            return;
+        }
+        request.removeAttribute(CAPTURE);
+        statementCounter.stop(capture);
+        request.setAttribute(STATEMENT_COUNT, capture.count());
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String method = request.getMethod();
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("fleet.sql.statements")
+                .description("Comandos SQL por requisição")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(capture.count());
+
+        int budget = properties.statementBudgetFor(method + " " + uri);
+        if (capture.count() > budget) {
+            flag(method, uri, "budget", capture, budget);
+        } else if (capture.maxRepeats() >= properties.getRepeatedStatementThreshold()) {
+            flag(method, uri, "repeated", capture, budget);
+        }
+    }
+
+    private void flag(String method, String uri, String reason, StatementCounter.Capture capture,
+            int budget) {
+        meterRegistry.counter("fleet.sql.statements.flagged", "method", method, "uri", uri, "reason", reason)
+                .increment();
+        log.atWarn()
+                .addKeyValue("method", method)
+                .addKeyValue("uri", uri)
+                .addKeyValue("reason", reason)
+                .addKeyValue("statements", capture.count())
+                .addKeyValue("budget", budget)
+                .addKeyValue("repeats", capture.maxRepeats())
+                .addKeyValue("sql", capture.mostRepeated())
+                .log("n-plus-one method={} uri={} reason={} statements={} budget={} repeats={} sql=\"{}\"",
+                        method, uri, reason, capture.count(), budget, capture.maxRepeats(),
+                        capture.mostRepeated());
+    }
+}
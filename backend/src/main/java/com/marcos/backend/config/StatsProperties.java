@@ -0,0 +1,19 @@
+package com.marcos.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fleet.stats")
+public class StatsProperties {
+
+    // Conferência periódica dos contadores de /stats contra as tabelas (FleetStatsService)
+    private boolean reconcileEnabled = true;
+
+    private Duration reconcileInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,27 @@
+package com.marcos.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    private final StatementMetricsInterceptor statementMetricsInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // O feed ao vivo fica aberto por minutos: limitado por fleet.live.max-clients, não por vagas
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/buses/**", "/vans/**", "/accessibility-features/**",
+                        "/vehicles/**", "/changes/**", "/batch/**", "/stats/**")
+                .excludePathPatterns("/changes/stream");
+        registry.addInterceptor(statementMetricsInterceptor)
+                .addPathPatterns("/buses/**", "/vans/**", "/accessibility-features/**",
+                        "/vehicles/**", "/changes/**", "/batch/**", "/stats/**");
+    }
+}
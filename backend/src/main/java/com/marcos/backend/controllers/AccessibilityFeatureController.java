@@ -1,20 +1,27 @@
 package com.marcos.backend.controllers;
 
-import java.util.List;
-
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.marcos.backend.config.HttpCacheProperties;
+import com.marcos.backend.dtos.AccessibilityFeatureView;
 import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.exceptions.PreconditionFailedException;
 import com.marcos.backend.services.AccessibilityFeatureService;
+import com.marcos.backend.services.ResponseCoalescer;
+import com.marcos.backend.utils.ETags;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,19 +31,46 @@ import lombok.RequiredArgsConstructor;
 public class AccessibilityFeatureController {
 
     private final AccessibilityFeatureService accessibilityFeatureService;
+    private final HttpCacheProperties httpCacheProperties;
+    private final ResponseCoalescer responseCoalescer;
 
     // Listagem de Meios Acessíveis de Transporte / Adicionais de Transporte
+    /*
+     * ETag forte a partir do contador de alterações da tabela: com If-None-Match
+     * igual, responde 304 sem carregar a lista. A lista vem do cache por versão
+     * (AccessibilityFeatureService.findAllWithVersion), lida no mesmo snapshot que a
+     * versão dela; a versão do ETag é lida antes, então o corpo nunca é mais antigo
+     * que o ETag (uma escrita no meio gera no máximo uma revalidação a mais).
+     * Requisições simultâneas da mesma versão compartilham a lista já em JSON (ResponseCoalescer).
+     */
     @GetMapping
-    public ResponseEntity<List<AccessibilityFeature>> getAllAccessibilityFeatures() {
-        List<AccessibilityFeature> features = accessibilityFeatureService.findAll();
-        return ResponseEntity.ok(features);
+    public ResponseEntity<byte[]> getAllAccessibilityFeatures(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Long version = accessibilityFeatureService.listVersion();
+        if (ETags.matches(ifNoneMatch, version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(httpCacheProperties.referenceData()).eTag(ETags.of(version)).build();
+        }
+        byte[] features = responseCoalescer.json("accessibility-features", String.valueOf(version),
+                () -> accessibilityFeatureService.findAll().stream()
+                        .map(AccessibilityFeatureView::of)
+                        .toList());
+        return ResponseEntity.ok().cacheControl(httpCacheProperties.referenceData()).eTag(ETags.of(version))
+                .contentType(MediaType.APPLICATION_JSON).body(features);
     }
 
     // Busca Específica por ID baseado no Meio Acessível de Transporte
     @GetMapping("/{id}")
-    public ResponseEntity<AccessibilityFeature> getAccessibilityFeatureById(@PathVariable Long id) {
+    public ResponseEntity<AccessibilityFeatureView> getAccessibilityFeatureById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         return accessibilityFeatureService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(feature -> ETags.matches(ifNoneMatch, feature.getVersion())
+                        ? ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .cacheControl(httpCacheProperties.referenceData())
+                                .eTag(ETags.of(feature.getVersion())).<AccessibilityFeatureView>build()
+                        : ResponseEntity.ok().cacheControl(httpCacheProperties.referenceData())
+                                .eTag(ETags.of(feature.getVersion()))
+                                .body(AccessibilityFeatureView.of(feature)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -47,7 +81,7 @@ public class AccessibilityFeatureController {
      * description: Descrição adicional
      */
     @PostMapping
-    public ResponseEntity<AccessibilityFeature> createAccessibilityFeature(
+    public ResponseEntity<AccessibilityFeatureView> createAccessibilityFeature(
             @RequestBody AccessibilityFeature feature) {
 
         if (feature.getName() == null || feature.getDescription() == null) {
@@ -55,7 +89,7 @@ public class AccessibilityFeatureController {
         }
 
         AccessibilityFeature savedFeature = accessibilityFeatureService.save(feature);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedFeature);
+        return ResponseEntity.status(HttpStatus.CREATED).body(AccessibilityFeatureView.of(savedFeature));
     }
 
     // Edição de um Meio Acessível de Transporte
@@ -67,11 +101,36 @@ public class AccessibilityFeatureController {
      * description: Descrição adicional
      */
     @PutMapping("/{id}")
-    public ResponseEntity<AccessibilityFeature> updateAccessibilityFeature(
-            @PathVariable Long id, @RequestBody AccessibilityFeature feature) {
+    public ResponseEntity<AccessibilityFeatureView> updateAccessibilityFeature(
+            @PathVariable Long id, @RequestBody AccessibilityFeature feature,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            AccessibilityFeature updatedFeature = accessibilityFeatureService.update(id, feature);
-            return ResponseEntity.ok(updatedFeature);
+            AccessibilityFeature updatedFeature = accessibilityFeatureService.update(id, feature,
+                    expectedVersion(id, ifMatch));
+            return ResponseEntity.ok().eTag(ETags.of(updatedFeature.getVersion()))
+                    .body(AccessibilityFeatureView.of(updatedFeature));
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Edição parcial de um Meio Acessível de Transporte
+    /*
+     * Parâmetro: id
+     *
+     * Body: name e/ou description (os ausentes mantêm o valor atual)
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchAccessibilityFeature(
+            @PathVariable Long id, @RequestBody AccessibilityFeature feature,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long version = accessibilityFeatureService.patch(id, feature, expectedVersion(id, ifMatch));
+            return ResponseEntity.noContent().eTag(ETags.of(version)).build();
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -82,12 +141,21 @@ public class AccessibilityFeatureController {
      * Parâmetro: id
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteAccessibilityFeature(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteAccessibilityFeature(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            accessibilityFeatureService.deleteById(id);
+            accessibilityFeatureService.deleteById(id, expectedVersion(id, ifMatch));
             return ResponseEntity.noContent().build();
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    // If-Match com várias ETags: a versão atual só é lida nesse caso
+    private Long expectedVersion(Long id, String ifMatch) {
+        return ETags.expectedVersion(ifMatch,
+                () -> accessibilityFeatureService.findById(id).map(AccessibilityFeature::getVersion).orElse(null));
+    }
+}
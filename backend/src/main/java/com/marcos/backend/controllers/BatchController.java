@@ -0,0 +1,53 @@
+package com.marcos.backend.controllers;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.marcos.backend.config.BatchProperties;
+import com.marcos.backend.dtos.BatchOperation;
+import com.marcos.backend.dtos.BatchOperationResult;
+import com.marcos.backend.dtos.BatchResult;
+import com.marcos.backend.services.BatchService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/batch")
+@RequiredArgsConstructor
+public class BatchController {
+
+    private final BatchService batchService;
+    private final BatchProperties batchProperties;
+
+    // Várias criações, edições e remoções de Ônibus, Vans e Meios Acessíveis em uma transação
+    /*
+     * Body: lista de operações, executadas em ordem
+     * {"op": "create" | "update" | "patch" | "delete",
+     *  "entity": "bus" | "van" | "accessibility-feature",
+     *  "id": id (exceto create), "version": versão esperada (opcional), "body": {...}}
+     *
+     * 200 com o resultado de cada operação quando tudo foi gravado; se alguma
+     * falha, nada é gravado e a resposta usa o status da operação que falhou
+     */
+    @PostMapping
+    public ResponseEntity<BatchResult> executeBatch(@RequestBody List<BatchOperation> operations) {
+        if (operations.isEmpty() || operations.size() > batchProperties.getMaxOperations()) {
+            return ResponseEntity.badRequest().build();
+        }
+        BatchResult result = batchService.execute(operations);
+        if (result.committed()) {
+            return ResponseEntity.ok(result);
+        }
+        int status = result.results().stream()
+                .mapToInt(BatchOperationResult::status)
+                .filter(code -> code >= 400 && code != BatchService.NOT_EXECUTED)
+                .findFirst()
+                .orElse(400);
+        return ResponseEntity.status(status).body(result);
+    }
+}
@@ -1,22 +1,46 @@
 package com.marcos.backend.controllers;
 
-import org.springframework.data.domain.Page;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.marcos.backend.config.BatchProperties;
+import com.marcos.backend.dtos.BulkImportResult;
+import com.marcos.backend.dtos.BusSummary;
+import com.marcos.backend.dtos.CursorPage;
+import com.marcos.backend.dtos.ExportFormat;
+import com.marcos.backend.dtos.BusView;
 import com.marcos.backend.entities.Bus;
+import com.marcos.backend.exceptions.DuplicatePlateException;
+import com.marcos.backend.exceptions.PreconditionFailedException;
+import com.marcos.backend.services.BulkImportService;
+import com.marcos.backend.services.ExportService;
+import com.marcos.backend.services.ResponseCoalescer;
 import com.marcos.backend.services.BusService;
+import com.marcos.backend.utils.ETags;
+import com.marcos.backend.utils.VehicleCsv;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,14 +50,73 @@ import lombok.RequiredArgsConstructor;
 public class BusController {
 
     private final BusService busService;
+    private final BulkImportService bulkImportService;
+    private final ExportService exportService;
+    private final ResponseCoalescer responseCoalescer;
+    private final BatchProperties batchProperties;
 
     // Listagem de Ônibus com pesquisa por Marca ou Modelo
+    /*
+     * Requisições idênticas simultâneas (mesma pesquisa e paginação) compartilham
+     * uma consulta e o mesmo JSON (ResponseCoalescer)
+     */
     @GetMapping
-    public ResponseEntity<Page<Bus>> getAllBuses(
+    public ResponseEntity<byte[]> getAllBuses(
             @PageableDefault(size = 10, sort = "id") Pageable pageable,
             @RequestParam(required = false) String search) {
-        Page<Bus> buses = busService.searchByBrandOrModel(search, pageable);
-        return ResponseEntity.ok(buses);
+        byte[] buses = responseCoalescer.json("buses", new ResponseCoalescer.Listing(search, pageable),
+                () -> busService.searchSummaries(search, pageable));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(buses);
+    }
+
+    // Listagem de Ônibus por cursor (paginação por chave, sem contagem total)
+    /*
+     * Parâmetros: cursor (nextCursor da resposta anterior), size (1 a 100), search
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<BusSummary>> getBusesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String search) {
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(busService.findSummariesAfter(search, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Exportação de todos os Ônibus com seus Meios Acessíveis
+    /*
+     * Parâmetro: format (ndjson ou csv)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBuses(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=buses." + exportFormat.getExtension())
+                .body(out -> exportService.exportBuses(exportFormat, out));
+    }
+
+    // Busca de vários Ônibus por ID em uma única consulta
+    /*
+     * Parâmetro: ids (ex.: ?ids=1,2,3), até fleet.batch.max-ids
+     *
+     * Resposta na ordem dos ids pedidos; ids inexistentes ficam de fora
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<BusView>> getBusesByIds(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > batchProperties.getMaxIds()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(busService.findAllById(ids).stream().map(BusView::of).toList());
     }
 
     // Busca de Ônibus por ID
@@ -41,9 +124,13 @@ public class BusController {
      * Parâmetro: id
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Bus> getBusById(@PathVariable Long id) {
+    public ResponseEntity<BusView> getBusById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         return busService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(bus -> ETags.matches(ifNoneMatch, bus.getVersion())
+                        ? ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(ETags.of(bus.getVersion())).<BusView>build()
+                        : ResponseEntity.ok().eTag(ETags.of(bus.getVersion())).body(BusView.of(bus)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -64,16 +151,41 @@ public class BusController {
      */
 
     @PostMapping
-    public ResponseEntity<Bus> createBus(@RequestBody Bus bus) {
+    public ResponseEntity<BusView> createBus(@RequestBody Bus bus) {
 
-        if (bus.getModel() == null || bus.getBrand() == null || bus.getColor() == null || bus.getYear() == null
-                || bus.getLicensePlate() == null || bus.getNumberOfSeats() == null || bus.getHasWifi() == null
-                || bus.getHasAirConditioning() == null) {
+        if (!bus.hasRequiredFields()) {
             return ResponseEntity.badRequest().build();
         }
 
-        Bus savedBus = busService.save(bus);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedBus);
+        try {
+            Bus savedBus = busService.save(bus);
+            return ResponseEntity.status(HttpStatus.CREATED).body(BusView.of(savedBus));
+        } catch (DuplicatePlateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    // Importação em lote de Ônibus
+    /*
+     * JSON: lista com os mesmos campos da criação individual
+     * CSV (text/csv): cabeçalho model,brand,color,year,licensePlate,numberOfSeats,hasWifi,
+     * hasAirConditioning,accessibilityFeatures (ids separados por ;)
+     *
+     * Retorna o resultado de cada linha (id gerado ou motivo da rejeição)
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResult> importBuses(@RequestBody List<Bus> buses) {
+        BulkImportResult result = bulkImportService.importAll(buses, Bus::getAccessibilityFeatures);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<BulkImportResult> importBusesCsv(InputStream body) throws IOException {
+        try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+            BulkImportResult result = bulkImportService.importCsv(reader, VehicleCsv::toBus,
+                    Bus::getAccessibilityFeatures);
+            return ResponseEntity.ok(result);
+        }
     }
 
     // Edição de Ônibus
@@ -93,10 +205,36 @@ public class BusController {
      * Atributos de Herança de Veículo
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Bus> updateBus(@PathVariable Long id, @RequestBody Bus bus) {
+    public ResponseEntity<BusView> updateBus(@PathVariable Long id, @RequestBody Bus bus,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Bus updatedBus = busService.update(id, bus);
-            return ResponseEntity.ok(updatedBus);
+            Bus updatedBus = busService.update(id, bus, expectedVersion(id, ifMatch));
+            return ResponseEntity.ok().eTag(ETags.of(updatedBus.getVersion())).body(BusView.of(updatedBus));
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DuplicatePlateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Edição parcial de Ônibus
+    /*
+     * Parâmetro: id
+     *
+     * Body: apenas os campos que mudam (os ausentes mantêm o valor atual)
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchBus(@PathVariable Long id, @RequestBody Bus bus,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long version = busService.patch(id, bus, expectedVersion(id, ifMatch));
+            return ResponseEntity.noContent().eTag(ETags.of(version)).build();
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DuplicatePlateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -107,12 +245,20 @@ public class BusController {
      * Parâmetro: id
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteBus(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteBus(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            busService.deleteById(id);
+            busService.deleteById(id, expectedVersion(id, ifMatch));
             return ResponseEntity.noContent().build();
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    // If-Match com várias ETags: a versão atual só é lida nesse caso
+    private Long expectedVersion(Long id, String ifMatch) {
+        return ETags.expectedVersion(ifMatch, () -> busService.findById(id).map(Bus::getVersion).orElse(null));
+    }
+}
@@ -0,0 +1,75 @@
+package com.marcos.backend.controllers;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.marcos.backend.dtos.ChangeFeed;
+import com.marcos.backend.dtos.LiveFeedFilter;
+import com.marcos.backend.dtos.VehicleType;
+import com.marcos.backend.services.ChangeFeedService;
+import com.marcos.backend.services.LiveFeedService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/changes")
+@RequiredArgsConstructor
+public class ChangeController {
+
+    private final ChangeFeedService changeFeedService;
+    private final LiveFeedService liveFeedService;
+
+    // Feed incremental de mudanças em Ônibus, Vans e Meios Acessíveis
+    /*
+     * Parâmetros: since (nextSince da resposta anterior; 0 na primeira vez), limit (1 a 1000)
+     *
+     * 410 Gone quando since é mais antigo que a retenção da outbox: o consumidor
+     * deve recarregar tudo (/buses, /vans, /accessibility-features) e recomeçar com since=0
+     */
+    @GetMapping
+    public ResponseEntity<ChangeFeed> getChanges(@RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (since < 0 || limit < 1 || limit > 1000) {
+            return ResponseEntity.badRequest().build();
+        }
+        ChangeFeed feed = changeFeedService.changesSince(since, limit);
+        if (feed == null) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        return ResponseEntity.ok(feed);
+    }
+
+    // Feed ao vivo (Server-Sent Events): eventos "change" com o estado atual do registro
+    /*
+     * Parâmetros (opcionais): type (bus ou van), search (Marca ou Modelo),
+     * features (ids dos Meios Acessíveis, todos obrigatórios)
+     *
+     * Cabeçalho Last-Event-ID (enviado pelo EventSource ao reconectar): reenvia o que
+     * foi perdido, ou o evento "resync" quando é preciso recarregar as listas
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) List<Long> features,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        VehicleType vehicleType = VehicleType.from(type);
+        if (type != null && vehicleType == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        SseEmitter emitter = liveFeedService.subscribe(new LiveFeedFilter(vehicleType, search, features), lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+}
@@ -0,0 +1,29 @@
+package com.marcos.backend.controllers;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.marcos.backend.dtos.FleetStats;
+import com.marcos.backend.services.FleetStatsService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final FleetStatsService fleetStatsService;
+
+    // Estatísticas da frota
+    /*
+     * Contagens por tipo e marca, total de assentos, frações com Wi-Fi,
+     * ar-condicionado e bagageiro, e cobertura de cada Meio Acessível
+     */
+    @GetMapping
+    public ResponseEntity<FleetStats> getStats() {
+        return ResponseEntity.ok(fleetStatsService.stats());
+    }
+}
@@ -1,22 +1,46 @@
 package com.marcos.backend.controllers;
 
-import org.springframework.data.domain.Page;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.marcos.backend.config.BatchProperties;
+import com.marcos.backend.dtos.BulkImportResult;
+import com.marcos.backend.dtos.CursorPage;
+import com.marcos.backend.dtos.ExportFormat;
+import com.marcos.backend.dtos.VanView;
+import com.marcos.backend.dtos.VanSummary;
 import com.marcos.backend.entities.Van;
+import com.marcos.backend.exceptions.DuplicatePlateException;
+import com.marcos.backend.exceptions.PreconditionFailedException;
+import com.marcos.backend.services.BulkImportService;
+import com.marcos.backend.services.ExportService;
+import com.marcos.backend.services.ResponseCoalescer;
 import com.marcos.backend.services.VanService;
+import com.marcos.backend.utils.ETags;
+import com.marcos.backend.utils.VehicleCsv;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,22 +50,85 @@ import lombok.RequiredArgsConstructor;
 public class VanController {
 
     private final VanService vanService;
+    private final BulkImportService bulkImportService;
+    private final ExportService exportService;
+    private final ResponseCoalescer responseCoalescer;
+    private final BatchProperties batchProperties;
 
     // Listagem de Vans
+    /*
+     * Requisições idênticas simultâneas (mesma pesquisa e paginação) compartilham
+     * uma consulta e o mesmo JSON (ResponseCoalescer)
+     */
     @GetMapping
-    public ResponseEntity<Page<Van>> getAllVans(
+    public ResponseEntity<byte[]> getAllVans(
             @PageableDefault(size = 10, sort = "id") Pageable pageable,
             @RequestParam(required = false) String search) {
-        Page<Van> vans = vanService.searchByBrandOrModel(search, pageable);
-        return ResponseEntity.ok(vans);
+        byte[] vans = responseCoalescer.json("vans", new ResponseCoalescer.Listing(search, pageable),
+                () -> vanService.searchSummaries(search, pageable));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(vans);
+    }
+
+    // Listagem de Vans por cursor (paginação por chave, sem contagem total)
+    /*
+     * Parâmetros: cursor (nextCursor da resposta anterior), size (1 a 100), search
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<VanSummary>> getVansByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String search) {
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(vanService.findSummariesAfter(search, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Exportação de todas as Vans com seus Meios Acessíveis
+    /*
+     * Parâmetro: format (ndjson ou csv)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportVans(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=vans." + exportFormat.getExtension())
+                .body(out -> exportService.exportVans(exportFormat, out));
+    }
+
+    // Busca de vários Vans por ID em uma única consulta
+    /*
+     * Parâmetro: ids (ex.: ?ids=1,2,3), até fleet.batch.max-ids
+     *
+     * Resposta na ordem dos ids pedidos; ids inexistentes ficam de fora
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<VanView>> getVansByIds(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > batchProperties.getMaxIds()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(vanService.findAllById(ids).stream().map(VanView::of).toList());
     }
 
     // Busca de Vans por ID
     // Parâmetro: id
     @GetMapping("/{id}")
-    public ResponseEntity<Van> getVanById(@PathVariable Long id) {
+    public ResponseEntity<VanView> getVanById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         return vanService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(van -> ETags.matches(ifNoneMatch, van.getVersion())
+                        ? ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(ETags.of(van.getVersion())).<VanView>build()
+                        : ResponseEntity.ok().eTag(ETags.of(van.getVersion())).body(VanView.of(van)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -62,15 +149,40 @@ public class VanController {
      * Atributos de Herança de Veículo
      */
     @PostMapping
-    public ResponseEntity<Van> createVan(@RequestBody Van van) {
+    public ResponseEntity<VanView> createVan(@RequestBody Van van) {
 
-        if (van.getModel() == null || van.getBrand() == null || van.getColor() == null || van.getYear() == null
-                || van.getLicensePlate() == null || van.getNumberOfSeats() == null || van.getHasWifi() == null
-                || van.getHasAirConditioning() == null) {
+        if (!van.hasRequiredFields()) {
             return ResponseEntity.badRequest().build();
         }
-        Van savedVan = vanService.save(van);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedVan);
+        try {
+            Van savedVan = vanService.save(van);
+            return ResponseEntity.status(HttpStatus.CREATED).body(VanView.of(savedVan));
+        } catch (DuplicatePlateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    // Importação em lote de Vans
+    /*
+     * JSON: lista com os mesmos campos da criação individual
+     * CSV (text/csv): cabeçalho model,brand,color,year,licensePlate,numberOfSeats,hasWifi,
+     * hasAirConditioning,hasStorageSpace,accessibilityFeatures (ids separados por ;)
+     *
+     * Retorna o resultado de cada linha (id gerado ou motivo da rejeição)
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResult> importVans(@RequestBody List<Van> vans) {
+        BulkImportResult result = bulkImportService.importAll(vans, Van::getAccessibilityFeatures);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<BulkImportResult> importVansCsv(InputStream body) throws IOException {
+        try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+            BulkImportResult result = bulkImportService.importCsv(reader, VehicleCsv::toVan,
+                    Van::getAccessibilityFeatures);
+            return ResponseEntity.ok(result);
+        }
     }
 
     // Edição de Vans
@@ -91,10 +203,36 @@ public class VanController {
      * Atributos de Herança de Veículo
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Van> updateVan(@PathVariable Long id, @RequestBody Van van) {
+    public ResponseEntity<VanView> updateVan(@PathVariable Long id, @RequestBody Van van,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Van updatedVan = vanService.update(id, van);
-            return ResponseEntity.ok(updatedVan);
+            Van updatedVan = vanService.update(id, van, expectedVersion(id, ifMatch));
+            return ResponseEntity.ok().eTag(ETags.of(updatedVan.getVersion())).body(VanView.of(updatedVan));
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DuplicatePlateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Edição parcial de Vans
+    /*
+     * Parâmetro: id
+     *
+     * Body: apenas os campos que mudam (os ausentes mantêm o valor atual)
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchVan(@PathVariable Long id, @RequestBody Van van,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long version = vanService.patch(id, van, expectedVersion(id, ifMatch));
+            return ResponseEntity.noContent().eTag(ETags.of(version)).build();
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DuplicatePlateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -103,12 +241,20 @@ public class VanController {
     // Remoção de Vans
     // Parâmetro: id
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteVan(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteVan(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            vanService.deleteById(id);
+            vanService.deleteById(id, expectedVersion(id, ifMatch));
             return ResponseEntity.noContent().build();
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
+
+    // If-Match com várias ETags: a versão atual só é lida nesse caso
+    private Long expectedVersion(Long id, String ifMatch) {
+        return ETags.expectedVersion(ifMatch, () -> vanService.findById(id).map(Van::getVersion).orElse(null));
+    }
 }
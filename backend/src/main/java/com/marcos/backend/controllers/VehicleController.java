@@ -0,0 +1,86 @@
+package com.marcos.backend.controllers;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.marcos.backend.config.PlateLookupProperties;
+import com.marcos.backend.dtos.PlateLookupResult;
+import com.marcos.backend.dtos.VehicleFilter;
+import com.marcos.backend.dtos.VehicleSearchResult;
+import com.marcos.backend.dtos.VehicleSummary;
+import com.marcos.backend.dtos.VehicleType;
+import com.marcos.backend.services.VehicleCatalogService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/vehicles")
+@RequiredArgsConstructor
+public class VehicleController {
+
+    private final VehicleCatalogService vehicleCatalogService;
+    private final PlateLookupProperties plateLookupProperties;
+
+    // Pesquisa unificada de Ônibus e Vans com contagens (facetas)
+    /*
+     * Parâmetros (todos opcionais):
+     * type (bus ou van), search (Marca ou Modelo), minSeats, maxSeats,
+     * hasWifi, hasAirConditioning, hasStorageSpace (só Vans), year,
+     * features (ids dos Meios Acessíveis, todos obrigatórios), page, size (1 a 100)
+     */
+    @GetMapping
+    public ResponseEntity<VehicleSearchResult> searchVehicles(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Integer minSeats,
+            @RequestParam(required = false) Integer maxSeats,
+            @RequestParam(required = false) Boolean hasWifi,
+            @RequestParam(required = false) Boolean hasAirConditioning,
+            @RequestParam(required = false) Boolean hasStorageSpace,
+            @RequestParam(required = false) String year,
+            @RequestParam(required = false) List<Long> features,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        VehicleType vehicleType = VehicleType.from(type);
+        if ((type != null && vehicleType == null) || page < 0 || size < 1 || size > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        VehicleFilter filter = new VehicleFilter(vehicleType, search, minSeats, maxSeats, hasWifi,
+                hasAirConditioning, hasStorageSpace, year, features);
+        return ResponseEntity.ok(vehicleCatalogService.search(filter, page, size));
+    }
+
+    // Busca de Ônibus ou Van pela placa (maiúsculas/minúsculas, hífen e espaços são ignorados)
+    /*
+     * Parâmetro: plate
+     */
+    @GetMapping("/by-plate/{plate}")
+    public ResponseEntity<VehicleSummary> getVehicleByPlate(@PathVariable String plate) {
+        return vehicleCatalogService.findByPlate(plate)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Busca de várias placas de uma vez (portarias, leitores de placa)
+    /*
+     * Body: lista de placas (1 até fleet.plates.max-batch-size)
+     *
+     * Retorna o veículo de cada placa encontrada e a lista das não encontradas
+     */
+    @PostMapping("/by-plate")
+    public ResponseEntity<PlateLookupResult> getVehiclesByPlate(@RequestBody List<String> plates) {
+        if (plates == null || plates.isEmpty() || plates.size() > plateLookupProperties.getMaxBatchSize()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(vehicleCatalogService.findByPlates(plates));
+    }
+}
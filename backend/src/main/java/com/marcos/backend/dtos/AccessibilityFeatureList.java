@@ -0,0 +1,9 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+
+import com.marcos.backend.entities.AccessibilityFeature;
+
+// Lista completa de Meios Acessíveis e a versão da tabela em que foi lida (mesmo snapshot)
+public record AccessibilityFeatureList(Long version, List<AccessibilityFeature> features) {
+}
@@ -0,0 +1,5 @@
+package com.marcos.backend.dtos;
+
+// Resumo de Meio Acessível usado nas listagens de veículos (apenas id e nome)
+public record AccessibilityFeatureSummary(Long id, String name) {
+}
@@ -0,0 +1,29 @@
+package com.marcos.backend.dtos;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.Hibernate;
+
+import com.marcos.backend.entities.AccessibilityFeature;
+
+// Resposta JSON de Meio Acessível: só campos próprios, sem os veículos (lado inverso)
+public record AccessibilityFeatureView(Long id, String name, String description, Long version) {
+
+    // Referência não carregada (proxy) vira só o id, sem consulta ao banco
+    public static AccessibilityFeatureView of(AccessibilityFeature feature) {
+        if (!Hibernate.isInitialized(feature)) {
+            return new AccessibilityFeatureView(feature.getId(), null, null, null);
+        }
+        return new AccessibilityFeatureView(feature.getId(), feature.getName(), feature.getDescription(),
+                feature.getVersion());
+    }
+
+    // Coleção de um veículo; nula se ausente ou ainda não carregada (não dispara o carregamento)
+    public static List<AccessibilityFeatureView> listOf(Collection<AccessibilityFeature> features) {
+        if (features == null || !Hibernate.isInitialized(features)) {
+            return null;
+        }
+        return features.stream().map(AccessibilityFeatureView::of).toList();
+    }
+}
@@ -0,0 +1,14 @@
+package com.marcos.backend.dtos;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+// Uma operação de POST /batch
+/*
+ * op: create, update, patch ou delete
+ * entity: bus, van ou accessibility-feature
+ * id: obrigatório exceto em create
+ * version: versão esperada (o mesmo papel do If-Match); opcional
+ * body: os mesmos campos do endpoint individual (create, update e patch)
+ */
+public record BatchOperation(String op, String entity, Long id, Long version, JsonNode body) {
+}
@@ -0,0 +1,13 @@
+package com.marcos.backend.dtos;
+
+// Resultado de uma operação de POST /batch: status HTTP que o endpoint individual daria
+public record BatchOperationResult(int index, int status, Long id, Long version, String error) {
+
+    public static BatchOperationResult ok(int index, int status, Long id, Long version) {
+        return new BatchOperationResult(index, status, id, version, null);
+    }
+
+    public static BatchOperationResult failed(int index, int status, String error) {
+        return new BatchOperationResult(index, status, null, null, error);
+    }
+}
@@ -0,0 +1,19 @@
+package com.marcos.backend.dtos;
+
+// Operações aceitas em POST /batch
+public enum BatchOperationType {
+    CREATE,
+    UPDATE,
+    PATCH,
+    DELETE;
+
+    // Nulo quando a operação não é suportada
+    public static BatchOperationType from(String value) {
+        for (BatchOperationType type : values()) {
+            if (type.name().equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
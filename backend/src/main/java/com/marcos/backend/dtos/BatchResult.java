@@ -0,0 +1,7 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+
+// Resposta de POST /batch; committed = false quando uma falha desfez todas as operações
+public record BatchResult(boolean committed, List<BatchOperationResult> results) {
+}
@@ -0,0 +1,8 @@
+package com.marcos.backend.dtos;
+
+// Marca e Modelo gravados de um veículo (search_text da atualização parcial)
+public interface BrandAndModel {
+    String getBrand();
+
+    String getModel();
+}
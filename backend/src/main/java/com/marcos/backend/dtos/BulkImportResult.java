@@ -0,0 +1,12 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+
+// Relatório da importação em lote com o resultado de cada linha
+public record BulkImportResult(int total, int imported, int rejected, List<BulkRowResult> rows) {
+
+    public static BulkImportResult of(List<BulkRowResult> rows) {
+        int imported = (int) rows.stream().filter(BulkRowResult::imported).count();
+        return new BulkImportResult(rows.size(), imported, rows.size() - imported, rows);
+    }
+}
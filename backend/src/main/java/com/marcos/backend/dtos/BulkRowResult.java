@@ -0,0 +1,13 @@
+package com.marcos.backend.dtos;
+
+// Resultado de uma linha da importação em lote (row começa em 1)
+public record BulkRowResult(int row, boolean imported, Long id, String error) {
+
+    public static BulkRowResult imported(int row, Long id) {
+        return new BulkRowResult(row, true, id, null);
+    }
+
+    public static BulkRowResult rejected(int row, String error) {
+        return new BulkRowResult(row, false, null, error);
+    }
+}
@@ -0,0 +1,32 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+
+// Modelo de leitura da listagem de Ônibus
+/*
+ * Montado via construtor na consulta JPQL, sem carregar a entidade nem a
+ * coleção accessibilityFeatures. Os Meios Acessíveis são preenchidos depois
+ * com uma única consulta para a página inteira.
+ */
+public record BusSummary(
+        Long id,
+        String model,
+        String brand,
+        String color,
+        String year,
+        String licensePlate,
+        Integer numberOfSeats,
+        Boolean hasWifi,
+        Boolean hasAirConditioning,
+        List<AccessibilityFeatureSummary> accessibilityFeatures) {
+
+    public BusSummary(Long id, String model, String brand, String color, String year, String licensePlate,
+            Integer numberOfSeats, Boolean hasWifi, Boolean hasAirConditioning) {
+        this(id, model, brand, color, year, licensePlate, numberOfSeats, hasWifi, hasAirConditioning, List.of());
+    }
+
+    public BusSummary withAccessibilityFeatures(List<AccessibilityFeatureSummary> features) {
+        return new BusSummary(id, model, brand, color, year, licensePlate, numberOfSeats, hasWifi,
+                hasAirConditioning, features);
+    }
+}
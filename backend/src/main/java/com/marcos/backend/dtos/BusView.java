@@ -0,0 +1,26 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+
+import com.marcos.backend.entities.Bus;
+
+// Resposta JSON de Ônibus: tamanho limitado, sem ciclos e sem carregar coleções por acidente
+public record BusView(
+        Long id,
+        String model,
+        String brand,
+        String color,
+        String year,
+        String licensePlate,
+        Long version,
+        Integer numberOfSeats,
+        Boolean hasWifi,
+        Boolean hasAirConditioning,
+        List<AccessibilityFeatureView> accessibilityFeatures) {
+
+    public static BusView of(Bus bus) {
+        return new BusView(bus.getId(), bus.getModel(), bus.getBrand(), bus.getColor(), bus.getYear(),
+                bus.getLicensePlate(), bus.getVersion(), bus.getNumberOfSeats(), bus.getHasWifi(),
+                bus.getHasAirConditioning(), AccessibilityFeatureView.listOf(bus.getAccessibilityFeatures()));
+    }
+}
@@ -0,0 +1,22 @@
+package com.marcos.backend.dtos;
+
+// Tipo do registro alterado nos eventos de mudança (/changes)
+public enum ChangeEntity {
+    BUS,
+    VAN,
+    ACCESSIBILITY_FEATURE;
+
+    public static ChangeEntity of(VehicleType type) {
+        return type == VehicleType.BUS ? BUS : VAN;
+    }
+
+    // Aceita também o formato das URLs (accessibility-feature); nulo quando desconhecido
+    public static ChangeEntity from(String value) {
+        for (ChangeEntity entity : values()) {
+            if (value != null && entity.name().equalsIgnoreCase(value.replace('-', '_'))) {
+                return entity;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.marcos.backend.dtos;
+
+import java.time.Instant;
+
+// Evento de mudança da outbox
+/*
+ * position: ordem no feed /changes, atribuída na publicação (nula enquanto pendente)
+ * version: versão do registro depois da escrita (nula na remoção)
+ */
+public record ChangeEvent(Long id, Long position, ChangeEntity entity, Long entityId, ChangeOperation operation,
+        Long version, Instant occurredAt) {
+
+    public ChangeEvent withPosition(long position) {
+        return new ChangeEvent(id, position, entity, entityId, operation, version, occurredAt);
+    }
+}
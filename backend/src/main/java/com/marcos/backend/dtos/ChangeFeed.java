@@ -0,0 +1,7 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+
+// Página do feed de mudanças: o próximo pedido usa since = nextSince
+public record ChangeFeed(List<ChangeEvent> changes, long nextSince, boolean hasMore) {
+}
@@ -0,0 +1,8 @@
+package com.marcos.backend.dtos;
+
+// Operação registrada no evento de mudança
+public enum ChangeOperation {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,7 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+
+// Página da listagem por cursor: sem contagem total, apenas o cursor da próxima página
+public record CursorPage<T>(List<T> content, int size, String nextCursor, boolean hasNext) {
+}
@@ -0,0 +1,7 @@
+package com.marcos.backend.dtos;
+
+import java.util.Map;
+
+// Veículos com um Meio Acessível: total, fração da frota e contagem por tipo
+public record FeatureCoverage(Long id, String name, long vehicles, double share, Map<VehicleType, Long> types) {
+}
@@ -0,0 +1,5 @@
+package com.marcos.backend.dtos;
+
+// Um contador de fleet_stats: metric + key por tipo de veículo (ver V9__fleet_stats)
+public record FleetStatRow(VehicleType type, String metric, String key, long value) {
+}
@@ -0,0 +1,10 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+import java.util.Map;
+
+// Estatísticas da frota (GET /stats); storageSpaceShare considera só as Vans, únicas com o campo
+public record FleetStats(long vehicles, long seats, double wifiShare, double airConditioningShare,
+        double storageSpaceShare, Map<String, Long> brands, Map<VehicleType, VehicleTypeStats> types,
+        List<FeatureCoverage> accessibilityFeatures) {
+}
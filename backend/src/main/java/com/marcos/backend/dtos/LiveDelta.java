@@ -0,0 +1,11 @@
+package com.marcos.backend.dtos;
+
+// Mudança enviada no feed ao vivo (/changes/stream)
+/*
+ * data traz o estado atual do registro (BusSummary, VanSummary ou
+ * AccessibilityFeatureSummary); nulo na remoção ou quando o registro
+ * já não existe no momento do envio.
+ */
+public record LiveDelta(long position, ChangeEntity entity, Long entityId, ChangeOperation operation, Long version,
+        Object data) {
+}
@@ -0,0 +1,49 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.marcos.backend.utils.SearchText;
+
+// Filtros de um cliente do feed ao vivo; campos nulos não filtram
+/*
+ * type e search (Marca ou Modelo) e featureIds (todos obrigatórios) valem para
+ * Ônibus e Vans; mudanças em Meios Acessíveis são enviadas a todos os clientes.
+ * Remoções não trazem dados: passam só pelo filtro de tipo. Um veículo alterado
+ * que deixa de atender ao filtro é enviado ao cliente como remoção (LiveFeedService).
+ */
+public record LiveFeedFilter(VehicleType type, String search, List<Long> featureIds) {
+
+    public LiveFeedFilter {
+        search = search == null || search.isBlank() ? null : SearchText.normalize(search);
+        featureIds = featureIds == null || featureIds.isEmpty() ? null
+                : featureIds.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    public boolean matches(LiveDelta delta) {
+        if (delta.entity() == ChangeEntity.ACCESSIBILITY_FEATURE) {
+            return true;
+        }
+        if (type != null && ChangeEntity.of(type) != delta.entity()) {
+            return false;
+        }
+        if (delta.data() instanceof BusSummary bus) {
+            return matches(bus.brand(), bus.model(), bus.accessibilityFeatures());
+        }
+        if (delta.data() instanceof VanSummary van) {
+            return matches(van.brand(), van.model(), van.accessibilityFeatures());
+        }
+        return true;
+    }
+
+    private boolean matches(String brand, String model, List<AccessibilityFeatureSummary> features) {
+        if (search != null && !SearchText.of(brand, model).contains(search)) {
+            return false;
+        }
+        if (featureIds == null) {
+            return true;
+        }
+        List<Long> present = features.stream().map(AccessibilityFeatureSummary::id).toList();
+        return present.containsAll(featureIds);
+    }
+}
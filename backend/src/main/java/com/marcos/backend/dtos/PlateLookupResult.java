@@ -0,0 +1,10 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+import java.util.Map;
+
+// Consulta de placas em lote: veículo de cada placa encontrada (chave = placa como enviada) e as não encontradas
+public record PlateLookupResult(
+        Map<String, VehicleSummary> found,
+        List<String> notFound) {
+}
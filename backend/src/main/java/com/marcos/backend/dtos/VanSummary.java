@@ -0,0 +1,34 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+
+// Modelo de leitura da listagem de Vans
+/*
+ * Montado via construtor na consulta JPQL, sem carregar a entidade nem a
+ * coleção accessibilityFeatures. Os Meios Acessíveis são preenchidos depois
+ * com uma única consulta para a página inteira.
+ */
+public record VanSummary(
+        Long id,
+        String model,
+        String brand,
+        String color,
+        String year,
+        String licensePlate,
+        Integer numberOfSeats,
+        Boolean hasWifi,
+        Boolean hasStorageSpace,
+        Boolean hasAirConditioning,
+        List<AccessibilityFeatureSummary> accessibilityFeatures) {
+
+    public VanSummary(Long id, String model, String brand, String color, String year, String licensePlate,
+            Integer numberOfSeats, Boolean hasWifi, Boolean hasStorageSpace, Boolean hasAirConditioning) {
+        this(id, model, brand, color, year, licensePlate, numberOfSeats, hasWifi, hasStorageSpace,
+                hasAirConditioning, List.of());
+    }
+
+    public VanSummary withAccessibilityFeatures(List<AccessibilityFeatureSummary> features) {
+        return new VanSummary(id, model, brand, color, year, licensePlate, numberOfSeats, hasWifi,
+                hasStorageSpace, hasAirConditioning, features);
+    }
+}
@@ -0,0 +1,28 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+
+import com.marcos.backend.entities.Van;
+
+// Resposta JSON de Van: tamanho limitado, sem ciclos e sem carregar coleções por acidente
+public record VanView(
+        Long id,
+        String model,
+        String brand,
+        String color,
+        String year,
+        String licensePlate,
+        Long version,
+        Integer numberOfSeats,
+        Boolean hasWifi,
+        Boolean hasStorageSpace,
+        Boolean hasAirConditioning,
+        List<AccessibilityFeatureView> accessibilityFeatures) {
+
+    public static VanView of(Van van) {
+        return new VanView(van.getId(), van.getModel(), van.getBrand(), van.getColor(), van.getYear(),
+                van.getLicensePlate(), van.getVersion(), van.getNumberOfSeats(), van.getHasWifi(),
+                van.getHasStorageSpace(), van.getHasAirConditioning(),
+                AccessibilityFeatureView.listOf(van.getAccessibilityFeatures()));
+    }
+}
@@ -0,0 +1,11 @@
+package com.marcos.backend.dtos;
+
+import java.util.Map;
+
+// Contagens do resultado filtrado por tipo, por marca e por id de Meio Acessível
+public record VehicleFacets(Map<VehicleType, Long> types, Map<String, Long> brands, Map<Long, Long> features) {
+
+    public VehicleFacets withFeatures(Map<Long, Long> featureCounts) {
+        return new VehicleFacets(types, brands, featureCounts);
+    }
+}
@@ -0,0 +1,20 @@
+package com.marcos.backend.dtos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Linha da consulta em lote de Meios Acessíveis de uma página de veículos
+public record VehicleFeatureRow(Long vehicleId, Long featureId, String featureName) {
+
+    // Agrupa as linhas pelo id do veículo
+    public static Map<Long, List<AccessibilityFeatureSummary>> groupByVehicle(List<VehicleFeatureRow> rows) {
+        Map<Long, List<AccessibilityFeatureSummary>> features = new HashMap<>();
+        for (VehicleFeatureRow row : rows) {
+            features.computeIfAbsent(row.vehicleId(), id -> new ArrayList<>())
+                    .add(new AccessibilityFeatureSummary(row.featureId(), row.featureName()));
+        }
+        return features;
+    }
+}
@@ -0,0 +1,42 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+import java.util.Objects;
+
+// Filtros da pesquisa no catálogo de veículos; campos nulos não filtram
+/*
+ * featureIds exige todos os Meios Acessíveis informados.
+ * hasStorageSpace só existe em Vans: quando informado, os Ônibus ficam de fora.
+ */
+public record VehicleFilter(
+        VehicleType type,
+        String search,
+        Integer minSeats,
+        Integer maxSeats,
+        Boolean hasWifi,
+        Boolean hasAirConditioning,
+        Boolean hasStorageSpace,
+        String year,
+        List<Long> featureIds) {
+
+    public VehicleFilter {
+        featureIds = featureIds == null ? null : featureIds.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    public boolean includes(VehicleType vehicleType) {
+        if (type != null && type != vehicleType) {
+            return false;
+        }
+        return hasStorageSpace == null || vehicleType == VehicleType.VAN;
+    }
+
+    // Filtros sobre colunas das tabelas (os de Meios Acessíveis são resolvidos no índice em memória)
+    public boolean hasRowPredicates() {
+        return (search != null && !search.isBlank()) || minSeats != null || maxSeats != null || hasWifi != null
+                || hasAirConditioning != null || hasStorageSpace != null || (year != null && !year.isBlank());
+    }
+
+    public boolean hasFeatureIds() {
+        return featureIds != null && !featureIds.isEmpty();
+    }
+}
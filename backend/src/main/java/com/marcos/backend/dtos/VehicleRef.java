@@ -0,0 +1,5 @@
+package com.marcos.backend.dtos;
+
+// Referência a um veículo do catálogo unificado: tipo + id
+public record VehicleRef(VehicleType type, Long id) {
+}
@@ -0,0 +1,23 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+
+// Página do catálogo de veículos com as contagens (facetas) do resultado inteiro
+public record VehicleSearchResult(
+        List<VehicleSummary> content,
+        int page,
+        int size,
+        long totalElements,
+        int totalPages,
+        VehicleFacets facets) {
+
+    public static VehicleSearchResult of(List<VehicleSummary> content, int page, int size, long totalElements,
+            VehicleFacets facets) {
+        int totalPages = (int) ((totalElements + size - 1) / size);
+        return new VehicleSearchResult(content, page, size, totalElements, totalPages, facets);
+    }
+
+    public VehicleSearchResult withFacets(VehicleFacets newFacets) {
+        return new VehicleSearchResult(content, page, size, totalElements, totalPages, newFacets);
+    }
+}
@@ -0,0 +1,22 @@
+package com.marcos.backend.dtos;
+
+import java.util.List;
+
+// Linha do catálogo unificado: campos comuns e específicos de Ônibus e Vans
+/*
+ * hasStorageSpace é nulo para Ônibus.
+ */
+public record VehicleSummary(
+        VehicleType type,
+        Long id,
+        String model,
+        String brand,
+        String color,
+        String year,
+        String licensePlate,
+        Integer numberOfSeats,
+        Boolean hasWifi,
+        Boolean hasAirConditioning,
+        Boolean hasStorageSpace,
+        List<AccessibilityFeatureSummary> accessibilityFeatures) {
+}
@@ -0,0 +1,16 @@
+package com.marcos.backend.dtos;
+
+// Tipo de veículo no catálogo unificado (/vehicles)
+public enum VehicleType {
+    BUS,
+    VAN;
+
+    public static VehicleType from(String value) {
+        for (VehicleType type : values()) {
+            if (type.name().equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.marcos.backend.dtos;
+
+import java.util.Map;
+
+// Números de um tipo de veículo em GET /stats
+public record VehicleTypeStats(long vehicles, long seats, long withWifi, long withAirConditioning,
+        long withStorageSpace, Map<String, Long> brands) {
+}
@@ -1,6 +1,11 @@
 package com.marcos.backend.entities;
 
-import java.util.List;
+import java.util.Set;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -9,10 +14,15 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
-import lombok.Data;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
 @Table(name = "accessibility_features")
 public class AccessibilityFeature {
 
@@ -26,10 +36,39 @@ public class AccessibilityFeature {
     @Column
     private String description;
 
-    @ManyToMany
-    private List<Bus> buses;
+    // Versão para concorrência otimista, exposta como ETag (If-Match / If-None-Match)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Lados inversos: as ligações pertencem a Bus e Van
+    @JsonIgnore
+    @ToString.Exclude
+    @ManyToMany(mappedBy = "accessibilityFeatures")
+    private Set<Bus> buses;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @ManyToMany(mappedBy = "accessibilityFeatures")
+    private Set<Van> vans;
 
-    @ManyToMany
-    private List<Van> vans;
+    // Identidade: mesma classe persistente e mesmo id; proxies comparados sem inicializar
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || EntityClass.of(this) != EntityClass.of(o)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((AccessibilityFeature) o).getId());
+    }
 
+    // Constante por classe: não muda quando o id é gerado no persist
+    @Override
+    public int hashCode() {
+        return EntityClass.of(this).hashCode();
+    }
 }
@@ -1,25 +1,35 @@
 package com.marcos.backend.entities;
 
-import java.util.List;
+import java.util.Set;
+
+import org.hibernate.annotations.BatchSize;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString(callSuper = true)
 @Table(name = "buses")
-@EqualsAndHashCode(callSuper = true)
 public class Bus extends Vehicle {
 
+    // Sequência com alocação em blocos de 50: permite inserts em lote (JDBC batch)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "buses_seq")
+    @SequenceGenerator(name = "buses_seq", sequenceName = "buses_seq", allocationSize = 50)
     private Long id;
 
     @Column
@@ -31,6 +41,40 @@ public class Bus extends Vehicle {
     @Column
     Boolean hasAirConditioning;
 
+    // Único lado dono da associação: buses_accessibility_features, chave (bus_id, accessibility_features_id)
+    /*
+     * Set (e não List): ao alterar a coleção o Hibernate insere e remove só as
+     * ligações que mudaram, sem apagar e regravar todas. @BatchSize carrega os
+     * Meios Acessíveis de vários Ônibus com uma consulta IN.
+     */
+    @ToString.Exclude
     @ManyToMany
-    List<AccessibilityFeature> accessibilityFeatures;
+    @JoinTable(name = "buses_accessibility_features",
+            joinColumns = @JoinColumn(name = "bus_id"),
+            inverseJoinColumns = @JoinColumn(name = "accessibility_features_id"))
+    @OrderBy("id")
+    @BatchSize(size = 50)
+    Set<AccessibilityFeature> accessibilityFeatures;
+
+    @Override
+    public boolean hasRequiredFields() {
+        return super.hasRequiredFields() && numberOfSeats != null && hasWifi != null && hasAirConditioning != null;
+    }
+
+    // Mesmo Ônibus: mesma classe persistente (proxy incluído) e mesmo id
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || EntityClass.of(this) != EntityClass.of(o)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((Bus) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return EntityClass.of(this).hashCode();
+    }
 }
@@ -0,0 +1,17 @@
+package com.marcos.backend.entities;
+
+import org.hibernate.proxy.HibernateProxy;
+
+// Classe persistente de uma entidade, sem inicializar proxies do Hibernate
+final class EntityClass {
+
+    private EntityClass() {
+    }
+
+    static Class<?> of(Object entity) {
+        if (entity instanceof HibernateProxy proxy) {
+            return proxy.getHibernateLazyInitializer().getPersistentClass();
+        }
+        return entity.getClass();
+    }
+}
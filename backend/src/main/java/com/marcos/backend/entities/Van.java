@@ -1,25 +1,35 @@
 package com.marcos.backend.entities;
 
-import java.util.List;
+import java.util.Set;
+
+import org.hibernate.annotations.BatchSize;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString(callSuper = true)
 @Table(name = "vans")
-@EqualsAndHashCode(callSuper = true)
 public class Van extends Vehicle {
 
+    // Sequência com alocação em blocos de 50: permite inserts em lote (JDBC batch)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vans_seq")
+    @SequenceGenerator(name = "vans_seq", sequenceName = "vans_seq", allocationSize = 50)
     private Long id;
 
     @Column
@@ -34,7 +44,40 @@ public class Van extends Vehicle {
     @Column
     private Boolean hasAirConditioning;
 
+    // Único lado dono da associação: vans_accessibility_features, chave (van_id, accessibility_features_id)
+    /*
+     * Set (e não List): ao alterar a coleção o Hibernate insere e remove só as
+     * ligações que mudaram, sem apagar e regravar todas. @BatchSize carrega os
+     * Meios Acessíveis de vários Vans com uma consulta IN.
+     */
+    @ToString.Exclude
     @ManyToMany
-    private List<AccessibilityFeature> accessibilityFeatures;
+    @JoinTable(name = "vans_accessibility_features",
+            joinColumns = @JoinColumn(name = "van_id"),
+            inverseJoinColumns = @JoinColumn(name = "accessibility_features_id"))
+    @OrderBy("id")
+    @BatchSize(size = 50)
+    private Set<AccessibilityFeature> accessibilityFeatures;
+
+    @Override
+    public boolean hasRequiredFields() {
+        return super.hasRequiredFields() && numberOfSeats != null && hasWifi != null && hasAirConditioning != null;
+    }
+
+    // Mesma Van: mesma classe persistente (proxy incluído) e mesmo id
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || EntityClass.of(this) != EntityClass.of(o)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((Van) o).getId());
+    }
 
+    @Override
+    public int hashCode() {
+        return EntityClass.of(this).hashCode();
+    }
 }
@@ -1,10 +1,23 @@
 package com.marcos.backend.entities;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.marcos.backend.utils.SearchText;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.MappedSuperclass;
-import lombok.Data;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
-@Data
+@Getter
+@Setter
+@ToString
 @MappedSuperclass
 public class Vehicle {
     @Column
@@ -22,4 +35,27 @@ public class Vehicle {
     @Column
     private String licensePlate;
 
+    // Versão para concorrência otimista, exposta como ETag (If-Match / If-None-Match)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Marca + Modelo normalizados (minúsculas, sem acentos) para a pesquisa
+    @JsonIgnore
+    @Column(name = "search_text")
+    private String searchText;
+
+    // Campos obrigatórios comuns a todos os veículos
+    public boolean hasRequiredFields() {
+        return model != null && brand != null && color != null && year != null && licensePlate != null;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void updateSearchText() {
+        searchText = SearchText.of(brand, model);
+    }
+
 }
@@ -0,0 +1,27 @@
+package com.marcos.backend.exceptions;
+
+import java.sql.SQLException;
+
+// Placa (normalizada) já cadastrada em outro Ônibus ou Van (HTTP 409)
+public class DuplicatePlateException extends RuntimeException {
+
+    // Chave primária de vehicle_plates, também informada pelo gatilho (migração V8__vehicle_plates)
+    public static final String CONSTRAINT = "vehicle_plates_pkey";
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    public DuplicatePlateException(String licensePlate) {
+        super(String.format("Placa já cadastrada: %s", licensePlate));
+    }
+
+    // Procura na cadeia de causas o unique_violation do registro de placas
+    public static boolean isCause(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())
+                    && sql.getMessage() != null && sql.getMessage().contains(CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,8 @@
+package com.marcos.backend.exceptions;
+
+// Versão enviada em If-Match diferente da versão atual do registro (HTTP 412)
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String resourceName, Long id) {
+        super(String.format("%s com id %d foi alterado por outra requisição", resourceName, id));
+    }
+}
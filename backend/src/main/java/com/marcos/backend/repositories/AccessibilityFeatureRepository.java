@@ -1,9 +1,46 @@
 package com.marcos.backend.repositories;
 
+import java.util.Optional;
+import java.util.Set;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.marcos.backend.entities.AccessibilityFeature;
 
 public interface AccessibilityFeatureRepository extends JpaRepository<AccessibilityFeature, Long> {
 
+    @Query("SELECT f.id FROM AccessibilityFeature f")
+    Set<Long> findAllIds();
+
+    // Escrita em um único comando (sem SELECT antes): vazio/0 quando o id não existe ou,
+    // com expectedVersion (If-Match), quando a versão no banco é outra
+    @Query(nativeQuery = true, value = "UPDATE accessibility_features SET " +
+            "name = CAST(:#{#feature.name} AS varchar), " +
+            "description = CAST(:#{#feature.description} AS varchar), " +
+            "version = version + 1 " +
+            "WHERE id = :id " +
+            "AND (CAST(:expectedVersion AS bigint) IS NULL OR version = CAST(:expectedVersion AS bigint)) " +
+            "RETURNING version")
+    Optional<Long> updateById(@Param("id") Long id, @Param("feature") AccessibilityFeature feature,
+            @Param("expectedVersion") Long expectedVersion);
+
+    // Atualização parcial: campos nulos mantêm o valor atual
+    @Query(nativeQuery = true, value = "UPDATE accessibility_features SET " +
+            "name = COALESCE(CAST(:#{#feature.name} AS varchar), name), " +
+            "description = COALESCE(CAST(:#{#feature.description} AS varchar), description), " +
+            "version = version + 1 " +
+            "WHERE id = :id " +
+            "AND (CAST(:expectedVersion AS bigint) IS NULL OR version = CAST(:expectedVersion AS bigint)) " +
+            "RETURNING version")
+    Optional<Long> patchById(@Param("id") Long id, @Param("feature") AccessibilityFeature feature,
+            @Param("expectedVersion") Long expectedVersion);
+
+    // As ligações pertencem aos veículos: um Meio Acessível em uso continua impedindo a remoção
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM accessibility_features WHERE id = :id " +
+            "AND (CAST(:expectedVersion AS bigint) IS NULL OR version = CAST(:expectedVersion AS bigint))")
+    int deleteByIdReturningCount(@Param("id") Long id, @Param("expectedVersion") Long expectedVersion);
 }
@@ -0,0 +1,127 @@
+package com.marcos.backend.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.marcos.backend.dtos.ChangeEntity;
+import com.marcos.backend.dtos.ChangeEvent;
+import com.marcos.backend.dtos.ChangeOperation;
+
+import lombok.RequiredArgsConstructor;
+
+// Tabela change_events (outbox), gravada na mesma transação da escrita que a gerou
+/*
+ * Os eventos entram sem position; o ChangeEventPublisher numera os pendentes em
+ * ordem de id, com um lock consultivo (pg_advisory_xact_lock) que serializa a
+ * publicação entre instâncias. Assim um evento que se torna visível depois sempre
+ * recebe uma position maior, e o feed por position não pula eventos.
+ *
+ * As positions vêm da sequência change_event_positions: nunca se repetem, nem
+ * depois da limpeza dos eventos antigos (pode haver buracos, de lotes desfeitos).
+ * change_feed_state.purged_through é a maior position já removida.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChangeEventRepository {
+
+    // Chave do lock consultivo da publicação
+    private static final long PUBLISH_LOCK = 0x0C4A9E;
+
+    private static final String COLUMNS = "id, position, entity, entity_id, operation, version, occurred_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void append(ChangeEntity entity, Long entityId, ChangeOperation operation, Long version) {
+        jdbcTemplate.update("INSERT INTO change_events (entity, entity_id, operation, version) VALUES (?, ?, ?, ?)",
+                entity.name(), entityId, operation.name(), version);
+    }
+
+    // Um INSERT em lote (reescrito pelo driver em inserts de várias linhas)
+    public void appendAll(List<ChangeEntity> entities, List<Long> entityIds, ChangeOperation operation) {
+        jdbcTemplate.batchUpdate("INSERT INTO change_events (entity, entity_id, operation, version) "
+                + "VALUES (?, ?, ?, 0)", new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        statement.setString(1, entities.get(i).name());
+                        statement.setLong(2, entityIds.get(i));
+                        statement.setString(3, operation.name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return entityIds.size();
+                    }
+                });
+    }
+
+    // Dentro de uma transação: falso quando outra instância está publicando
+    public boolean tryLockPublication() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)",
+                Boolean.class, PUBLISH_LOCK));
+    }
+
+    public List<ChangeEvent> findPending(int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM change_events WHERE position IS NULL "
+                + "ORDER BY id LIMIT ?", this::map, limit);
+    }
+
+    // Última position publicada, mesmo que o evento já tenha sido removido
+    public long maxPosition() {
+        return jdbcTemplate.queryForObject("SELECT GREATEST((SELECT max(position) FROM change_events), "
+                + "(SELECT purged_through FROM change_feed_state))", Long.class);
+    }
+
+    // Próximas count positions, em ordem crescente (chamar com o lock da publicação)
+    public List<Long> nextPositions(int count) {
+        return jdbcTemplate.queryForList("SELECT nextval('change_event_positions') AS position "
+                + "FROM generate_series(1, ?) ORDER BY position", Long.class, count);
+    }
+
+    public void assignPositions(List<ChangeEvent> events) {
+        jdbcTemplate.batchUpdate("UPDATE change_events SET position = ?, published_at = now() WHERE id = ?",
+                events, events.size(), (statement, event) -> {
+                    statement.setLong(1, event.position());
+                    statement.setLong(2, event.id());
+                });
+    }
+
+    public List<ChangeEvent> findSince(long since, int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM change_events WHERE position > ? "
+                + "ORDER BY position LIMIT ?", this::map, since, limit);
+    }
+
+    // Maior position já removida pela limpeza (0 enquanto nada foi removido)
+    public long purgedThrough() {
+        return jdbcTemplate.queryForObject("SELECT purged_through FROM change_feed_state", Long.class);
+    }
+
+    // Remove os publicados antes da retenção e avança purged_through no mesmo comando
+    public int deletePublishedBefore(Duration retention) {
+        Integer deleted = jdbcTemplate.queryForObject("WITH deleted AS ("
+                + "DELETE FROM change_events WHERE published_at < ? RETURNING position), "
+                + "state AS (UPDATE change_feed_state SET purged_through = GREATEST(purged_through, "
+                + "(SELECT max(position) FROM deleted)) WHERE EXISTS (SELECT 1 FROM deleted)) "
+                + "SELECT count(*) FROM deleted", Integer.class, Timestamp.from(Instant.now().minus(retention)));
+        return deleted == null ? 0 : deleted;
+    }
+
+    private ChangeEvent map(ResultSet rs, int row) throws SQLException {
+        return new ChangeEvent(
+                rs.getLong("id"),
+                rs.getObject("position", Long.class),
+                ChangeEntity.valueOf(rs.getString("entity")),
+                rs.getLong("entity_id"),
+                ChangeOperation.valueOf(rs.getString("operation")),
+                rs.getObject("version", Long.class),
+                rs.getTimestamp("occurred_at").toInstant());
+    }
+}
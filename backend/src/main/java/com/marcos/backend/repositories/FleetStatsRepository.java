@@ -0,0 +1,62 @@
+package com.marcos.backend.repositories;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.marcos.backend.config.MetricsConfig;
+import com.marcos.backend.dtos.FleetStatRow;
+import com.marcos.backend.dtos.VehicleType;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+// Contadores de fleet_stats, mantidos pelos gatilhos da migração V9__fleet_stats
+/*
+ * A leitura percorre só os contadores (tipos x marcas + Meios Acessíveis), não
+ * os veículos. A conferência recalcula tudo pela view fleet_stats_expected sem
+ * bloquear a tabela: o recálculo e os contadores são lidos no mesmo comando
+ * (mesmo snapshot, em que os gatilhos já aplicaram cada escrita confirmada) e a
+ * diferença é somada ao valor atual. Deltas de escritas posteriores ao snapshot
+ * continuam no contador; só as linhas corrigidas ficam travadas, até o commit.
+ */
+@Repository
+@Timed(MetricsConfig.REPOSITORY_TIMER)
+@RequiredArgsConstructor
+public class FleetStatsRepository {
+
+    // Chave do lock consultivo da conferência (uma instância por vez)
+    private static final long RECONCILE_LOCK = 0x0F1EE7;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<FleetStatRow> findAll() {
+        return jdbcTemplate.query("SELECT vehicle_type, metric, key, value FROM fleet_stats WHERE value <> 0",
+                (rs, rowNum) -> new FleetStatRow(VehicleType.valueOf(rs.getString("vehicle_type")),
+                        rs.getString("metric"), rs.getString("key"), rs.getLong("value")));
+    }
+
+    // Dentro de uma transação: falso quando outra instância está conferindo
+    public boolean tryLockReconcile() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)",
+                Boolean.class, RECONCILE_LOCK));
+    }
+
+    // Contadores corrigidos; precisa de uma transação (READ COMMITTED: a soma usa o valor mais recente)
+    public int reconcile() {
+        int fixed = jdbcTemplate.update("WITH drift AS ("
+                + "SELECT COALESCE(e.vehicle_type, s.vehicle_type) AS vehicle_type, "
+                + "COALESCE(e.metric, s.metric) AS metric, COALESCE(e.key, s.key) AS key, "
+                + "CAST(COALESCE(e.value, 0) - COALESCE(s.value, 0) AS bigint) AS difference "
+                + "FROM fleet_stats_expected e FULL JOIN fleet_stats s ON s.vehicle_type = e.vehicle_type "
+                + "AND s.metric = e.metric AND s.key = e.key) "
+                + "INSERT INTO fleet_stats (vehicle_type, metric, key, value) "
+                + "SELECT vehicle_type, metric, key, difference FROM drift WHERE difference <> 0 "
+                + "ORDER BY vehicle_type, metric, key "
+                + "ON CONFLICT (vehicle_type, metric, key) DO UPDATE SET value = fleet_stats.value + EXCLUDED.value");
+        // Contadores zerados não aparecem nas leituras; o gatilho recria a linha se precisar
+        jdbcTemplate.update("DELETE FROM fleet_stats WHERE value = 0");
+        return fixed;
+    }
+}
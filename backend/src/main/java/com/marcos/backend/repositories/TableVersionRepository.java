@@ -0,0 +1,21 @@
+package com.marcos.backend.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+// Leitura do contador de alterações mantido pelos gatilhos da migração V6__table_versions
+@Repository
+@RequiredArgsConstructor
+public class TableVersionRepository {
+
+    public static final String ACCESSIBILITY_FEATURES = "accessibility_features";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Long versionOf(String table) {
+        return jdbcTemplate.queryForList("SELECT version FROM table_versions WHERE table_name = ?", Long.class,
+                table).stream().findFirst().orElse(0L);
+    }
+}
@@ -1,16 +1,165 @@
 package com.marcos.backend.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.marcos.backend.dtos.BrandAndModel;
+import com.marcos.backend.dtos.VanSummary;
+import com.marcos.backend.dtos.VehicleFeatureRow;
 import com.marcos.backend.entities.Van;
 
+import jakarta.persistence.QueryHint;
+
 public interface VanRepository extends JpaRepository<Van, Long> {
+    // Carrega os Meios Acessíveis junto, para a entidade poder ser usada fora da sessão (cache)
+    @EntityGraph(attributePaths = "accessibilityFeatures")
+    Optional<Van> findWithFeaturesById(Long id);
+
+    // Vários registros com os Meios Acessíveis em uma única consulta (GET /vans?ids=)
+    @EntityGraph(attributePaths = "accessibilityFeatures")
+    List<Van> findWithFeaturesByIdIn(Collection<Long> ids);
+
     @Query("SELECT b FROM Van b WHERE " +
             "LOWER(b.brand) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
             "LOWER(b.model) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<Van> searchByBrandOrModel(@Param("search") String search, Pageable pageable);
+
+    @Query(value = "SELECT new com.marcos.backend.dtos.VanSummary(b.id, b.model, b.brand, b.color, b.year, " +
+            "b.licensePlate, b.numberOfSeats, b.hasWifi, b.hasStorageSpace, b.hasAirConditioning) FROM Van b",
+            countQuery = "SELECT COUNT(b) FROM Van b")
+    Page<VanSummary> findAllSummaries(Pageable pageable);
+
+    @Query(value = "SELECT new com.marcos.backend.dtos.VanSummary(b.id, b.model, b.brand, b.color, b.year, " +
+            "b.licensePlate, b.numberOfSeats, b.hasWifi, b.hasStorageSpace, b.hasAirConditioning) FROM Van b WHERE " +
+            "LOWER(b.brand) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(b.model) LIKE LOWER(CONCAT('%', :search, '%'))",
+            countQuery = "SELECT COUNT(b) FROM Van b WHERE " +
+                    "LOWER(b.brand) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+                    "LOWER(b.model) LIKE LOWER(CONCAT('%', :search, '%'))")
+    Page<VanSummary> searchSummariesByBrandOrModel(@Param("search") String search, Pageable pageable);
+
+    // Paginação por chave: próximos registros após o último id, sem consulta de contagem
+    @Query("SELECT new com.marcos.backend.dtos.VanSummary(b.id, b.model, b.brand, b.color, b.year, " +
+            "b.licensePlate, b.numberOfSeats, b.hasWifi, b.hasStorageSpace, b.hasAirConditioning) " +
+            "FROM Van b WHERE b.id > :afterId ORDER BY b.id")
+    List<VanSummary> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT new com.marcos.backend.dtos.VanSummary(b.id, b.model, b.brand, b.color, b.year, " +
+            "b.licensePlate, b.numberOfSeats, b.hasWifi, b.hasStorageSpace, b.hasAirConditioning) " +
+            "FROM Van b WHERE b.id > :afterId AND (" +
+            "LOWER(b.brand) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(b.model) LIKE LOWER(CONCAT('%', :search, '%'))) ORDER BY b.id")
+    List<VanSummary> searchSummariesAfter(@Param("search") String search, @Param("afterId") Long afterId,
+            Limit limit);
+
+    // Cursor no modo TRIGRAM: mesmo filtro da pesquisa por relevância (search_text já normalizado),
+    // mas em ordem de id, que é a chave do cursor
+    @Query("SELECT new com.marcos.backend.dtos.VanSummary(b.id, b.model, b.brand, b.color, b.year, " +
+            "b.licensePlate, b.numberOfSeats, b.hasWifi, b.hasStorageSpace, b.hasAirConditioning) " +
+            "FROM Van b WHERE b.id > :afterId " +
+            "AND b.searchText LIKE CONCAT('%', :search, '%') ORDER BY b.id")
+    List<VanSummary> searchNormalizedSummariesAfter(@Param("search") String search, @Param("afterId") Long afterId,
+            Limit limit);
+
+    // Exportação: cursor do banco lido em blocos de 500 linhas (exige transação aberta)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.marcos.backend.dtos.VanSummary(b.id, b.model, b.brand, b.color, b.year, " +
+            "b.licensePlate, b.numberOfSeats, b.hasWifi, b.hasStorageSpace, b.hasAirConditioning) FROM Van b ORDER BY b.id")
+    Stream<VanSummary> streamAllSummaries();
+
+    // Pesquisa por relevância na coluna normalizada (índice GIN de trigramas)
+    @Query(value = "SELECT b.id FROM vans b WHERE b.search_text LIKE CONCAT('%', :search, '%') " +
+            "ORDER BY similarity(b.search_text, :search) DESC, b.id",
+            countQuery = "SELECT COUNT(*) FROM vans b WHERE b.search_text LIKE CONCAT('%', :search, '%')",
+            nativeQuery = true)
+    Page<Long> searchIdsByRelevance(@Param("search") String search, Pageable pageable);
+
+    @Query("SELECT new com.marcos.backend.dtos.VanSummary(b.id, b.model, b.brand, b.color, b.year, " +
+            "b.licensePlate, b.numberOfSeats, b.hasWifi, b.hasStorageSpace, b.hasAirConditioning) FROM Van b WHERE b.id IN :ids")
+    List<VanSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // Meios Acessíveis de várias Vans em uma única consulta
+    @Query("SELECT new com.marcos.backend.dtos.VehicleFeatureRow(b.id, f.id, f.name) " +
+            "FROM Van b JOIN b.accessibilityFeatures f WHERE b.id IN :ids")
+    List<VehicleFeatureRow> findFeatureRowsByVanIds(@Param("ids") Collection<Long> ids);
+
+    // Escrita em um único comando (sem SELECT antes): vazio/0 quando o id não existe ou,
+    // com expectedVersion (If-Match), quando a versão no banco é outra
+    @Query(nativeQuery = true, value = "UPDATE vans SET " +
+            "model = CAST(:#{#van.model} AS varchar), " +
+            "brand = CAST(:#{#van.brand} AS varchar), " +
+            "color = CAST(:#{#van.color} AS varchar), " +
+            "year = CAST(:#{#van.year} AS varchar), " +
+            "license_plate = CAST(:#{#van.licensePlate} AS varchar), " +
+            "number_of_seats = CAST(:#{#van.numberOfSeats} AS integer), " +
+            "has_wifi = CAST(:#{#van.hasWifi} AS boolean), " +
+            "has_storage_space = CAST(:#{#van.hasStorageSpace} AS boolean), " +
+            "has_air_conditioning = CAST(:#{#van.hasAirConditioning} AS boolean), " +
+            "search_text = CAST(:#{#van.searchText} AS varchar), " +
+            "version = version + 1 " +
+            "WHERE id = :id " +
+            "AND (CAST(:expectedVersion AS bigint) IS NULL OR version = CAST(:expectedVersion AS bigint)) " +
+            "RETURNING version")
+    Optional<Long> updateById(@Param("id") Long id, @Param("van") Van van,
+            @Param("expectedVersion") Long expectedVersion);
+
+    // Marca e Modelo atuais, com o mesmo lock do UPDATE seguinte (search_text da atualização parcial)
+    @Query(nativeQuery = true, value = "SELECT brand, model FROM vans WHERE id = :id FOR NO KEY UPDATE")
+    Optional<BrandAndModel> findBrandAndModelForUpdate(@Param("id") Long id);
+
+    // Atualização parcial: campos nulos mantêm o valor atual; search_text vem calculado do serviço
+    @Query(nativeQuery = true, value = "UPDATE vans SET " +
+            "model = COALESCE(CAST(:#{#van.model} AS varchar), model), " +
+            "brand = COALESCE(CAST(:#{#van.brand} AS varchar), brand), " +
+            "color = COALESCE(CAST(:#{#van.color} AS varchar), color), " +
+            "year = COALESCE(CAST(:#{#van.year} AS varchar), year), " +
+            "license_plate = COALESCE(CAST(:#{#van.licensePlate} AS varchar), license_plate), " +
+            "number_of_seats = COALESCE(CAST(:#{#van.numberOfSeats} AS integer), number_of_seats), " +
+            "has_wifi = COALESCE(CAST(:#{#van.hasWifi} AS boolean), has_wifi), " +
+            "has_storage_space = COALESCE(CAST(:#{#van.hasStorageSpace} AS boolean), has_storage_space), " +
+            "has_air_conditioning = COALESCE(CAST(:#{#van.hasAirConditioning} AS boolean), " +
+            "has_air_conditioning), " +
+            "search_text = COALESCE(CAST(:#{#van.searchText} AS varchar), search_text), " +
+            "version = version + 1 " +
+            "WHERE id = :id " +
+            "AND (CAST(:expectedVersion AS bigint) IS NULL OR version = CAST(:expectedVersion AS bigint)) " +
+            "RETURNING version")
+    Optional<Long> patchById(@Param("id") Long id, @Param("van") Van van,
+            @Param("expectedVersion") Long expectedVersion);
+
+    // Remove as ligações com Meios Acessíveis e o veículo no mesmo comando (CTE do PostgreSQL)
+    @Modifying
+    @Query(nativeQuery = true, value = "WITH links AS (DELETE FROM vans_accessibility_features WHERE van_id = :id) " +
+            "DELETE FROM vans WHERE id = :id " +
+            "AND (CAST(:expectedVersion AS bigint) IS NULL OR version = CAST(:expectedVersion AS bigint))")
+    int deleteByIdReturningCount(@Param("id") Long id, @Param("expectedVersion") Long expectedVersion);
+
+    // Sincronização dos Meios Acessíveis por diferença: remove os que saíram e insere só os novos
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM vans_accessibility_features WHERE van_id = :id")
+    void deleteAllFeatureLinks(@Param("id") Long id);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM vans_accessibility_features " +
+            "WHERE van_id = :id AND accessibility_features_id NOT IN :featureIds")
+    void deleteFeatureLinksNotIn(@Param("id") Long id, @Param("featureIds") Collection<Long> featureIds);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO vans_accessibility_features (van_id, accessibility_features_id) " +
+            "SELECT :id, f.id FROM accessibility_features f WHERE f.id IN :featureIds AND NOT EXISTS (" +
+            "SELECT 1 FROM vans_accessibility_features l WHERE l.van_id = :id AND l.accessibility_features_id = f.id)")
+    void insertMissingFeatureLinks(@Param("id") Long id, @Param("featureIds") Collection<Long> featureIds);
 }
@@ -0,0 +1,201 @@
+package com.marcos.backend.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.config.MetricsConfig;
+import com.marcos.backend.dtos.VehicleFacets;
+import com.marcos.backend.dtos.VehicleFilter;
+import com.marcos.backend.dtos.VehicleRef;
+import com.marcos.backend.dtos.VehicleSearchResult;
+import com.marcos.backend.dtos.VehicleSummary;
+import com.marcos.backend.dtos.VehicleType;
+import com.marcos.backend.utils.SearchText;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+// Catálogo unificado de Ônibus e Vans em uma única consulta (PostgreSQL)
+/*
+ * Cada tabela é filtrada no seu próprio SELECT (os filtros usam os índices de
+ * cada tabela) e as duas partes são unidas com UNION ALL na CTE "filtered".
+ * O filtro por Meios Acessíveis chega pronto como lista de ids (AccessibilityFeatureIndex).
+ * A mesma consulta devolve, em um documento JSON montado pelo banco, a página
+ * com os Meios Acessíveis de cada veículo, o total e as contagens por tipo,
+ * por marca e por Meio Acessível. Só os filtros informados entram no SQL.
+ */
+@Repository
+@Timed(MetricsConfig.REPOSITORY_TIMER)
+@RequiredArgsConstructor
+public class VehicleCatalogRepository {
+
+    private record Source(VehicleType type, String table, String linkTable, String linkColumn,
+            String storageSpace) {
+    }
+
+    private record CatalogDocument(long total, List<VehicleSummary> content, Map<VehicleType, Long> types,
+            Map<String, Long> brands, Map<Long, Long> features) {
+    }
+
+    private static final List<Source> SOURCES = List.of(
+            new Source(VehicleType.BUS, "buses", "buses_accessibility_features", "bus_id",
+                    "CAST(NULL AS boolean)"),
+            new Source(VehicleType.VAN, "vans", "vans_accessibility_features", "van_id", "v.has_storage_space"));
+
+    // Início da lista JSON de VehicleSummary; completada com "(" + pageRows + ") r), CAST('[]' AS json))"
+    private static final String SUMMARIES = "COALESCE((SELECT json_agg(json_build_object("
+            + "'type', r.type, 'id', r.id, 'model', r.model, 'brand', r.brand, 'color', r.color, "
+            + "'year', r.year, 'licensePlate', r.license_plate, 'numberOfSeats', r.number_of_seats, "
+            + "'hasWifi', r.has_wifi, 'hasAirConditioning', r.has_air_conditioning, "
+            + "'hasStorageSpace', r.has_storage_space, "
+            + "'accessibilityFeatures', COALESCE(r.features, CAST('[]' AS json))) ORDER BY r.type, r.id) FROM ";
+
+    private static final TypeReference<List<VehicleSummary>> SUMMARY_LIST = new TypeReference<>() {
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public VehicleSearchResult search(VehicleFilter filter, Map<VehicleType, RoaringBitmap> featureMatches,
+            boolean featureFacets, int page, int size) {
+        List<Source> sources = SOURCES.stream()
+                .filter(source -> filter.includes(source.type()))
+                .filter(source -> featureMatches == null || !featureMatches.get(source.type()).isEmpty())
+                .toList();
+        if (sources.isEmpty()) {
+            return VehicleSearchResult.of(List.of(), page, size, 0,
+                    new VehicleFacets(Map.of(), Map.of(), Map.of()));
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("limit", size)
+                .addValue("offset", (long) page * size);
+        String conditions = conditions(filter, params);
+
+        String filtered = sources.stream()
+                .map(source -> "SELECT '" + source.type() + "' AS type, v.id, v.brand FROM " + source.table()
+                        + " v WHERE TRUE" + conditions + idCondition(source, featureMatches, params))
+                .collect(Collectors.joining(" UNION ALL "));
+        String pageRows = pageRows(sources);
+        String featureLinks = sources.stream()
+                .map(source -> "SELECT l.accessibility_features_id AS feature_id FROM filtered f "
+                        + "JOIN " + source.linkTable() + " l ON l." + source.linkColumn() + " = f.id "
+                        + "WHERE f.type = '" + source.type() + "'")
+                .collect(Collectors.joining(" UNION ALL "));
+
+        String sql = "WITH filtered AS (" + filtered + "), "
+                + "page AS (SELECT type, id FROM filtered ORDER BY type, id LIMIT :limit OFFSET :offset) "
+                + "SELECT CAST(json_build_object("
+                + "'total', (SELECT COUNT(*) FROM filtered), "
+                + "'content', " + SUMMARIES + "(" + pageRows + ") r), CAST('[]' AS json)), "
+                + "'types', COALESCE((SELECT json_object_agg(t.type, t.n) FROM "
+                + "(SELECT type, COUNT(*) AS n FROM filtered GROUP BY type) t), CAST('{}' AS json)), "
+                + "'brands', COALESCE((SELECT json_object_agg(b.brand, b.n) FROM "
+                + "(SELECT brand, COUNT(*) AS n FROM filtered WHERE brand IS NOT NULL GROUP BY brand) b), "
+                + "CAST('{}' AS json)), "
+                + "'features', " + (featureFacets ? "COALESCE((SELECT json_object_agg(x.feature_id, x.n) FROM "
+                        + "(SELECT feature_id, COUNT(*) AS n FROM (" + featureLinks + ") fl GROUP BY feature_id) x), "
+                        + "CAST('{}' AS json))" : "CAST('{}' AS json)")
+                + ") AS text)";
+
+        CatalogDocument document = read(jdbcTemplate.queryForObject(sql, params, String.class));
+        return VehicleSearchResult.of(document.content(), page, size, document.total(),
+                new VehicleFacets(document.types(), document.brands(), document.features()));
+    }
+
+    // Resumos (com os Meios Acessíveis) de veículos já identificados, em uma única consulta
+    public List<VehicleSummary> findSummaries(Collection<VehicleRef> refs) {
+        if (refs.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("types", refs.stream().map(ref -> ref.type().name()).toArray(String[]::new))
+                .addValue("ids", refs.stream().mapToLong(VehicleRef::id).toArray());
+        String sql = "WITH page AS (SELECT r.type, r.id FROM "
+                + "unnest(CAST(:types AS text[]), CAST(:ids AS bigint[])) AS r(type, id)) "
+                + "SELECT CAST(" + SUMMARIES + "(" + pageRows(SOURCES) + ") r), CAST('[]' AS json)) AS text)";
+        String json = jdbcTemplate.queryForObject(sql, params, String.class);
+        try {
+            return objectMapper.readValue(json, SUMMARY_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resposta inválida do catálogo de veículos", e);
+        }
+    }
+
+    // Linhas completas dos veículos da CTE "page" (type, id), com os Meios Acessíveis em JSON
+    private static String pageRows(List<Source> sources) {
+        return sources.stream()
+                .map(source -> "SELECT p.type, v.id, v.model, v.brand, v.color, v.year, v.license_plate, "
+                        + "v.number_of_seats, v.has_wifi, v.has_air_conditioning, "
+                        + source.storageSpace() + " AS has_storage_space, "
+                        + "(SELECT json_agg(json_build_object('id', a.id, 'name', a.name) ORDER BY a.id) "
+                        + "FROM accessibility_features a WHERE a.id IN (SELECT l.accessibility_features_id FROM "
+                        + source.linkTable() + " l WHERE l." + source.linkColumn() + " = v.id)) AS features "
+                        + "FROM page p JOIN " + source.table() + " v ON v.id = p.id "
+                        + "WHERE p.type = '" + source.type() + "'")
+                .collect(Collectors.joining(" UNION ALL "));
+    }
+
+    // Filtros comuns às duas tabelas
+    private static String conditions(VehicleFilter filter, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder();
+        if (filter.search() != null && !filter.search().isBlank()) {
+            sql.append(" AND v.search_text LIKE :search");
+            params.addValue("search", "%" + SearchText.normalize(filter.search()) + "%");
+        }
+        if (filter.minSeats() != null) {
+            sql.append(" AND v.number_of_seats >= :minSeats");
+            params.addValue("minSeats", filter.minSeats());
+        }
+        if (filter.maxSeats() != null) {
+            sql.append(" AND v.number_of_seats <= :maxSeats");
+            params.addValue("maxSeats", filter.maxSeats());
+        }
+        if (filter.hasWifi() != null) {
+            sql.append(" AND v.has_wifi = :hasWifi");
+            params.addValue("hasWifi", filter.hasWifi());
+        }
+        if (filter.hasAirConditioning() != null) {
+            sql.append(" AND v.has_air_conditioning = :hasAirConditioning");
+            params.addValue("hasAirConditioning", filter.hasAirConditioning());
+        }
+        if (filter.hasStorageSpace() != null) {
+            sql.append(" AND v.has_storage_space = :hasStorageSpace");
+            params.addValue("hasStorageSpace", filter.hasStorageSpace());
+        }
+        if (filter.year() != null && !filter.year().isBlank()) {
+            sql.append(" AND v.year = :year");
+            params.addValue("year", filter.year().trim());
+        }
+        return sql.toString();
+    }
+
+    // Veículos que têm todos os Meios Acessíveis pedidos: ids vindos do índice em memória
+    private static String idCondition(Source source, Map<VehicleType, RoaringBitmap> featureMatches,
+            MapSqlParameterSource params) {
+        if (featureMatches == null) {
+            return "";
+        }
+        String name = "ids" + source.type();
+        params.addValue(name, featureMatches.get(source.type()).stream().asLongStream().toArray());
+        return " AND v.id = ANY(:" + name + ")";
+    }
+
+    private CatalogDocument read(String json) {
+        try {
+            return objectMapper.readValue(json, CatalogDocument.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resposta inválida do catálogo de veículos", e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.marcos.backend.repositories;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.marcos.backend.config.MetricsConfig;
+import com.marcos.backend.dtos.VehicleRef;
+import com.marcos.backend.dtos.VehicleType;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+// Registro de placas normalizadas mantido pelos gatilhos da migração V8__vehicle_plates
+/*
+ * Cada placa é uma busca na chave primária de vehicle_plates; um lote de
+ * placas vai em uma única consulta (plate_key = ANY).
+ */
+@Repository
+@Timed(MetricsConfig.REPOSITORY_TIMER)
+@RequiredArgsConstructor
+public class VehiclePlateRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Veículo de cada chave encontrada; chaves sem registro ficam de fora
+    public Map<String, VehicleRef> findByPlateKeys(Collection<String> plateKeys) {
+        Map<String, VehicleRef> refs = new HashMap<>();
+        if (plateKeys.isEmpty()) {
+            return refs;
+        }
+        jdbcTemplate.query("SELECT plate_key, vehicle_type, vehicle_id FROM vehicle_plates WHERE plate_key = ANY(?)",
+                rs -> {
+                    refs.put(rs.getString("plate_key"), new VehicleRef(
+                            VehicleType.valueOf(rs.getString("vehicle_type")), rs.getLong("vehicle_id")));
+                }, (Object) plateKeys.toArray(String[]::new));
+        return refs;
+    }
+
+    // Chaves já cadastradas (validação da importação em lote antes de gravar o bloco)
+    public Set<String> findRegistered(Collection<String> plateKeys) {
+        if (plateKeys.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT plate_key FROM vehicle_plates WHERE plate_key = ANY(?)", String.class,
+                (Object) plateKeys.toArray(String[]::new)));
+    }
+}
@@ -0,0 +1,223 @@
+package com.marcos.backend.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.marcos.backend.dtos.ChangeEvent;
+import com.marcos.backend.dtos.ChangeOperation;
+import com.marcos.backend.dtos.VehicleType;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.entities.Vehicle;
+import com.marcos.backend.repositories.ChangeEventRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// Índice em memória: Meio Acessível → ids dos veículos que o possuem
+/*
+ * Um bitmap comprimido (RoaringBitmap) por Meio Acessível e por tipo de veículo.
+ * É reconstruído das tabelas de ligação na inicialização e depois segue a outbox
+ * (change_events) em ordem de position: para cada veículo alterado relê do banco
+ * as ligações gravadas, e um Meio Acessível removido sai de todos os bitmaps.
+ * Assim cada instância vê as escritas de todas as outras (serviços, /batch,
+ * importação em lote), só com ids que de fato existem e sem depender da ordem
+ * dos commits. Alterações feitas direto no banco, sem evento, só entram no
+ * próximo rebuild(). O índice fica atrás da publicação da outbox por até
+ * fleet.outbox.publish-interval + fleet.feature-index.poll-interval.
+ * "Tem todos os Meios Acessíveis X, Y, Z" e as contagens por Meio Acessível viram
+ * interseções em memória. Os ids precisam caber em int (bitmap de 32 bits).
+ */
+@Service
+@RequiredArgsConstructor
+public class AccessibilityFeatureIndex implements SmartInitializingSingleton {
+
+    private static final int POLL_LIMIT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeEventRepository changeEventRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<VehicleType, Map<Long, RoaringBitmap>> bitmaps = new EnumMap<>(VehicleType.class);
+    // rebuild() e poll() um de cada vez; Lock e não synchronized, que prende a thread
+    // portadora de uma thread virtual durante as consultas
+    private final Lock refresh = new ReentrantLock();
+
+    // Protegido por refresh: última position da outbox já aplicada
+    private long lastPosition;
+
+    public static VehicleType typeOf(Vehicle vehicle) {
+        return vehicle instanceof Bus ? VehicleType.BUS : VehicleType.VAN;
+    }
+
+    // Carregado antes de o servidor web aceitar requisições
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    // Recarrega todos os bitmaps das tabelas de ligação
+    /*
+     * A position é lida antes das ligações: eventos publicados durante a carga são
+     * aplicados de novo no próximo poll(), o que não muda nada (estado atual do banco).
+     */
+    public void rebuild() {
+        refresh.lock();
+        try {
+            long position = changeEventRepository.maxPosition();
+            Map<VehicleType, Map<Long, RoaringBitmap>> loaded = new EnumMap<>(VehicleType.class);
+            loaded.put(VehicleType.BUS,
+                    load("SELECT bus_id, accessibility_features_id FROM buses_accessibility_features"));
+            loaded.put(VehicleType.VAN,
+                    load("SELECT van_id, accessibility_features_id FROM vans_accessibility_features"));
+
+            lock.writeLock().lock();
+            try {
+                bitmaps.clear();
+                bitmaps.putAll(loaded);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            lastPosition = position;
+        } finally {
+            refresh.unlock();
+        }
+    }
+
+    private Map<Long, RoaringBitmap> load(String sql) {
+        Map<Long, RoaringBitmap> byFeature = new HashMap<>();
+        jdbcTemplate.query(sql, row -> {
+            byFeature.computeIfAbsent(row.getLong(2), featureId -> new RoaringBitmap())
+                    .add(Math.toIntExact(row.getLong(1)));
+        });
+        byFeature.values().forEach(RoaringBitmap::runOptimize);
+        return byFeature;
+    }
+
+    // Aplica os eventos publicados desde a última leitura, em blocos de POLL_LIMIT
+    @Scheduled(fixedDelayString = "${fleet.feature-index.poll-interval:500ms}")
+    public void poll() {
+        refresh.lock();
+        try {
+            List<ChangeEvent> events;
+            do {
+                events = changeEventRepository.findSince(lastPosition, POLL_LIMIT);
+                if (events.isEmpty()) {
+                    return;
+                }
+                apply(events);
+                lastPosition = events.get(events.size() - 1).position();
+            } while (events.size() == POLL_LIMIT);
+        } finally {
+            refresh.unlock();
+        }
+    }
+
+    private void apply(List<ChangeEvent> events) {
+        Map<VehicleType, Set<Long>> changed = new EnumMap<>(VehicleType.class);
+        Set<Long> deletedFeatures = new HashSet<>();
+        for (ChangeEvent event : events) {
+            switch (event.entity()) {
+                case BUS -> changed.computeIfAbsent(VehicleType.BUS, t -> new HashSet<>()).add(event.entityId());
+                case VAN -> changed.computeIfAbsent(VehicleType.VAN, t -> new HashSet<>()).add(event.entityId());
+                case ACCESSIBILITY_FEATURE -> {
+                    if (event.operation() == ChangeOperation.DELETED) {
+                        deletedFeatures.add(event.entityId());
+                    }
+                }
+            }
+        }
+
+        // Ligações atuais dos veículos alterados (veículo removido ou sem ligações: nenhuma linha)
+        Map<VehicleType, Map<Long, List<Long>>> links = new EnumMap<>(VehicleType.class);
+        changed.forEach((type, ids) -> links.put(type, linksOf(type, ids)));
+
+        lock.writeLock().lock();
+        try {
+            changed.forEach((type, ids) -> {
+                Map<Long, List<Long>> byVehicle = links.get(type);
+                for (Long vehicleId : ids) {
+                    replace(type, vehicleId, byVehicle.getOrDefault(vehicleId, List.of()));
+                }
+            });
+            for (Long featureId : deletedFeatures) {
+                bitmaps.values().forEach(byFeature -> byFeature.remove(featureId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<Long, List<Long>> linksOf(VehicleType type, Set<Long> vehicleIds) {
+        String sql = type == VehicleType.BUS
+                ? "SELECT bus_id, accessibility_features_id FROM buses_accessibility_features WHERE bus_id = ANY(?)"
+                : "SELECT van_id, accessibility_features_id FROM vans_accessibility_features WHERE van_id = ANY(?)";
+        Map<Long, List<Long>> byVehicle = new HashMap<>();
+        jdbcTemplate.query(sql, row -> {
+            byVehicle.computeIfAbsent(row.getLong(1), id -> new ArrayList<>()).add(row.getLong(2));
+        }, (Object) vehicleIds.toArray(Long[]::new));
+        return byVehicle;
+    }
+
+    // Chamar com o writeLock
+    private void replace(VehicleType type, Long vehicleId, Collection<Long> featureIds) {
+        int id = Math.toIntExact(vehicleId);
+        Map<Long, RoaringBitmap> byFeature = bitmaps.computeIfAbsent(type, t -> new HashMap<>());
+        byFeature.values().forEach(bitmap -> bitmap.remove(id));
+        for (Long featureId : featureIds) {
+            byFeature.computeIfAbsent(featureId, f -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    // Leituras: devolvem cópias, seguras fora do lock
+
+    // Ids dos veículos do tipo que têm todos os Meios Acessíveis informados
+    public RoaringBitmap matchingAll(VehicleType type, Collection<Long> featureIds) {
+        lock.readLock().lock();
+        try {
+            Map<Long, RoaringBitmap> byFeature = bitmaps.getOrDefault(type, Map.of());
+            RoaringBitmap result = null;
+            for (Long featureId : featureIds) {
+                RoaringBitmap bitmap = byFeature.get(featureId);
+                if (bitmap == null) {
+                    return new RoaringBitmap();
+                }
+                result = result == null ? bitmap.clone() : RoaringBitmap.and(result, bitmap);
+            }
+            return result == null ? new RoaringBitmap() : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Quantidade de veículos por Meio Acessível, dentro de candidates (todos os do tipo se nulo)
+    public Map<Long, Long> featureCounts(VehicleType type, RoaringBitmap candidates) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Long> counts = new HashMap<>();
+            bitmaps.getOrDefault(type, Map.of()).forEach((featureId, bitmap) -> {
+                long count = candidates == null ? bitmap.getLongCardinality()
+                        : RoaringBitmap.andCardinality(bitmap, candidates);
+                if (count > 0) {
+                    counts.put(featureId, count);
+                }
+            });
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -3,49 +3,142 @@ package com.marcos.backend.services;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.marcos.backend.config.CacheConfig;
+import com.marcos.backend.config.MetricsConfig;
+import com.marcos.backend.config.PrimaryReads;
+import com.marcos.backend.dtos.AccessibilityFeatureList;
+import com.marcos.backend.dtos.ChangeEntity;
+import com.marcos.backend.dtos.ChangeOperation;
 import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.exceptions.PreconditionFailedException;
 import com.marcos.backend.repositories.AccessibilityFeatureRepository;
+import com.marcos.backend.repositories.ChangeEventRepository;
+import com.marcos.backend.repositories.TableVersionRepository;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class AccessibilityFeatureService {
 
     private final AccessibilityFeatureRepository accessibilityFeatureRepository;
+    private final TableVersionRepository tableVersionRepository;
+    private final ChangeEventRepository changeEventRepository;
+    private final ResponseCoalescer responseCoalescer;
+    private final CacheManager cacheManager;
 
+    // Lista usada por todos os formulários de veículos
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public List<AccessibilityFeature> findAll() {
-        return accessibilityFeatureRepository.findAll();
+        return findAllWithVersion().features();
     }
 
+    // Lista e versão lidas no mesmo snapshot (REPEATABLE READ), em cache pela versão
+    /*
+     * A versão (table_versions) é global no banco, então a entrada de uma versão
+     * nunca fica desatualizada, em nenhuma instância: uma escrita muda a versão e
+     * a próxima leitura usa outra chave. Não há o que remover nas escritas; as
+     * versões antigas saem do cache pelo tamanho/TTL de spring.cache.caffeine.spec.
+     * Pode vir de uma réplica: atrasada, ela devolve a versão antiga com a lista dessa versão.
+     * Dentro de uma transação já aberta (isolamento dela), a versão é lida antes:
+     * a lista pode ser mais nova que a chave, nunca mais antiga.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public AccessibilityFeatureList findAllWithVersion() {
+        Long version = listVersion();
+        Cache cache = cacheManager.getCache(CacheConfig.ACCESSIBILITY_FEATURES);
+        AccessibilityFeatureList cached = cache == null ? null : cache.get(version, AccessibilityFeatureList.class);
+        if (cached != null) {
+            return cached;
+        }
+        AccessibilityFeatureList loaded = new AccessibilityFeatureList(version,
+                accessibilityFeatureRepository.findAll());
+        if (cache != null) {
+            cache.put(version, loaded);
+        }
+        return loaded;
+    }
+
+    // Versão da lista completa (muda a cada escrita na tabela); lida sempre no banco
+    public Long listVersion() {
+        return tableVersionRepository.versionOf(TableVersionRepository.ACCESSIBILITY_FEATURES);
+    }
+
+    // Em cache; lido do primário, como os demais valores que entram em cache (PrimaryReads)
+    @Cacheable(cacheNames = CacheConfig.ACCESSIBILITY_FEATURE_BY_ID, key = "#id")
     public Optional<AccessibilityFeature> findById(Long id) {
-        return accessibilityFeatureRepository.findById(id);
+        return PrimaryReads.call(() -> accessibilityFeatureRepository.findById(id));
     }
 
     @Transactional
     public AccessibilityFeature save(AccessibilityFeature feature) {
-        return accessibilityFeatureRepository.save(feature);
+        AccessibilityFeature saved = accessibilityFeatureRepository.save(feature);
+        changeEventRepository.append(ChangeEntity.ACCESSIBILITY_FEATURE, saved.getId(), ChangeOperation.CREATED,
+                saved.getVersion());
+        responseCoalescer.invalidateAfterCommit();
+        return saved;
     }
 
+    // Ônibus e Vans em cache trazem o nome do Meio Acessível, por isso também são limpos
     @Transactional
-    public AccessibilityFeature update(Long id, AccessibilityFeature feature) {
-        if (!accessibilityFeatureRepository.existsById(id)) {
-            throw new RuntimeException("Funcionalidade de Acessibilidade não encontrada com id: " + id);
-        }
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ACCESSIBILITY_FEATURE_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = { CacheConfig.BUSES, CacheConfig.VANS }, allEntries = true)
+    })
+    public AccessibilityFeature update(Long id, AccessibilityFeature feature, Long expectedVersion) {
+        Long version = accessibilityFeatureRepository.updateById(id, feature, expectedVersion)
+                .orElseThrow(() -> writeFailure(id, expectedVersion));
         feature.setId(id);
-        return accessibilityFeatureRepository.save(feature);
+        feature.setVersion(version);
+        changeEventRepository.append(ChangeEntity.ACCESSIBILITY_FEATURE, id, ChangeOperation.UPDATED, version);
+        responseCoalescer.invalidateAfterCommit();
+        return feature;
     }
 
     @Transactional
-    public void deleteById(Long id) {
-        if (!accessibilityFeatureRepository.existsById(id)) {
-            throw new RuntimeException("Funcionalidade de Acessibilidade não encontrada com id:: " + id);
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ACCESSIBILITY_FEATURE_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = { CacheConfig.BUSES, CacheConfig.VANS }, allEntries = true)
+    })
+    public Long patch(Long id, AccessibilityFeature feature, Long expectedVersion) {
+        Long version = accessibilityFeatureRepository.patchById(id, feature, expectedVersion)
+                .orElseThrow(() -> writeFailure(id, expectedVersion));
+        changeEventRepository.append(ChangeEntity.ACCESSIBILITY_FEATURE, id, ChangeOperation.UPDATED, version);
+        responseCoalescer.invalidateAfterCommit();
+        return version;
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ACCESSIBILITY_FEATURE_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = { CacheConfig.BUSES, CacheConfig.VANS }, allEntries = true)
+    })
+    public void deleteById(Long id, Long expectedVersion) {
+        if (accessibilityFeatureRepository.deleteByIdReturningCount(id, expectedVersion) == 0) {
+            throw writeFailure(id, expectedVersion);
+        }
+        changeEventRepository.append(ChangeEntity.ACCESSIBILITY_FEATURE, id, ChangeOperation.DELETED, null);
+        responseCoalescer.invalidateAfterCommit();
+    }
+
+    // Só no caminho de erro: distingue id inexistente de versão desatualizada (If-Match)
+    private RuntimeException writeFailure(Long id, Long expectedVersion) {
+        if (expectedVersion != null && accessibilityFeatureRepository.existsById(id)) {
+            return new PreconditionFailedException("Funcionalidade de Acessibilidade", id);
         }
-        accessibilityFeatureRepository.deleteById(id);
+        return new RuntimeException("Funcionalidade de Acessibilidade não encontrada com id: " + id);
     }
 
     public boolean existsById(Long id) {
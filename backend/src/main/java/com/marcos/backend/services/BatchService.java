@@ -0,0 +1,223 @@
+package com.marcos.backend.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.dtos.BatchOperation;
+import com.marcos.backend.dtos.BatchOperationResult;
+import com.marcos.backend.dtos.BatchOperationType;
+import com.marcos.backend.dtos.BatchResult;
+import com.marcos.backend.dtos.ChangeEntity;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.entities.Van;
+import com.marcos.backend.entities.Vehicle;
+import com.marcos.backend.exceptions.DuplicatePlateException;
+import com.marcos.backend.exceptions.PreconditionFailedException;
+
+// Várias escritas de Ônibus, Vans e Meios Acessíveis em uma requisição e uma transação (POST /batch)
+/*
+ * Primeiro todas as operações são validadas e convertidas, sem tocar no banco;
+ * qualquer erro devolve 400 e nada é executado. Depois as operações rodam em
+ * ordem, na mesma transação, pelos mesmos métodos dos endpoints individuais
+ * (placa única, versão esperada, eventos de mudança, caches e índices). A
+ * primeira falha desfaz tudo: ela recebe o status do endpoint individual e as
+ * seguintes ficam com 424 (não executadas). Caches só são limpos no commit
+ * (CacheConfig) e o índice segue a outbox, então um lote desfeito não deixa rastro.
+ */
+@Service
+public class BatchService {
+
+    // Status das operações que não chegaram a rodar (424 Failed Dependency)
+    public static final int NOT_EXECUTED = 424;
+
+    private record Parsed(BatchOperationType type, ChangeEntity entity, Long id, Long version, Object body) {
+    }
+
+    private final BusService busService;
+    private final VanService vanService;
+    private final AccessibilityFeatureService accessibilityFeatureService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+
+    public BatchService(BusService busService, VanService vanService,
+            AccessibilityFeatureService accessibilityFeatureService, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.busService = busService;
+        this.vanService = vanService;
+        this.accessibilityFeatureService = accessibilityFeatureService;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public BatchResult execute(List<BatchOperation> operations) {
+        List<Parsed> parsed = new ArrayList<>(operations.size());
+        List<BatchOperationResult> invalid = new ArrayList<>(operations.size());
+        boolean valid = true;
+        for (int i = 0; i < operations.size(); i++) {
+            try {
+                parsed.add(parse(operations.get(i)));
+                invalid.add(BatchOperationResult.failed(i, NOT_EXECUTED, "Não executada: o lote tem operações inválidas"));
+            } catch (IllegalArgumentException e) {
+                invalid.add(BatchOperationResult.failed(i, 400, e.getMessage()));
+                valid = false;
+            }
+        }
+        if (!valid) {
+            return new BatchResult(false, invalid);
+        }
+
+        List<BatchOperationResult> results = new ArrayList<>(parsed.size());
+        Boolean committed = transaction.execute(status -> {
+            for (int i = 0; i < parsed.size(); i++) {
+                try {
+                    results.add(apply(i, parsed.get(i)));
+                } catch (RuntimeException e) {
+                    status.setRollbackOnly();
+                    results.add(failure(i, e));
+                    for (int j = i + 1; j < parsed.size(); j++) {
+                        results.add(BatchOperationResult.failed(j, NOT_EXECUTED,
+                                "Não executada: a operação " + i + " falhou"));
+                    }
+                    return false;
+                }
+            }
+            return true;
+        });
+        return new BatchResult(Boolean.TRUE.equals(committed), results);
+    }
+
+    private Parsed parse(BatchOperation operation) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operação vazia");
+        }
+        BatchOperationType type = BatchOperationType.from(operation.op());
+        if (type == null) {
+            throw new IllegalArgumentException("Operação desconhecida: " + operation.op());
+        }
+        ChangeEntity entity = ChangeEntity.from(operation.entity());
+        if (entity == null) {
+            throw new IllegalArgumentException("Entidade desconhecida: " + operation.entity());
+        }
+        if (type != BatchOperationType.CREATE && operation.id() == null) {
+            throw new IllegalArgumentException("id obrigatório em " + type.name().toLowerCase());
+        }
+        if (type == BatchOperationType.DELETE) {
+            return new Parsed(type, entity, operation.id(), operation.version(), null);
+        }
+        if (operation.body() == null || !operation.body().isObject()) {
+            throw new IllegalArgumentException("body obrigatório em " + type.name().toLowerCase());
+        }
+
+        Object body = switch (entity) {
+            case BUS -> read(operation, Bus.class);
+            case VAN -> read(operation, Van.class);
+            case ACCESSIBILITY_FEATURE -> read(operation, AccessibilityFeature.class);
+        };
+        if (type == BatchOperationType.CREATE && !hasRequiredFields(body)) {
+            throw new IllegalArgumentException("Campos obrigatórios ausentes");
+        }
+        return new Parsed(type, entity, operation.id(), operation.version(), body);
+    }
+
+    private <T> T read(BatchOperation operation, Class<T> type) {
+        try {
+            return objectMapper.treeToValue(operation.body(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("body inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    // Mesmas regras de criação dos controllers
+    private static boolean hasRequiredFields(Object body) {
+        if (body instanceof Vehicle vehicle) {
+            return vehicle.hasRequiredFields();
+        }
+        AccessibilityFeature feature = (AccessibilityFeature) body;
+        return feature.getName() != null && feature.getDescription() != null;
+    }
+
+    private BatchOperationResult apply(int index, Parsed operation) {
+        return switch (operation.entity()) {
+            case BUS -> applyBus(index, operation);
+            case VAN -> applyVan(index, operation);
+            case ACCESSIBILITY_FEATURE -> applyFeature(index, operation);
+        };
+    }
+
+    private BatchOperationResult applyBus(int index, Parsed operation) {
+        Long id = operation.id();
+        return switch (operation.type()) {
+            case CREATE -> {
+                Bus saved = busService.save((Bus) operation.body());
+                yield BatchOperationResult.ok(index, 201, saved.getId(), saved.getVersion());
+            }
+            case UPDATE -> BatchOperationResult.ok(index, 200, id,
+                    busService.update(id, (Bus) operation.body(), operation.version()).getVersion());
+            case PATCH -> BatchOperationResult.ok(index, 204, id,
+                    busService.patch(id, (Bus) operation.body(), operation.version()));
+            case DELETE -> {
+                busService.deleteById(id, operation.version());
+                yield BatchOperationResult.ok(index, 204, id, null);
+            }
+        };
+    }
+
+    private BatchOperationResult applyVan(int index, Parsed operation) {
+        Long id = operation.id();
+        return switch (operation.type()) {
+            case CREATE -> {
+                Van saved = vanService.save((Van) operation.body());
+                yield BatchOperationResult.ok(index, 201, saved.getId(), saved.getVersion());
+            }
+            case UPDATE -> BatchOperationResult.ok(index, 200, id,
+                    vanService.update(id, (Van) operation.body(), operation.version()).getVersion());
+            case PATCH -> BatchOperationResult.ok(index, 204, id,
+                    vanService.patch(id, (Van) operation.body(), operation.version()));
+            case DELETE -> {
+                vanService.deleteById(id, operation.version());
+                yield BatchOperationResult.ok(index, 204, id, null);
+            }
+        };
+    }
+
+    private BatchOperationResult applyFeature(int index, Parsed operation) {
+        Long id = operation.id();
+        AccessibilityFeature body = (AccessibilityFeature) operation.body();
+        return switch (operation.type()) {
+            case CREATE -> {
+                AccessibilityFeature saved = accessibilityFeatureService.save(body);
+                yield BatchOperationResult.ok(index, 201, saved.getId(), saved.getVersion());
+            }
+            case UPDATE -> BatchOperationResult.ok(index, 200, id,
+                    accessibilityFeatureService.update(id, body, operation.version()).getVersion());
+            case PATCH -> BatchOperationResult.ok(index, 204, id,
+                    accessibilityFeatureService.patch(id, body, operation.version()));
+            case DELETE -> {
+                accessibilityFeatureService.deleteById(id, operation.version());
+                yield BatchOperationResult.ok(index, 204, id, null);
+            }
+        };
+    }
+
+    // Mesmo mapeamento de exceções dos controllers
+    private static BatchOperationResult failure(int index, RuntimeException e) {
+        if (e instanceof PreconditionFailedException) {
+            return BatchOperationResult.failed(index, 412, e.getMessage());
+        }
+        if (e instanceof DuplicatePlateException) {
+            return BatchOperationResult.failed(index, 409, e.getMessage());
+        }
+        if (e instanceof DataIntegrityViolationException) {
+            return BatchOperationResult.failed(index, 409, "Violação de integridade dos dados");
+        }
+        return BatchOperationResult.failed(index, 404, e.getMessage());
+    }
+}
@@ -0,0 +1,205 @@
+package com.marcos.backend.services;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.marcos.backend.config.MetricsConfig;
+import com.marcos.backend.dtos.BulkImportResult;
+import com.marcos.backend.dtos.BulkRowResult;
+import com.marcos.backend.dtos.ChangeEntity;
+import com.marcos.backend.dtos.ChangeOperation;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.entities.Vehicle;
+import com.marcos.backend.repositories.AccessibilityFeatureRepository;
+import com.marcos.backend.repositories.ChangeEventRepository;
+import com.marcos.backend.repositories.VehiclePlateRepository;
+import com.marcos.backend.utils.CsvReader;
+import com.marcos.backend.utils.PlateKey;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+// Importação em lote de Ônibus e Vans
+/*
+ * As linhas são gravadas em blocos de CHUNK_SIZE, cada bloco em sua própria
+ * transação. Os ids vêm da sequência (allocationSize = 50) e o Hibernate envia
+ * os inserts em lotes JDBC (hibernate.jdbc.batch_size), reescritos pelo driver
+ * do PostgreSQL em inserts de várias linhas (reWriteBatchedInserts).
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class BulkImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final AccessibilityFeatureRepository accessibilityFeatureRepository;
+    private final ChangeEventRepository changeEventRepository;
+    private final ResponseCoalescer responseCoalescer;
+    private final VehiclePlateRepository vehiclePlateRepository;
+
+    public <T extends Vehicle> BulkImportResult importAll(List<T> vehicles,
+            Function<T, Set<AccessibilityFeature>> features) {
+        Iterator<Supplier<T>> rows = vehicles.stream().<Supplier<T>>map(vehicle -> () -> vehicle).iterator();
+        return importRows(rows, features);
+    }
+
+    public <T extends Vehicle> BulkImportResult importCsv(Reader reader, Function<Map<String, String>, T> mapper,
+            Function<T, Set<AccessibilityFeature>> features) {
+        CsvReader csv = new CsvReader(reader);
+        Iterator<Supplier<T>> rows = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return csv.hasNext();
+            }
+
+            @Override
+            public Supplier<T> next() {
+                Map<String, String> record = csv.next();
+                return () -> mapper.apply(record);
+            }
+        };
+        return importRows(rows, features);
+    }
+
+    private <T extends Vehicle> BulkImportResult importRows(Iterator<Supplier<T>> rows,
+            Function<T, Set<AccessibilityFeature>> features) {
+        Set<Long> knownFeatureIds = accessibilityFeatureRepository.findAllIds();
+        Set<String> importedPlates = new HashSet<>();
+        List<BulkRowResult> results = new ArrayList<>();
+        int rowNumber = 0;
+
+        while (rows.hasNext()) {
+            List<T> accepted = new ArrayList<>();
+            List<Integer> acceptedRows = new ArrayList<>();
+
+            while (rows.hasNext() && accepted.size() < CHUNK_SIZE) {
+                rowNumber++;
+                try {
+                    T vehicle = rows.next().get();
+                    String error = validate(vehicle, features.apply(vehicle), knownFeatureIds, importedPlates);
+                    if (error != null) {
+                        results.add(BulkRowResult.rejected(rowNumber, error));
+                        continue;
+                    }
+                    accepted.add(vehicle);
+                    acceptedRows.add(rowNumber);
+                } catch (IllegalArgumentException e) {
+                    results.add(BulkRowResult.rejected(rowNumber, e.getMessage()));
+                }
+            }
+
+            rejectRegisteredPlates(accepted, acceptedRows, results);
+            results.addAll(persistChunk(accepted, acceptedRows, features));
+        }
+
+        results.sort(Comparator.comparingInt(BulkRowResult::row));
+        return BulkImportResult.of(results);
+    }
+
+    // Mesmas regras do cadastro individual, mais a existência dos Meios Acessíveis informados
+    // e a placa única dentro da própria importação
+    private String validate(Vehicle vehicle, Set<AccessibilityFeature> features, Set<Long> knownFeatureIds,
+            Set<String> importedPlates) {
+        if (vehicle == null || !vehicle.hasRequiredFields()) {
+            return "Campos obrigatórios ausentes";
+        }
+        String plateKey = PlateKey.of(vehicle.getLicensePlate());
+        if (plateKey != null && !importedPlates.add(plateKey)) {
+            return "Placa repetida na importação: " + vehicle.getLicensePlate();
+        }
+        if (features != null) {
+            for (AccessibilityFeature feature : features) {
+                if (feature == null || feature.getId() == null || !knownFeatureIds.contains(feature.getId())) {
+                    return "Meio Acessível inexistente: " + (feature == null ? null : feature.getId());
+                }
+            }
+        }
+        return null;
+    }
+
+    // Placas já cadastradas em uma consulta por bloco: rejeita só essas linhas, em vez de o
+    // unique_violation do gatilho derrubar o bloco inteiro
+    private <T extends Vehicle> void rejectRegisteredPlates(List<T> vehicles, List<Integer> rowNumbers,
+            List<BulkRowResult> results) {
+        Set<String> registered = vehiclePlateRepository.findRegistered(vehicles.stream()
+                .map(vehicle -> PlateKey.of(vehicle.getLicensePlate()))
+                .filter(Objects::nonNull)
+                .toList());
+        if (registered.isEmpty()) {
+            return;
+        }
+        for (int i = vehicles.size() - 1; i >= 0; i--) {
+            T vehicle = vehicles.get(i);
+            if (registered.contains(PlateKey.of(vehicle.getLicensePlate()))) {
+                results.add(BulkRowResult.rejected(rowNumbers.get(i), "Placa já cadastrada: "
+                        + vehicle.getLicensePlate()));
+                vehicles.remove(i);
+                rowNumbers.remove(i);
+            }
+        }
+    }
+
+    private <T extends Vehicle> List<BulkRowResult> persistChunk(List<T> vehicles, List<Integer> rowNumbers,
+            Function<T, Set<AccessibilityFeature>> features) {
+        if (vehicles.isEmpty()) {
+            return List.of();
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            List<Long> ids = transaction.execute(status -> {
+                List<Long> generated = new ArrayList<>(vehicles.size());
+                for (T vehicle : vehicles) {
+                    Set<AccessibilityFeature> vehicleFeatures = features.apply(vehicle);
+                    if (vehicleFeatures != null) {
+                        List<AccessibilityFeature> references = vehicleFeatures.stream()
+                                .map(feature -> entityManager.getReference(AccessibilityFeature.class, feature.getId()))
+                                .toList();
+                        vehicleFeatures.clear();
+                        vehicleFeatures.addAll(references);
+                    }
+                    entityManager.persist(vehicle);
+                    generated.add((Long) entityManager.getEntityManagerFactory()
+                            .getPersistenceUnitUtil().getIdentifier(vehicle));
+                }
+                entityManager.flush();
+                entityManager.clear();
+                // Eventos de mudança do bloco na mesma transação (um INSERT em lote)
+                changeEventRepository.appendAll(vehicles.stream()
+                        .map(vehicle -> ChangeEntity.of(AccessibilityFeatureIndex.typeOf(vehicle)))
+                        .toList(), generated, ChangeOperation.CREATED);
+                responseCoalescer.invalidateAfterCommit();
+                return generated;
+            });
+
+            List<BulkRowResult> results = new ArrayList<>(vehicles.size());
+            for (int i = 0; i < vehicles.size(); i++) {
+                results.add(BulkRowResult.imported(rowNumbers.get(i), ids.get(i)));
+            }
+            return results;
+        } catch (DataAccessException | PersistenceException e) {
+            String error = "Falha ao gravar o bloco: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            return rowNumbers.stream().map(row -> BulkRowResult.rejected(row, error)).toList();
+        }
+    }
+}
@@ -1,23 +1,62 @@
 package com.marcos.backend.services;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.marcos.backend.config.CacheConfig;
+import com.marcos.backend.config.MetricsConfig;
+import com.marcos.backend.config.PrimaryReads;
+import com.marcos.backend.config.SearchProperties;
+import com.marcos.backend.dtos.AccessibilityFeatureSummary;
+import com.marcos.backend.dtos.ChangeEntity;
+import com.marcos.backend.dtos.ChangeOperation;
+import com.marcos.backend.dtos.CursorPage;
+import com.marcos.backend.dtos.BusSummary;
+import com.marcos.backend.dtos.VehicleFeatureRow;
+import com.marcos.backend.entities.AccessibilityFeature;
 import com.marcos.backend.entities.Bus;
+import com.marcos.backend.exceptions.DuplicatePlateException;
+import com.marcos.backend.exceptions.PreconditionFailedException;
+import com.marcos.backend.repositories.AccessibilityFeatureRepository;
+import com.marcos.backend.repositories.ChangeEventRepository;
 import com.marcos.backend.repositories.BusRepository;
+import com.marcos.backend.utils.CursorCodec;
+import com.marcos.backend.utils.SearchText;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BusService {
 
     private final BusRepository busRepository;
+    private final EntityManager entityManager;
+    private final AccessibilityFeatureRepository accessibilityFeatureRepository;
+    private final ChangeEventRepository changeEventRepository;
+    private final ResponseCoalescer responseCoalescer;
+    private final SearchProperties searchProperties;
 
     public Page<Bus> findAll(Pageable pageable) {
         return busRepository.findAll(pageable);
@@ -31,30 +70,185 @@ public class BusService {
         return busRepository.searchByBrandOrModel(search, pageable);
     }
 
+    // Listagem sem carregar entidades: 1 consulta da página, 1 de contagem e 1 dos Meios Acessíveis
+    public Page<BusSummary> searchSummaries(String search, Pageable pageable) {
+        Page<BusSummary> page;
+        if (search == null) {
+            page = busRepository.findAllSummaries(pageable);
+        } else if (searchProperties.isTrigram()) {
+            page = searchSummariesByRelevance(search, pageable);
+        } else {
+            page = busRepository.searchSummariesByBrandOrModel(search, pageable);
+        }
+
+        Map<Long, List<AccessibilityFeatureSummary>> features = featuresOf(page.getContent());
+        return page.map(summary -> summary.withAccessibilityFeatures(
+                features.getOrDefault(summary.id(), List.of())));
+    }
+
+    // Listagem por cursor: busca size + 1 registros para saber se há próxima página
+    // No modo TRIGRAM filtra como a pesquisa por relevância, mas sempre em ordem de id (chave do cursor)
+    public CursorPage<BusSummary> findSummariesAfter(String search, String cursor, int size) {
+        long afterId = CursorCodec.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        List<BusSummary> rows;
+        if (search == null) {
+            rows = busRepository.findSummariesAfter(afterId, limit);
+        } else if (searchProperties.isTrigram()) {
+            rows = busRepository.searchNormalizedSummariesAfter(SearchText.normalize(search), afterId, limit);
+        } else {
+            rows = busRepository.searchSummariesAfter(search, afterId, limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<BusSummary> content = hasNext ? rows.subList(0, size) : rows;
+        Map<Long, List<AccessibilityFeatureSummary>> features = featuresOf(content);
+        List<BusSummary> withFeatures = content.stream()
+                .map(summary -> summary.withAccessibilityFeatures(features.getOrDefault(summary.id(), List.of())))
+                .toList();
+
+        String nextCursor = hasNext ? CursorCodec.encode(content.get(content.size() - 1).id()) : null;
+        return new CursorPage<>(withFeatures, size, nextCursor, hasNext);
+    }
+
+    // Meios Acessíveis de todos os veículos da página em uma única consulta
+    private Map<Long, List<AccessibilityFeatureSummary>> featuresOf(List<BusSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = summaries.stream().map(BusSummary::id).toList();
+        return VehicleFeatureRow.groupByVehicle(busRepository.findFeatureRowsByBusIds(ids));
+    }
+
+    // Modo TRIGRAM: ids ordenados por relevância e depois os resumos desses ids
+    private Page<BusSummary> searchSummariesByRelevance(String search, Pageable pageable) {
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<Long> ids = busRepository.searchIdsByRelevance(SearchText.normalize(search), unsorted);
+        Map<Long, BusSummary> summaries = ids.isEmpty() ? Map.of()
+                : busRepository.findSummariesByIds(ids.getContent()).stream()
+                        .collect(Collectors.toMap(BusSummary::id, Function.identity()));
+        return ids.map(summaries::get);
+    }
+
+    // Resultado em cache com os Meios Acessíveis já carregados; removido em save/update/deleteById
+    // Lido sempre do primário: uma réplica atrasada devolveria ao cache o registro antigo
+    @Cacheable(cacheNames = CacheConfig.BUSES, key = "#id")
     public Optional<Bus> findById(Long id) {
-        return busRepository.findById(id);
+        return PrimaryReads.call(() -> busRepository.findWithFeaturesById(id));
+    }
+
+    // Vários registros em uma consulta, na ordem dos ids pedidos; ids inexistentes ficam de fora
+    public List<Bus> findAllById(Collection<Long> ids) {
+        Map<Long, Bus> found = busRepository.findWithFeaturesByIdIn(ids).stream()
+                .collect(Collectors.toMap(Bus::getId, Function.identity()));
+        return ids.stream().distinct().map(found::get).filter(Objects::nonNull).toList();
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BUSES, key = "#result.id")
     public Bus save(Bus bus) {
-        return busRepository.save(bus);
+        if (bus.getAccessibilityFeatures() != null) {
+            bus.setAccessibilityFeatures(featureReferences(bus.getAccessibilityFeatures()));
+        }
+        Bus saved = withUniquePlate(bus.getLicensePlate(), () -> busRepository.saveAndFlush(bus));
+        changeEventRepository.append(ChangeEntity.BUS, saved.getId(), ChangeOperation.CREATED, saved.getVersion());
+        responseCoalescer.invalidateAfterCommit();
+        return saved;
+    }
+
+    // Meios Acessíveis gerenciados em uma consulta: o corpo traz só {"id"}, sem a versão
+    private Set<AccessibilityFeature> featureReferences(Collection<AccessibilityFeature> features) {
+        List<Long> ids = features.stream()
+                .filter(feature -> feature != null && feature.getId() != null)
+                .map(AccessibilityFeature::getId)
+                .toList();
+        return new LinkedHashSet<>(accessibilityFeatureRepository.findAllById(ids));
     }
 
+    // Um único UPDATE (sem existsById + merge); os Meios Acessíveis são sincronizados por diferença
+    // e a resposta é relida do banco (uma consulta, com os Meios Acessíveis)
     @Transactional
-    public Bus update(Long id, Bus bus) {
-        if (!busRepository.existsById(id)) {
-            throw new RuntimeException("Ônibus não encontrado com id: " + id);
+    @CacheEvict(cacheNames = CacheConfig.BUSES, key = "#id")
+    public Bus update(Long id, Bus bus, Long expectedVersion) {
+        bus.setSearchText(SearchText.of(bus.getBrand(), bus.getModel()));
+        Long version = withUniquePlate(bus.getLicensePlate(),
+                () -> busRepository.updateById(id, bus, expectedVersion))
+                .orElseThrow(() -> writeFailure(id, expectedVersion));
+        changeEventRepository.append(ChangeEntity.BUS, id, ChangeOperation.UPDATED, version);
+        responseCoalescer.invalidateAfterCommit();
+        replaceFeatures(id, bus.getAccessibilityFeatures() == null ? List.of() : bus.getAccessibilityFeatures());
+        return reload(id);
+    }
+
+    // Estado gravado, com os Meios Acessíveis completos (nome, versão) e só os que foram ligados
+    /*
+     * O UPDATE é nativo: uma instância do mesmo id já presente na sessão (ex.: criada
+     * antes no mesmo lote de /batch) estaria desatualizada, por isso é descartada antes.
+     */
+    private Bus reload(Long id) {
+        entityManager.detach(entityManager.getReference(Bus.class, id));
+        return busRepository.findWithFeaturesById(id)
+                .orElseThrow(() -> new RuntimeException("Ônibus não encontrado com id: " + id));
+    }
+
+    // Atualização parcial: só os campos informados; accessibilityFeatures nulo mantém os atuais
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BUSES, key = "#id")
+    public Long patch(Long id, Bus bus, Long expectedVersion) {
+        if (bus.getBrand() != null || bus.getModel() != null) {
+            busRepository.findBrandAndModelForUpdate(id).ifPresent(current -> bus.setSearchText(SearchText.of(
+                    bus.getBrand() != null ? bus.getBrand() : current.getBrand(),
+                    bus.getModel() != null ? bus.getModel() : current.getModel())));
+        }
+        Long version = withUniquePlate(bus.getLicensePlate(),
+                () -> busRepository.patchById(id, bus, expectedVersion))
+                .orElseThrow(() -> writeFailure(id, expectedVersion));
+        changeEventRepository.append(ChangeEntity.BUS, id, ChangeOperation.UPDATED, version);
+        responseCoalescer.invalidateAfterCommit();
+        if (bus.getAccessibilityFeatures() != null) {
+            replaceFeatures(id, bus.getAccessibilityFeatures());
         }
-        bus.setId(id);
-        return busRepository.save(bus);
+        return version;
     }
 
     @Transactional
-    public void deleteById(Long id) {
-        if (!busRepository.existsById(id)) {
-            throw new RuntimeException("Ônibus não encontrado com id: " + id);
+    @CacheEvict(cacheNames = CacheConfig.BUSES, key = "#id")
+    public void deleteById(Long id, Long expectedVersion) {
+        if (busRepository.deleteByIdReturningCount(id, expectedVersion) == 0) {
+            throw writeFailure(id, expectedVersion);
+        }
+        changeEventRepository.append(ChangeEntity.BUS, id, ChangeOperation.DELETED, null);
+        responseCoalescer.invalidateAfterCommit();
+    }
+
+    // Só no caminho de erro: distingue id inexistente de versão desatualizada (If-Match)
+    private RuntimeException writeFailure(Long id, Long expectedVersion) {
+        if (expectedVersion != null && busRepository.existsById(id)) {
+            return new PreconditionFailedException("Ônibus", id);
+        }
+        return new RuntimeException("Ônibus não encontrado com id: " + id);
+    }
+
+    // Placa repetida falha no próprio INSERT/UPDATE (gatilho de vehicle_plates) e vira DuplicatePlateException
+    private <T> T withUniquePlate(String licensePlate, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            throw DuplicatePlateException.isCause(e) ? new DuplicatePlateException(licensePlate) : e;
+        }
+    }
+
+    private void replaceFeatures(Long id, Collection<AccessibilityFeature> features) {
+        List<Long> featureIds = features.stream()
+                .filter(feature -> feature != null && feature.getId() != null)
+                .map(AccessibilityFeature::getId)
+                .toList();
+        if (featureIds.isEmpty()) {
+            busRepository.deleteAllFeatureLinks(id);
+            return;
         }
-        busRepository.deleteById(id);
+        busRepository.deleteFeatureLinksNotIn(id, featureIds);
+        busRepository.insertMissingFeatureLinks(id, featureIds);
     }
 
     public boolean existsById(Long id) {
@@ -0,0 +1,99 @@
+package com.marcos.backend.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.marcos.backend.config.OutboxProperties;
+import com.marcos.backend.dtos.ChangeEvent;
+import com.marcos.backend.repositories.ChangeEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Publicação da outbox em segundo plano
+/*
+ * A cada fleet.outbox.publish-interval, em lotes de batchSize (um lote por transação):
+ * numera os eventos pendentes (position), entrega ao ChangeEventSink e faz o commit.
+ * Falha no destino desfaz o lote, que volta na próxima rodada.
+ * Só uma instância publica por vez (lock consultivo em ChangeEventRepository).
+ */
+@Service
+public class ChangeEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventPublisher.class);
+
+    private final ChangeEventRepository changeEventRepository;
+    private final OutboxProperties properties;
+    private final ObjectProvider<ChangeEventSink> sink;
+    private final TransactionTemplate transaction;
+    private final Counter published;
+
+    public ChangeEventPublisher(ChangeEventRepository changeEventRepository, OutboxProperties properties,
+            ObjectProvider<ChangeEventSink> sink, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.changeEventRepository = changeEventRepository;
+        this.properties = properties;
+        this.sink = sink;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.published = meterRegistry.counter("fleet.outbox.published");
+    }
+
+    @Scheduled(fixedDelayString = "${fleet.outbox.publish-interval:1s}")
+    public void publishPending() {
+        if (!properties.isPublisherEnabled()) {
+            return;
+        }
+        try {
+            Integer count;
+            do {
+                count = transaction.execute(status -> publishBatch());
+            } while (count != null && count == properties.getBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao publicar eventos de mudança; nova tentativa na próxima rodada", e);
+        }
+    }
+
+    private int publishBatch() {
+        if (!changeEventRepository.tryLockPublication()) {
+            return 0;
+        }
+        List<ChangeEvent> pending = changeEventRepository.findPending(properties.getBatchSize());
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> positions = changeEventRepository.nextPositions(pending.size());
+        List<ChangeEvent> events = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            events.add(pending.get(i).withPosition(positions.get(i)));
+        }
+        changeEventRepository.assignPositions(events);
+
+        ChangeEventSink target = sink.getIfAvailable();
+        if (target != null) {
+            try {
+                target.publish(events);
+            } catch (Exception e) {
+                throw new IllegalStateException("Destino dos eventos indisponível", e);
+            }
+        }
+        published.increment(events.size());
+        return events.size();
+    }
+
+    @Scheduled(fixedDelayString = "${fleet.outbox.cleanup-interval:1h}")
+    public void deleteExpired() {
+        int deleted = changeEventRepository.deletePublishedBefore(properties.getRetention());
+        if (deleted > 0) {
+            log.info("{} eventos de mudança removidos (mais antigos que {})", deleted, properties.getRetention());
+        }
+    }
+}
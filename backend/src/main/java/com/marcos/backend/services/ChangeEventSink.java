@@ -0,0 +1,15 @@
+package com.marcos.backend.services;
+
+import java.util.List;
+
+import com.marcos.backend.dtos.ChangeEvent;
+
+// Destino dos eventos publicados pela outbox (fleet.outbox.sink)
+/*
+ * Chamado dentro da transação de publicação: se lançar exceção, os eventos
+ * continuam pendentes e são reenviados na próxima rodada (entrega "pelo menos uma vez").
+ */
+public interface ChangeEventSink {
+
+    void publish(List<ChangeEvent> events) throws Exception;
+}
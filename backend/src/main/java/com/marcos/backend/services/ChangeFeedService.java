@@ -0,0 +1,42 @@
+package com.marcos.backend.services;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.marcos.backend.config.MetricsConfig;
+import com.marcos.backend.dtos.ChangeEvent;
+import com.marcos.backend.dtos.ChangeFeed;
+import com.marcos.backend.repositories.ChangeEventRepository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ChangeFeedService {
+
+    private final ChangeEventRepository changeEventRepository;
+
+    // Eventos publicados depois de since; nulo quando since é anterior à retenção (ressincronizar)
+    /*
+     * As positions podem ter buracos (lotes desfeitos), por isso a perda é detectada
+     * pela maior position removida, e não pela distância até o primeiro evento.
+     * A conferência vem depois da leitura: uma limpeza entre as duas consultas
+     * também resulta em 410.
+     */
+    public ChangeFeed changesSince(long since, int limit) {
+        List<ChangeEvent> rows = changeEventRepository.findSince(since, limit + 1);
+        if (since > 0 && since < changeEventRepository.purgedThrough()) {
+            return null;
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<ChangeEvent> changes = hasMore ? rows.subList(0, limit) : rows;
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).position();
+        return new ChangeFeed(changes, nextSince, hasMore);
+    }
+}
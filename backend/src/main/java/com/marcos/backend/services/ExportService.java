@@ -0,0 +1,104 @@
+package com.marcos.backend.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.config.MetricsConfig;
+import com.marcos.backend.dtos.AccessibilityFeatureSummary;
+import com.marcos.backend.dtos.BusSummary;
+import com.marcos.backend.dtos.ExportFormat;
+import com.marcos.backend.dtos.VanSummary;
+import com.marcos.backend.dtos.VehicleFeatureRow;
+import com.marcos.backend.repositories.BusRepository;
+import com.marcos.backend.repositories.VanRepository;
+import com.marcos.backend.utils.VehicleCsv;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+// Exportação completa da frota em NDJSON ou CSV
+/*
+ * Os veículos são lidos por um cursor do banco (Stream com fetch size) e
+ * escritos direto na resposta. A cada CHUNK_SIZE linhas os Meios Acessíveis
+ * do bloco são buscados em uma única consulta, e o resultado é enviado ao cliente,
+ * então a memória usada não depende do tamanho da tabela.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final BusRepository busRepository;
+    private final VanRepository vanRepository;
+    private final ObjectMapper objectMapper;
+
+    public void exportBuses(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<BusSummary> buses = busRepository.streamAllSummaries()) {
+            export(buses, format, out, VehicleCsv.BUS_HEADER, VehicleCsv::toCsvLine, BusSummary::id,
+                    busRepository::findFeatureRowsByBusIds, BusSummary::withAccessibilityFeatures);
+        }
+    }
+
+    public void exportVans(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<VanSummary> vans = vanRepository.streamAllSummaries()) {
+            export(vans, format, out, VehicleCsv.VAN_HEADER, VehicleCsv::toCsvLine, VanSummary::id,
+                    vanRepository::findFeatureRowsByVanIds, VanSummary::withAccessibilityFeatures);
+        }
+    }
+
+    private <T> void export(Stream<T> rows, ExportFormat format, OutputStream out, String csvHeader,
+            Function<T, String> csvLine, Function<T, Long> id,
+            Function<List<Long>, List<VehicleFeatureRow>> featureRows,
+            BiFunction<T, List<AccessibilityFeatureSummary>, T> withFeatures) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(csvHeader);
+            writer.write('\n');
+        }
+
+        Iterator<T> iterator = rows.iterator();
+        List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                Map<Long, List<AccessibilityFeatureSummary>> features = VehicleFeatureRow
+                        .groupByVehicle(featureRows.apply(chunk.stream().map(id).toList()));
+                for (T row : chunk) {
+                    T complete = withFeatures.apply(row, features.getOrDefault(id.apply(row), List.of()));
+                    writer.write(format == ExportFormat.CSV ? csvLine.apply(complete) : toJson(complete));
+                    writer.write('\n');
+                }
+                writer.flush();
+                chunk.clear();
+            }
+        }
+        writer.flush();
+    }
+
+    private String toJson(Object row) {
+        try {
+            return objectMapper.writeValueAsString(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.marcos.backend.services;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.config.OutboxProperties;
+import com.marcos.backend.dtos.ChangeEvent;
+
+import lombok.RequiredArgsConstructor;
+
+// Destino local: acrescenta os eventos a um arquivo NDJSON (fleet.outbox.file)
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "fleet.outbox", name = "sink", havingValue = "file")
+public class FileChangeEventSink implements ChangeEventSink {
+
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+    // Uma gravação por vez; Lock e não synchronized, que prende a thread portadora de uma thread virtual
+    private final Lock writing = new ReentrantLock();
+
+    @Override
+    public void publish(List<ChangeEvent> events) throws IOException {
+        writing.lock();
+        try (Writer writer = Files.newBufferedWriter(properties.getFile(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (ChangeEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.write('\n');
+            }
+        } finally {
+            writing.unlock();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.marcos.backend.services;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.marcos.backend.config.StatsProperties;
+import com.marcos.backend.dtos.FeatureCoverage;
+import com.marcos.backend.dtos.FleetStatRow;
+import com.marcos.backend.dtos.FleetStats;
+import com.marcos.backend.dtos.VehicleType;
+import com.marcos.backend.dtos.VehicleTypeStats;
+import com.marcos.backend.repositories.FleetStatsRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Estatísticas da frota a partir dos contadores incrementais (fleet_stats)
+/*
+ * Os gatilhos da V9 aplicam cada escrita de Ônibus, Vans e ligações com Meios
+ * Acessíveis nos contadores, na mesma transação. GET /stats só lê os contadores:
+ * o custo depende do número de marcas e Meios Acessíveis, não do tamanho da frota.
+ * A cada fleet.stats.reconcile-interval os contadores são conferidos contra as
+ * tabelas; divergências (ex.: TRUNCATE, carga direta no banco) são corrigidas e
+ * contadas em fleet.stats.drift. A conferência roda em uma instância por vez
+ * (lock consultivo) e não segura as escritas de veículos durante o recálculo.
+ */
+@Service
+public class FleetStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(FleetStatsService.class);
+
+    private final FleetStatsRepository fleetStatsRepository;
+    private final AccessibilityFeatureService accessibilityFeatureService;
+    private final StatsProperties properties;
+    private final TransactionTemplate transaction;
+    private final Counter drift;
+
+    public FleetStatsService(FleetStatsRepository fleetStatsRepository,
+            AccessibilityFeatureService accessibilityFeatureService, StatsProperties properties,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.fleetStatsRepository = fleetStatsRepository;
+        this.accessibilityFeatureService = accessibilityFeatureService;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.drift = meterRegistry.counter("fleet.stats.drift");
+    }
+
+    @Transactional(readOnly = true)
+    public FleetStats stats() {
+        Map<VehicleType, Map<String, Long>> totals = new EnumMap<>(VehicleType.class);
+        Map<VehicleType, Map<String, Long>> brandsByType = new EnumMap<>(VehicleType.class);
+        Map<Long, Map<VehicleType, Long>> featuresByType = new HashMap<>();
+        for (VehicleType type : VehicleType.values()) {
+            totals.put(type, new HashMap<>());
+            brandsByType.put(type, new TreeMap<>());
+        }
+        for (FleetStatRow row : fleetStatsRepository.findAll()) {
+            switch (row.metric()) {
+                case "brand" -> brandsByType.get(row.type()).put(row.key(), row.value());
+                case "feature" -> featuresByType.computeIfAbsent(Long.valueOf(row.key()),
+                        id -> new EnumMap<>(VehicleType.class)).put(row.type(), row.value());
+                default -> totals.get(row.type()).put(row.metric(), row.value());
+            }
+        }
+
+        Map<VehicleType, VehicleTypeStats> types = new EnumMap<>(VehicleType.class);
+        Map<String, Long> brands = new TreeMap<>();
+        long vehicles = 0;
+        long seats = 0;
+        long withWifi = 0;
+        long withAirConditioning = 0;
+        for (VehicleType type : VehicleType.values()) {
+            Map<String, Long> counts = totals.get(type);
+            VehicleTypeStats typeStats = new VehicleTypeStats(counts.getOrDefault("vehicles", 0L),
+                    counts.getOrDefault("seats", 0L), counts.getOrDefault("wifi", 0L),
+                    counts.getOrDefault("air_conditioning", 0L), counts.getOrDefault("storage_space", 0L),
+                    brandsByType.get(type));
+            types.put(type, typeStats);
+            brandsByType.get(type).forEach((brand, count) -> brands.merge(brand, count, Long::sum));
+            vehicles += typeStats.vehicles();
+            seats += typeStats.seats();
+            withWifi += typeStats.withWifi();
+            withAirConditioning += typeStats.withAirConditioning();
+        }
+
+        long fleetSize = vehicles;
+        List<FeatureCoverage> features = accessibilityFeatureService.findAll().stream()
+                .map(feature -> {
+                    Map<VehicleType, Long> byType = featuresByType.getOrDefault(feature.getId(), Map.of());
+                    long covered = byType.values().stream().mapToLong(Long::longValue).sum();
+                    return new FeatureCoverage(feature.getId(), feature.getName(), covered,
+                            share(covered, fleetSize), byType);
+                })
+                .toList();
+
+        VehicleTypeStats vans = types.get(VehicleType.VAN);
+        return new FleetStats(vehicles, seats, share(withWifi, vehicles), share(withAirConditioning, vehicles),
+                share(vans.withStorageSpace(), vans.vehicles()), brands, types, features);
+    }
+
+    @Scheduled(initialDelayString = "${fleet.stats.reconcile-interval:1h}",
+            fixedDelayString = "${fleet.stats.reconcile-interval:1h}")
+    public void reconcile() {
+        if (!properties.isReconcileEnabled()) {
+            return;
+        }
+        try {
+            // Só uma instância confere por vez; as outras pulam a rodada
+            Integer fixed = transaction.execute(status -> fleetStatsRepository.tryLockReconcile()
+                    ? fleetStatsRepository.reconcile()
+                    : 0);
+            if (fixed != null && fixed > 0) {
+                drift.increment(fixed);
+                log.warn("{} contadores de /stats divergiam das tabelas e foram corrigidos", fixed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha na conferência dos contadores de /stats; nova tentativa na próxima rodada", e);
+        }
+    }
+
+    private static double share(long part, long total) {
+        return total == 0 ? 0 : (double) part / total;
+    }
+}
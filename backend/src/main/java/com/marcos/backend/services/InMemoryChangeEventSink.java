@@ -0,0 +1,39 @@
+package com.marcos.backend.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.marcos.backend.config.OutboxProperties;
+import com.marcos.backend.dtos.ChangeEvent;
+
+// Destino local: guarda os últimos eventos em memória (desenvolvimento e testes)
+@Component
+@ConditionalOnProperty(prefix = "fleet.outbox", name = "sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryChangeEventSink implements ChangeEventSink {
+
+    private final int capacity;
+    private final Deque<ChangeEvent> events = new ArrayDeque<>();
+
+    public InMemoryChangeEventSink(OutboxProperties properties) {
+        this.capacity = properties.getMemoryCapacity();
+    }
+
+    @Override
+    public synchronized void publish(List<ChangeEvent> published) {
+        for (ChangeEvent event : published) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    public synchronized List<ChangeEvent> recent() {
+        return new ArrayList<>(events);
+    }
+}
@@ -0,0 +1,339 @@
+package com.marcos.backend.services;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.config.LiveFeedProperties;
+import com.marcos.backend.dtos.AccessibilityFeatureSummary;
+import com.marcos.backend.dtos.BusSummary;
+import com.marcos.backend.dtos.ChangeEntity;
+import com.marcos.backend.dtos.ChangeEvent;
+import com.marcos.backend.dtos.ChangeOperation;
+import com.marcos.backend.dtos.LiveDelta;
+import com.marcos.backend.dtos.LiveFeedFilter;
+import com.marcos.backend.dtos.VanSummary;
+import com.marcos.backend.dtos.VehicleFeatureRow;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.repositories.AccessibilityFeatureRepository;
+import com.marcos.backend.repositories.BusRepository;
+import com.marcos.backend.repositories.ChangeEventRepository;
+import com.marcos.backend.repositories.VanRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Feed ao vivo (Server-Sent Events) a partir dos eventos publicados da outbox
+/*
+ * Cada instância lê os eventos novos (position > última lida) a cada pollInterval,
+ * carrega o estado atual dos registros alterados uma única vez por rodada e
+ * serializa cada mudança uma vez; os clientes recebem referências ao mesmo JSON.
+ *
+ * Cada cliente tem uma fila limitada (bufferSize) esvaziada por um pool pequeno
+ * de threads de envio. O cliente lento que enche a fila é desconectado; o
+ * EventSource reconecta com Last-Event-ID e recebe o que perdeu a partir das
+ * últimas replaySize mudanças, ou o evento "resync" (recarregar as listas)
+ * quando o ponto pedido já saiu dessa janela.
+ *
+ * Um veículo alterado que deixa de atender ao filtro de um cliente (outra
+ * marca, Meio Acessível removido) chega a esse cliente como remoção, sem
+ * dados, para sair da lista dele. Não se guarda o que cada cliente já
+ * recebeu: quem nunca viu o veículo recebe uma remoção que não muda nada.
+ */
+@Service
+public class LiveFeedService implements DisposableBean {
+
+    private static final int POLL_LIMIT = 1000;
+
+    // removal: a mesma mudança como remoção, para clientes cujo filtro o veículo deixou de atender
+    private record Outgoing(String name, LiveDelta delta, String json, Outgoing removal) {
+
+        private Outgoing(String name, LiveDelta delta, String json) {
+            this(name, delta, json, null);
+        }
+    }
+
+    private static final Outgoing HEARTBEAT = new Outgoing(null, null, null);
+    private static final Outgoing RESYNC = new Outgoing("resync", null, "{}");
+
+    private static final class Client {
+
+        private final SseEmitter emitter;
+        private final LiveFeedFilter filter;
+        private final BlockingQueue<Outgoing> queue;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Client(SseEmitter emitter, LiveFeedFilter filter, int bufferSize) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    private final ChangeEventRepository changeEventRepository;
+    private final BusRepository busRepository;
+    private final VanRepository vanRepository;
+    private final AccessibilityFeatureRepository accessibilityFeatureRepository;
+    private final ObjectMapper objectMapper;
+    private final LiveFeedProperties properties;
+    private final TransactionTemplate transaction;
+    private final ExecutorService sender;
+    private final Counter dropped;
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    // Protegidos por this: janela de reenvio, position anterior a ela e última position lida
+    /*
+     * As positions podem ter buracos (lotes de publicação desfeitos): o limite do
+     * reenvio é a position que saiu da janela, e não a primeira da janela menos 1.
+     */
+    private final Deque<Outgoing> recent = new ArrayDeque<>();
+    private long replayFloor = -1;
+    private long lastPosition = -1;
+
+    public LiveFeedService(ChangeEventRepository changeEventRepository, BusRepository busRepository,
+            VanRepository vanRepository, AccessibilityFeatureRepository accessibilityFeatureRepository,
+            ObjectMapper objectMapper, LiveFeedProperties properties, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.changeEventRepository = changeEventRepository;
+        this.busRepository = busRepository;
+        this.vanRepository = vanRepository;
+        this.accessibilityFeatureRepository = accessibilityFeatureRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        // Leitura no primário (transação de escrita): a réplica pode ainda não ter a mudança
+        this.transaction = new TransactionTemplate(transactionManager);
+
+        AtomicInteger threads = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(properties.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "live-feed-sender-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dropped = meterRegistry.counter("fleet.live.dropped");
+        meterRegistry.gaugeCollectionSize("fleet.live.clients", List.of(), clients);
+    }
+
+    // Nulo quando a instância já está no limite de conexões
+    public SseEmitter subscribe(LiveFeedFilter filter, Long lastEventId) {
+        if (clients.size() >= properties.getMaxClients()) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(properties.getConnectionTimeout().toMillis());
+        Client client = new Client(emitter, filter, properties.getBufferSize());
+        emitter.onCompletion(() -> close(client));
+        emitter.onTimeout(() -> close(client));
+        emitter.onError(error -> close(client));
+
+        synchronized (this) {
+            if (lastEventId != null) {
+                replay(client, lastEventId);
+            }
+            clients.add(client);
+        }
+        return emitter;
+    }
+
+    private void replay(Client client, long lastEventId) {
+        if (lastEventId < replayFloor) {
+            deliver(client, RESYNC);
+            return;
+        }
+        for (Outgoing outgoing : recent) {
+            if (outgoing.delta().position() > lastEventId) {
+                deliver(client, outgoing);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fleet.live.poll-interval:500ms}")
+    public void poll() {
+        if (lastPosition < 0) {
+            lastPosition = changeEventRepository.maxPosition();
+            replayFloor = lastPosition;
+            return;
+        }
+        List<ChangeEvent> events;
+        do {
+            events = changeEventRepository.findSince(lastPosition, POLL_LIMIT);
+            if (events.isEmpty()) {
+                return;
+            }
+            long last = events.get(events.size() - 1).position();
+            // Sem clientes não há o que enviar; quem reconectar depois recebe "resync"
+            List<Outgoing> outgoing = clients.isEmpty() ? List.of() : toOutgoing(events);
+            synchronized (this) {
+                if (outgoing.isEmpty()) {
+                    recent.clear();
+                    replayFloor = last;
+                }
+                for (Outgoing change : outgoing) {
+                    recent.addLast(change);
+                    if (recent.size() > properties.getReplaySize()) {
+                        replayFloor = recent.removeFirst().delta().position();
+                    }
+                    for (Client client : clients) {
+                        deliver(client, change);
+                    }
+                }
+                lastPosition = last;
+            }
+        } while (events.size() == POLL_LIMIT);
+    }
+
+    @Scheduled(fixedDelayString = "${fleet.live.heartbeat-interval:15s}")
+    public void heartbeat() {
+        for (Client client : clients) {
+            deliver(client, HEARTBEAT);
+        }
+    }
+
+    private void deliver(Client client, Outgoing outgoing) {
+        if (client.closed) {
+            return;
+        }
+        if (outgoing.delta() != null && !client.filter.matches(outgoing.delta())) {
+            if (outgoing.removal() == null || !client.filter.matches(outgoing.removal().delta())) {
+                return;
+            }
+            outgoing = outgoing.removal();
+        }
+        if (!client.queue.offer(outgoing)) {
+            dropped.increment();
+            close(client);
+            client.emitter.complete();
+            return;
+        }
+        if (client.sending.compareAndSet(false, true)) {
+            sender.execute(() -> send(client));
+        }
+    }
+
+    private void send(Client client) {
+        try {
+            Outgoing outgoing;
+            while (!client.closed && (outgoing = client.queue.poll()) != null) {
+                if (outgoing == HEARTBEAT) {
+                    client.emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    SseEmitter.SseEventBuilder event = SseEmitter.event().name(outgoing.name()).data(outgoing.json());
+                    if (outgoing.delta() != null) {
+                        event.id(String.valueOf(outgoing.delta().position()));
+                    }
+                    client.emitter.send(event);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            close(client);
+        } finally {
+            client.sending.set(false);
+            if (!client.closed && !client.queue.isEmpty() && client.sending.compareAndSet(false, true)) {
+                sender.execute(() -> send(client));
+            }
+        }
+    }
+
+    private void close(Client client) {
+        client.closed = true;
+        clients.remove(client);
+        client.queue.clear();
+    }
+
+    // Estado atual dos registros alterados: uma consulta por tipo para a rodada inteira
+    private List<Outgoing> toOutgoing(List<ChangeEvent> events) {
+        Map<ChangeEntity, List<Long>> ids = events.stream()
+                .filter(event -> event.operation() != ChangeOperation.DELETED)
+                .collect(Collectors.groupingBy(ChangeEvent::entity,
+                        Collectors.mapping(ChangeEvent::entityId, Collectors.toList())));
+
+        Map<ChangeEntity, Map<Long, ?>> current = transaction.execute(status -> Map.of(
+                ChangeEntity.BUS, buses(ids.getOrDefault(ChangeEntity.BUS, List.of())),
+                ChangeEntity.VAN, vans(ids.getOrDefault(ChangeEntity.VAN, List.of())),
+                ChangeEntity.ACCESSIBILITY_FEATURE, features(ids.getOrDefault(ChangeEntity.ACCESSIBILITY_FEATURE,
+                        List.of()))));
+
+        List<Outgoing> outgoing = new ArrayList<>(events.size());
+        for (ChangeEvent event : events) {
+            Object data = event.operation() == ChangeOperation.DELETED ? null
+                    : current.get(event.entity()).get(event.entityId());
+            LiveDelta delta = new LiveDelta(event.position(), event.entity(), event.entityId(), event.operation(),
+                    event.version(), data);
+            Outgoing removal = null;
+            if (event.operation() == ChangeOperation.UPDATED && event.entity() != ChangeEntity.ACCESSIBILITY_FEATURE) {
+                removal = change(new LiveDelta(event.position(), event.entity(), event.entityId(),
+                        ChangeOperation.DELETED, event.version(), null), null);
+            }
+            outgoing.add(change(delta, removal));
+        }
+        return outgoing;
+    }
+
+    private Outgoing change(LiveDelta delta, Outgoing removal) {
+        try {
+            return new Outgoing("change", delta, objectMapper.writeValueAsString(delta), removal);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<Long, BusSummary> buses(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<AccessibilityFeatureSummary>> features = VehicleFeatureRow.groupByVehicle(
+                busRepository.findFeatureRowsByBusIds(ids));
+        return busRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(BusSummary::id,
+                        bus -> bus.withAccessibilityFeatures(features.getOrDefault(bus.id(), List.of()))));
+    }
+
+    private Map<Long, VanSummary> vans(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<AccessibilityFeatureSummary>> features = VehicleFeatureRow.groupByVehicle(
+                vanRepository.findFeatureRowsByVanIds(ids));
+        return vanRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(VanSummary::id,
+                        van -> van.withAccessibilityFeatures(features.getOrDefault(van.id(), List.of()))));
+    }
+
+    private Map<Long, AccessibilityFeatureSummary> features(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return accessibilityFeatureRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(AccessibilityFeature::getId,
+                        feature -> new AccessibilityFeatureSummary(feature.getId(), feature.getName())));
+    }
+
+    @Override
+    public void destroy() {
+        for (Client client : clients) {
+            close(client);
+            client.emitter.complete();
+        }
+        sender.shutdownNow();
+    }
+}
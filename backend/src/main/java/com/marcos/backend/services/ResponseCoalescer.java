@@ -0,0 +1,153 @@
+package com.marcos.backend.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.config.CoalescingProperties;
+import com.marcos.backend.config.PrimaryReads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Coalescência (single-flight) de listagens idênticas simultâneas, já serializadas em JSON
+/*
+ * A primeira requisição de uma chave executa a consulta e serializa a resposta;
+ * as idênticas que chegam enquanto ela roda esperam e recebem o mesmo byte[]
+ * (uma ida ao banco e uma serialização). Com fleet.coalescing.reuse-window a
+ * resposta pronta ainda atende as que chegam logo depois.
+ *
+ * Cada escrita confirmada (invalidateAfterCommit) avança a geração: requisições
+ * novas não se juntam a execuções iniciadas antes da escrita, então quem acabou
+ * de gravar sempre lê o próprio dado. Requisições que leem do primário
+ * (PrimaryReads.current(), como quem escreveu há pouco com réplicas) têm execuções
+ * à parte: nunca recebem uma resposta lida de uma réplica atrasada. Métrica: fleet.coalescing.requests (tag outcome).
+ */
+@Component
+public class ResponseCoalescer {
+
+    // Chave de uma listagem paginada; search nulo (sem pesquisa) é diferente de "null"
+    public record Listing(String search, Pageable pageable) {
+    }
+
+    private record Key(String namespace, Object key, boolean primary) {
+    }
+
+    private record Flight(long generation, CompletableFuture<byte[]> result) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final CoalescingProperties properties;
+    private final ConcurrentMap<Key, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter executed;
+    private final Counter shared;
+
+    public ResponseCoalescer(ObjectMapper objectMapper, CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.executed = Counter.builder("fleet.coalescing.requests")
+                .description("Listagens executadas ou atendidas por uma execução idêntica em andamento")
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.shared = Counter.builder("fleet.coalescing.requests")
+                .description("Listagens executadas ou atendidas por uma execução idêntica em andamento")
+                .tag("outcome", "shared")
+                .register(meterRegistry);
+    }
+
+    // JSON do resultado de loader; namespace + key (comparada por equals) identificam requisições idênticas
+    public byte[] json(String namespace, Object key, Supplier<?> loader) {
+        if (!properties.isEnabled()) {
+            executed.increment();
+            return serialize(loader.get());
+        }
+
+        Key flightKey = new Key(namespace, key, PrimaryReads.current());
+        long current = generation.get();
+        Flight flight = new Flight(current, new CompletableFuture<>());
+        while (true) {
+            Flight existing = flights.putIfAbsent(flightKey, flight);
+            if (existing == null) {
+                return lead(flightKey, flight, loader);
+            }
+            if (existing.generation() >= current) {
+                shared.increment();
+                return await(existing);
+            }
+            // Execução anterior a uma escrita: substitui em vez de reaproveitar
+            if (flights.replace(flightKey, existing, flight)) {
+                return lead(flightKey, flight, loader);
+            }
+        }
+    }
+
+    // Escrita na transação atual: a geração avança depois do commit (ou já, sem transação)
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            generation.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                generation.incrementAndGet();
+            }
+        });
+    }
+
+    private byte[] lead(Key key, Flight flight, Supplier<?> loader) {
+        executed.increment();
+        byte[] json;
+        try {
+            json = serialize(loader.get());
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.result().completeExceptionally(e);
+            throw e;
+        }
+        flight.result().complete(json);
+
+        long reuseMillis = properties.getReuseWindow().toMillis();
+        if (reuseMillis <= 0) {
+            flights.remove(key, flight);
+        } else {
+            CompletableFuture.delayedExecutor(reuseMillis, TimeUnit.MILLISECONDS)
+                    .execute(() -> flights.remove(key, flight));
+        }
+        return json;
+    }
+
+    private static byte[] await(Flight flight) {
+        try {
+            return flight.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar a listagem", e);
+        }
+    }
+}
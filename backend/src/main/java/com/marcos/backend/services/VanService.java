@@ -1,23 +1,62 @@
 package com.marcos.backend.services;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.marcos.backend.config.CacheConfig;
+import com.marcos.backend.config.MetricsConfig;
+import com.marcos.backend.config.PrimaryReads;
+import com.marcos.backend.config.SearchProperties;
+import com.marcos.backend.dtos.AccessibilityFeatureSummary;
+import com.marcos.backend.dtos.ChangeEntity;
+import com.marcos.backend.dtos.ChangeOperation;
+import com.marcos.backend.dtos.CursorPage;
+import com.marcos.backend.dtos.VanSummary;
+import com.marcos.backend.dtos.VehicleFeatureRow;
+import com.marcos.backend.entities.AccessibilityFeature;
 import com.marcos.backend.entities.Van;
+import com.marcos.backend.exceptions.DuplicatePlateException;
+import com.marcos.backend.exceptions.PreconditionFailedException;
+import com.marcos.backend.repositories.AccessibilityFeatureRepository;
+import com.marcos.backend.repositories.ChangeEventRepository;
 import com.marcos.backend.repositories.VanRepository;
+import com.marcos.backend.utils.CursorCodec;
+import com.marcos.backend.utils.SearchText;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
-@Transactional
+@Transactional(readOnly = true)
 public class VanService {
 
     private final VanRepository vanRepository;
+    private final EntityManager entityManager;
+    private final AccessibilityFeatureRepository accessibilityFeatureRepository;
+    private final ChangeEventRepository changeEventRepository;
+    private final ResponseCoalescer responseCoalescer;
+    private final SearchProperties searchProperties;
 
     public Page<Van> findAll(Pageable pageable) {
         return vanRepository.findAll(pageable);
@@ -32,31 +71,185 @@ public class VanService {
         return vanRepository.searchByBrandOrModel(search, pageable);
     }
 
+    // Listagem sem carregar entidades: 1 consulta da página, 1 de contagem e 1 dos Meios Acessíveis
+    public Page<VanSummary> searchSummaries(String search, Pageable pageable) {
+        Page<VanSummary> page;
+        if (search == null) {
+            page = vanRepository.findAllSummaries(pageable);
+        } else if (searchProperties.isTrigram()) {
+            page = searchSummariesByRelevance(search, pageable);
+        } else {
+            page = vanRepository.searchSummariesByBrandOrModel(search, pageable);
+        }
+
+        Map<Long, List<AccessibilityFeatureSummary>> features = featuresOf(page.getContent());
+        return page.map(summary -> summary.withAccessibilityFeatures(
+                features.getOrDefault(summary.id(), List.of())));
+    }
+
+    // Listagem por cursor: busca size + 1 registros para saber se há próxima página
+    // No modo TRIGRAM filtra como a pesquisa por relevância, mas sempre em ordem de id (chave do cursor)
+    public CursorPage<VanSummary> findSummariesAfter(String search, String cursor, int size) {
+        long afterId = CursorCodec.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        List<VanSummary> rows;
+        if (search == null) {
+            rows = vanRepository.findSummariesAfter(afterId, limit);
+        } else if (searchProperties.isTrigram()) {
+            rows = vanRepository.searchNormalizedSummariesAfter(SearchText.normalize(search), afterId, limit);
+        } else {
+            rows = vanRepository.searchSummariesAfter(search, afterId, limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<VanSummary> content = hasNext ? rows.subList(0, size) : rows;
+        Map<Long, List<AccessibilityFeatureSummary>> features = featuresOf(content);
+        List<VanSummary> withFeatures = content.stream()
+                .map(summary -> summary.withAccessibilityFeatures(features.getOrDefault(summary.id(), List.of())))
+                .toList();
+
+        String nextCursor = hasNext ? CursorCodec.encode(content.get(content.size() - 1).id()) : null;
+        return new CursorPage<>(withFeatures, size, nextCursor, hasNext);
+    }
+
+    // Meios Acessíveis de todos os veículos da página em uma única consulta
+    private Map<Long, List<AccessibilityFeatureSummary>> featuresOf(List<VanSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = summaries.stream().map(VanSummary::id).toList();
+        return VehicleFeatureRow.groupByVehicle(vanRepository.findFeatureRowsByVanIds(ids));
+    }
+
+    // Modo TRIGRAM: ids ordenados por relevância e depois os resumos desses ids
+    private Page<VanSummary> searchSummariesByRelevance(String search, Pageable pageable) {
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<Long> ids = vanRepository.searchIdsByRelevance(SearchText.normalize(search), unsorted);
+        Map<Long, VanSummary> summaries = ids.isEmpty() ? Map.of()
+                : vanRepository.findSummariesByIds(ids.getContent()).stream()
+                        .collect(Collectors.toMap(VanSummary::id, Function.identity()));
+        return ids.map(summaries::get);
+    }
+
+    // Resultado em cache com os Meios Acessíveis já carregados; removido em save/update/deleteById
+    // Lido sempre do primário: uma réplica atrasada devolveria ao cache o registro antigo
+    @Cacheable(cacheNames = CacheConfig.VANS, key = "#id")
     public Optional<Van> findById(Long id) {
-        return vanRepository.findById(id);
+        return PrimaryReads.call(() -> vanRepository.findWithFeaturesById(id));
+    }
+
+    // Vários registros em uma consulta, na ordem dos ids pedidos; ids inexistentes ficam de fora
+    public List<Van> findAllById(Collection<Long> ids) {
+        Map<Long, Van> found = vanRepository.findWithFeaturesByIdIn(ids).stream()
+                .collect(Collectors.toMap(Van::getId, Function.identity()));
+        return ids.stream().distinct().map(found::get).filter(Objects::nonNull).toList();
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VANS, key = "#result.id")
     public Van save(Van van) {
-        return vanRepository.save(van);
+        if (van.getAccessibilityFeatures() != null) {
+            van.setAccessibilityFeatures(featureReferences(van.getAccessibilityFeatures()));
+        }
+        Van saved = withUniquePlate(van.getLicensePlate(), () -> vanRepository.saveAndFlush(van));
+        changeEventRepository.append(ChangeEntity.VAN, saved.getId(), ChangeOperation.CREATED, saved.getVersion());
+        responseCoalescer.invalidateAfterCommit();
+        return saved;
     }
 
+    // Meios Acessíveis gerenciados em uma consulta: o corpo traz só {"id"}, sem a versão
+    private Set<AccessibilityFeature> featureReferences(Collection<AccessibilityFeature> features) {
+        List<Long> ids = features.stream()
+                .filter(feature -> feature != null && feature.getId() != null)
+                .map(AccessibilityFeature::getId)
+                .toList();
+        return new LinkedHashSet<>(accessibilityFeatureRepository.findAllById(ids));
+    }
+
+    // Um único UPDATE (sem existsById + merge); os Meios Acessíveis são sincronizados por diferença
+    // e a resposta é relida do banco (uma consulta, com os Meios Acessíveis)
     @Transactional
-    public Van update(Long id, Van van) {
-        if (!vanRepository.existsById(id)) {
-            throw new RuntimeException("Van não encontrada com id: " + id);
-        }
-        van.setId(id);
+    @CacheEvict(cacheNames = CacheConfig.VANS, key = "#id")
+    public Van update(Long id, Van van, Long expectedVersion) {
+        van.setSearchText(SearchText.of(van.getBrand(), van.getModel()));
+        Long version = withUniquePlate(van.getLicensePlate(),
+                () -> vanRepository.updateById(id, van, expectedVersion))
+                .orElseThrow(() -> writeFailure(id, expectedVersion));
+        changeEventRepository.append(ChangeEntity.VAN, id, ChangeOperation.UPDATED, version);
+        responseCoalescer.invalidateAfterCommit();
+        replaceFeatures(id, van.getAccessibilityFeatures() == null ? List.of() : van.getAccessibilityFeatures());
+        return reload(id);
+    }
 
-        return vanRepository.save(van);
+    // Estado gravado, com os Meios Acessíveis completos (nome, versão) e só os que foram ligados
+    /*
+     * O UPDATE é nativo: uma instância do mesmo id já presente na sessão (ex.: criada
+     * antes no mesmo lote de /batch) estaria desatualizada, por isso é descartada antes.
+     */
+    private Van reload(Long id) {
+        entityManager.detach(entityManager.getReference(Van.class, id));
+        return vanRepository.findWithFeaturesById(id)
+                .orElseThrow(() -> new RuntimeException("Van não encontrada com id: " + id));
+    }
+
+    // Atualização parcial: só os campos informados; accessibilityFeatures nulo mantém os atuais
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VANS, key = "#id")
+    public Long patch(Long id, Van van, Long expectedVersion) {
+        if (van.getBrand() != null || van.getModel() != null) {
+            vanRepository.findBrandAndModelForUpdate(id).ifPresent(current -> van.setSearchText(SearchText.of(
+                    van.getBrand() != null ? van.getBrand() : current.getBrand(),
+                    van.getModel() != null ? van.getModel() : current.getModel())));
+        }
+        Long version = withUniquePlate(van.getLicensePlate(),
+                () -> vanRepository.patchById(id, van, expectedVersion))
+                .orElseThrow(() -> writeFailure(id, expectedVersion));
+        changeEventRepository.append(ChangeEntity.VAN, id, ChangeOperation.UPDATED, version);
+        responseCoalescer.invalidateAfterCommit();
+        if (van.getAccessibilityFeatures() != null) {
+            replaceFeatures(id, van.getAccessibilityFeatures());
+        }
+        return version;
     }
 
     @Transactional
-    public void deleteById(Long id) {
-        if (!vanRepository.existsById(id)) {
-            throw new RuntimeException("Van não encontrada com id: " + id);
+    @CacheEvict(cacheNames = CacheConfig.VANS, key = "#id")
+    public void deleteById(Long id, Long expectedVersion) {
+        if (vanRepository.deleteByIdReturningCount(id, expectedVersion) == 0) {
+            throw writeFailure(id, expectedVersion);
+        }
+        changeEventRepository.append(ChangeEntity.VAN, id, ChangeOperation.DELETED, null);
+        responseCoalescer.invalidateAfterCommit();
+    }
+
+    // Só no caminho de erro: distingue id inexistente de versão desatualizada (If-Match)
+    private RuntimeException writeFailure(Long id, Long expectedVersion) {
+        if (expectedVersion != null && vanRepository.existsById(id)) {
+            return new PreconditionFailedException("Van", id);
+        }
+        return new RuntimeException("Van não encontrada com id: " + id);
+    }
+
+    // Placa repetida falha no próprio INSERT/UPDATE (gatilho de vehicle_plates) e vira DuplicatePlateException
+    private <T> T withUniquePlate(String licensePlate, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            throw DuplicatePlateException.isCause(e) ? new DuplicatePlateException(licensePlate) : e;
+        }
+    }
+
+    private void replaceFeatures(Long id, Collection<AccessibilityFeature> features) {
+        List<Long> featureIds = features.stream()
+                .filter(feature -> feature != null && feature.getId() != null)
+                .map(AccessibilityFeature::getId)
+                .toList();
+        if (featureIds.isEmpty()) {
+            vanRepository.deleteAllFeatureLinks(id);
+            return;
         }
-        vanRepository.deleteById(id);
+        vanRepository.deleteFeatureLinksNotIn(id, featureIds);
+        vanRepository.insertMissingFeatureLinks(id, featureIds);
     }
 
     public boolean existsById(Long id) {
@@ -0,0 +1,149 @@
+package com.marcos.backend.services;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.marcos.backend.config.CacheConfig;
+import com.marcos.backend.config.MetricsConfig;
+import com.marcos.backend.config.PlateLookupProperties;
+import com.marcos.backend.dtos.PlateLookupResult;
+import com.marcos.backend.dtos.VehicleFilter;
+import com.marcos.backend.dtos.VehicleRef;
+import com.marcos.backend.dtos.VehicleSearchResult;
+import com.marcos.backend.dtos.VehicleSummary;
+import com.marcos.backend.dtos.VehicleType;
+import com.marcos.backend.repositories.VehicleCatalogRepository;
+import com.marcos.backend.repositories.VehiclePlateRepository;
+import com.marcos.backend.utils.PlateKey;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class VehicleCatalogService {
+
+    private final VehicleCatalogRepository vehicleCatalogRepository;
+    private final VehiclePlateRepository vehiclePlateRepository;
+    private final AccessibilityFeatureIndex accessibilityFeatureIndex;
+    private final PlateLookupProperties plateLookupProperties;
+    private final CacheManager cacheManager;
+
+    // Página do catálogo (Ônibus e Vans) com as contagens por tipo, marca e Meio Acessível
+    /*
+     * "Tem todos os Meios Acessíveis" é resolvido no índice em memória e vira um
+     * filtro por ids na consulta. Sem filtros de coluna, as contagens por Meio
+     * Acessível também saem do índice e a consulta não precisa das tabelas de ligação.
+     */
+    public VehicleSearchResult search(VehicleFilter filter, int page, int size) {
+        Map<VehicleType, RoaringBitmap> featureMatches = null;
+        if (filter.hasFeatureIds()) {
+            featureMatches = new EnumMap<>(VehicleType.class);
+            for (VehicleType type : VehicleType.values()) {
+                if (filter.includes(type)) {
+                    featureMatches.put(type, accessibilityFeatureIndex.matchingAll(type, filter.featureIds()));
+                }
+            }
+        }
+
+        boolean featureFacetsFromIndex = !filter.hasRowPredicates();
+        VehicleSearchResult result = vehicleCatalogRepository.search(filter, featureMatches,
+                !featureFacetsFromIndex, page, size);
+        if (!featureFacetsFromIndex) {
+            return result;
+        }
+
+        Map<Long, Long> featureCounts = new HashMap<>();
+        for (VehicleType type : VehicleType.values()) {
+            if (filter.includes(type)) {
+                RoaringBitmap candidates = featureMatches == null ? null : featureMatches.get(type);
+                accessibilityFeatureIndex.featureCounts(type, candidates)
+                        .forEach((featureId, count) -> featureCounts.merge(featureId, count, Long::sum));
+            }
+        }
+        return result.withFacets(result.facets().withFeatures(featureCounts));
+    }
+
+    public Optional<VehicleSummary> findByPlate(String plate) {
+        return Optional.ofNullable(findByPlates(List.of(plate)).found().get(plate));
+    }
+
+    // Veículo de cada placa: chave primária de vehicle_plates e depois os resumos em uma consulta
+    /*
+     * Com fleet.plates.cache-enabled, o tipo e o id de cada placa vêm primeiro do
+     * cache vehiclePlates. Uma entrada só vale se o veículo carregado ainda tem
+     * a mesma placa; senão é removida e a placa volta a ser buscada no registro,
+     * por isso edições e remoções não precisam invalidar o cache.
+     */
+    public PlateLookupResult findByPlates(List<String> plates) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String plate : plates) {
+            String key = PlateKey.of(plate);
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+
+        Map<String, VehicleSummary> byKey = new HashMap<>();
+        Cache cache = plateLookupProperties.isCacheEnabled() ? cacheManager.getCache(CacheConfig.VEHICLE_PLATES) : null;
+        if (cache != null) {
+            Map<String, VehicleRef> cached = new HashMap<>();
+            for (String key : keys) {
+                VehicleRef ref = cache.get(key, VehicleRef.class);
+                if (ref != null) {
+                    cached.put(key, ref);
+                }
+            }
+            byKey.putAll(summariesOf(cached));
+            cached.keySet().stream().filter(key -> !byKey.containsKey(key)).forEach(cache::evict);
+        }
+
+        Map<String, VehicleRef> registered = vehiclePlateRepository.findByPlateKeys(keys.stream()
+                .filter(key -> !byKey.containsKey(key))
+                .toList());
+        Map<String, VehicleSummary> resolved = summariesOf(registered);
+        byKey.putAll(resolved);
+        if (cache != null) {
+            resolved.keySet().forEach(key -> cache.put(key, registered.get(key)));
+        }
+
+        Map<String, VehicleSummary> found = new LinkedHashMap<>();
+        List<String> notFound = new ArrayList<>();
+        for (String plate : plates) {
+            VehicleSummary summary = byKey.get(PlateKey.of(plate));
+            if (summary != null) {
+                found.put(plate, summary);
+            } else {
+                notFound.add(plate);
+            }
+        }
+        return new PlateLookupResult(found, notFound);
+    }
+
+    // Resumos dos veículos referenciados, mantendo só os que ainda têm a placa da chave
+    private Map<String, VehicleSummary> summariesOf(Map<String, VehicleRef> refs) {
+        Map<String, VehicleSummary> byKey = new HashMap<>();
+        for (VehicleSummary summary : vehicleCatalogRepository.findSummaries(refs.values())) {
+            String key = PlateKey.of(summary.licensePlate());
+            if (key != null && new VehicleRef(summary.type(), summary.id()).equals(refs.get(key))) {
+                byKey.put(key, summary);
+            }
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,115 @@
+package com.marcos.backend.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// Leitura de CSV registro a registro (primeiro registro = cabeçalho), sem carregar o arquivo todo
+/*
+ * Separador vírgula; campos podem vir entre aspas duplas ("" para aspas literais).
+ * Entre aspas, quebras de linha (\n, \r) fazem parte do valor, como VehicleCsv as grava.
+ * Linhas em branco são ignoradas.
+ */
+public class CsvReader implements Iterator<Map<String, String>> {
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    private String nextLine;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        String headerLine = readRecord();
+        this.header = headerLine == null ? List.of() : parseLine(headerLine).stream().map(String::trim).toList();
+        this.nextLine = readRecord();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextLine != null;
+    }
+
+    @Override
+    public Map<String, String> next() {
+        if (nextLine == null) {
+            throw new NoSuchElementException();
+        }
+        List<String> values = parseLine(nextLine);
+        nextLine = readRecord();
+
+        Map<String, String> record = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = i < values.size() ? values.get(i).trim() : "";
+            record.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return record;
+    }
+
+    // Até a próxima quebra de linha fora de aspas (\n, \r ou \r\n); nulo no fim do arquivo
+    private String readRecord() {
+        try {
+            StringBuilder record = new StringBuilder();
+            boolean quoted = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (!quoted && (c == '\n' || c == '\r')) {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    String line = record.toString();
+                    if (!line.isBlank()) {
+                        return line;
+                    }
+                    record.setLength(0);
+                    continue;
+                }
+                // "" dentro de aspas troca o estado duas vezes e não fecha o campo
+                if (c == '"') {
+                    quoted = !quoted;
+                }
+                record.append((char) c);
+            }
+            String line = record.toString();
+            return line.isBlank() ? null : line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static List<String> parseLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
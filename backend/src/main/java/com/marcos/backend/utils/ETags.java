@@ -0,0 +1,77 @@
+package com.marcos.backend.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// ETags fortes a partir da coluna version ("3") e leitura de If-Match / If-None-Match
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-None-Match: verdadeiro quando a versão atual está entre as enviadas pelo cliente
+    public static boolean matches(String header, Long version) {
+        if (header == null || version == null) {
+            return false;
+        }
+        for (String tag : header.split(",")) {
+            String value = strip(tag);
+            if (value.equals("*") || value.equals(String.valueOf(version))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-Match: versão esperada, ou nulo quando o cabeçalho não veio (ou é "*")
+    /*
+     * Comparação forte (RFC 9110): ETag fraca (W/"3") nunca corresponde. Com várias
+     * ETags a condição vale se qualquer uma for a versão atual; só nesse caso
+     * currentVersion é consultado, e a escrita condicional continua atômica: se a
+     * versão mudar até o UPDATE, ele não encontra a linha e a resposta é 412.
+     */
+    public static Long expectedVersion(String header, Supplier<Long> currentVersion) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String tag : header.split(",")) {
+            String value = tag.trim();
+            if (value.equals("*")) {
+                return null;
+            }
+            if (value.startsWith("W/")) {
+                continue;
+            }
+            try {
+                versions.add(Long.valueOf(strip(value)));
+            } catch (NumberFormatException e) {
+                // ETag que nunca foi emitida por este servidor: nenhuma versão corresponde
+            }
+        }
+        if (versions.isEmpty()) {
+            return -1L;
+        }
+        if (versions.size() == 1) {
+            return versions.get(0);
+        }
+        Long current = currentVersion.get();
+        return current != null && versions.contains(current) ? current : versions.get(0);
+    }
+
+    private static String strip(String tag) {
+        String value = tag.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,23 @@
+package com.marcos.backend.utils;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Chave normalizada da placa: maiúsculas, só letras e dígitos ("abc-1d23" e "ABC 1D23" -> "ABC1D23")
+public final class PlateKey {
+
+    // Mesma limpeza feita no banco pela função normalize_plate() (migração V8__vehicle_plates)
+    private static final Pattern SEPARATOR = Pattern.compile("[^A-Za-z0-9]");
+
+    private PlateKey() {
+    }
+
+    // Nulo quando não sobra nenhuma letra ou dígito
+    public static String of(String plate) {
+        if (plate == null) {
+            return null;
+        }
+        String key = SEPARATOR.matcher(plate).replaceAll("").toUpperCase(Locale.ROOT);
+        return key.isEmpty() ? null : key;
+    }
+}
@@ -0,0 +1,29 @@
+package com.marcos.backend.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Normalização de texto para pesquisa: minúsculas e sem acentos
+// Única implementação: search_text é sempre calculado aqui, nunca no banco
+public final class SearchText {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private SearchText() {
+    }
+
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    // Texto pré-calculado de pesquisa de um veículo (marca + modelo)
+    public static String of(String brand, String model) {
+        String text = (brand == null ? "" : brand) + " " + (model == null ? "" : model);
+        return normalize(text);
+    }
+}
@@ -0,0 +1,129 @@
+package com.marcos.backend.utils;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.marcos.backend.dtos.AccessibilityFeatureSummary;
+import com.marcos.backend.dtos.BusSummary;
+import com.marcos.backend.dtos.VanSummary;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.entities.Van;
+import com.marcos.backend.entities.Vehicle;
+
+// Conversão entre registros CSV e Ônibus/Vans
+/*
+ * Colunas: model, brand, color, year, licensePlate, numberOfSeats, hasWifi,
+ * hasAirConditioning, (Vans) hasStorageSpace, accessibilityFeatures (ids separados por ;)
+ * A exportação inclui a coluna id no início; na importação ela é ignorada.
+ */
+public final class VehicleCsv {
+
+    public static final String BUS_HEADER = "id,model,brand,color,year,licensePlate,numberOfSeats,hasWifi,"
+            + "hasAirConditioning,accessibilityFeatures";
+    public static final String VAN_HEADER = "id,model,brand,color,year,licensePlate,numberOfSeats,hasWifi,"
+            + "hasAirConditioning,hasStorageSpace,accessibilityFeatures";
+
+    private VehicleCsv() {
+    }
+
+    public static String toCsvLine(BusSummary bus) {
+        return join(bus.id(), bus.model(), bus.brand(), bus.color(), bus.year(), bus.licensePlate(),
+                bus.numberOfSeats(), bus.hasWifi(), bus.hasAirConditioning(), featureIds(bus.accessibilityFeatures()));
+    }
+
+    public static String toCsvLine(VanSummary van) {
+        return join(van.id(), van.model(), van.brand(), van.color(), van.year(), van.licensePlate(),
+                van.numberOfSeats(), van.hasWifi(), van.hasAirConditioning(), van.hasStorageSpace(),
+                featureIds(van.accessibilityFeatures()));
+    }
+
+    public static Bus toBus(Map<String, String> record) {
+        Bus bus = new Bus();
+        fillVehicle(bus, record);
+        bus.setNumberOfSeats(parseInteger(record.get("numberOfSeats")));
+        bus.setHasWifi(parseBoolean(record.get("hasWifi")));
+        bus.setHasAirConditioning(parseBoolean(record.get("hasAirConditioning")));
+        bus.setAccessibilityFeatures(parseFeatures(record.get("accessibilityFeatures")));
+        return bus;
+    }
+
+    public static Van toVan(Map<String, String> record) {
+        Van van = new Van();
+        fillVehicle(van, record);
+        van.setNumberOfSeats(parseInteger(record.get("numberOfSeats")));
+        van.setHasWifi(parseBoolean(record.get("hasWifi")));
+        van.setHasStorageSpace(parseBoolean(record.get("hasStorageSpace")));
+        van.setHasAirConditioning(parseBoolean(record.get("hasAirConditioning")));
+        van.setAccessibilityFeatures(parseFeatures(record.get("accessibilityFeatures")));
+        return van;
+    }
+
+    private static void fillVehicle(Vehicle vehicle, Map<String, String> record) {
+        vehicle.setModel(record.get("model"));
+        vehicle.setBrand(record.get("brand"));
+        vehicle.setColor(record.get("color"));
+        vehicle.setYear(record.get("year"));
+        vehicle.setLicensePlate(record.get("licensePlate"));
+    }
+
+    private static Integer parseInteger(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Número inválido: " + value);
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("Valor booleano inválido: " + value);
+        }
+        return Boolean.valueOf(value);
+    }
+
+    private static Set<AccessibilityFeature> parseFeatures(String value) {
+        if (value == null) {
+            return new LinkedHashSet<>();
+        }
+        return Arrays.stream(value.split(";"))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .map(id -> {
+                    AccessibilityFeature feature = new AccessibilityFeature();
+                    feature.setId(parseInteger(id).longValue());
+                    return feature;
+                })
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static String featureIds(List<AccessibilityFeatureSummary> features) {
+        return features.stream().map(feature -> String.valueOf(feature.id())).collect(Collectors.joining(";"));
+    }
+
+    private static String join(Object... values) {
+        return Arrays.stream(values).map(VehicleCsv::quote).collect(Collectors.joining(","));
+    }
+
+    // Aspas apenas quando o valor contém vírgula, aspas ou quebra de linha
+    private static String quote(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,15 @@
+-- Positions da outbox por sequência, sem reaproveitar números depois da limpeza
+-- Antes a próxima position era max(position) + 1: removidos os eventos antigos,
+-- a numeração voltava a 1 e consumidores com since maior nunca viam os novos.
+-- change_feed_state guarda a maior position já removida (limite do 410 em /changes).
+
+CREATE SEQUENCE IF NOT EXISTS change_event_positions;
+
+SELECT setval('change_event_positions', COALESCE((SELECT max(position) FROM change_events), 0) + 1, false);
+
+CREATE TABLE IF NOT EXISTS change_feed_state (
+    id boolean PRIMARY KEY DEFAULT true CHECK (id),
+    purged_through bigint NOT NULL DEFAULT 0
+);
+
+INSERT INTO change_feed_state (id) VALUES (true) ON CONFLICT DO NOTHING;
@@ -0,0 +1,69 @@
+-- Esquema base: Meios Acessíveis, Ônibus, Vans e as tabelas de ligação
+-- Bancos criados antes das migrações (ddl-auto=update) entram como versão 0
+-- (spring.flyway.baseline-on-migrate) e também passam por esta versão: por isso
+-- cada comando só cria ou altera o que ainda falta. Nesses bancos os ids de
+-- buses e vans eram IDENTITY e não havia version, search_text nem as sequências;
+-- as ligações antigas e sem chave primária ficam para a versão 2.
+
+CREATE SEQUENCE IF NOT EXISTS buses_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS vans_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS accessibility_features (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name varchar(255),
+    description varchar(255),
+    version bigint NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS buses (
+    id bigint PRIMARY KEY,
+    model varchar(255),
+    brand varchar(255),
+    color varchar(255),
+    year varchar(255),
+    license_plate varchar(255),
+    number_of_seats integer,
+    has_wifi boolean,
+    has_air_conditioning boolean,
+    version bigint NOT NULL DEFAULT 0,
+    search_text varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS vans (
+    id bigint PRIMARY KEY,
+    model varchar(255),
+    brand varchar(255),
+    color varchar(255),
+    year varchar(255),
+    license_plate varchar(255),
+    number_of_seats integer,
+    has_wifi boolean,
+    has_air_conditioning boolean,
+    has_storage_space boolean,
+    version bigint NOT NULL DEFAULT 0,
+    search_text varchar(255)
+);
+
+-- Bancos anteriores: colunas que faltam e ids de Ônibus/Vans pela sequência (ajustada na versão 5)
+ALTER TABLE accessibility_features ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+ALTER TABLE buses ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE buses ADD COLUMN IF NOT EXISTS search_text varchar(255);
+ALTER TABLE buses ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE vans ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE vans ADD COLUMN IF NOT EXISTS search_text varchar(255);
+ALTER TABLE vans ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- Chave primária começando pelo veículo (carregar os Meios Acessíveis de um veículo)
+CREATE TABLE IF NOT EXISTS buses_accessibility_features (
+    bus_id bigint NOT NULL REFERENCES buses (id),
+    accessibility_features_id bigint NOT NULL REFERENCES accessibility_features (id),
+    PRIMARY KEY (bus_id, accessibility_features_id)
+);
+
+CREATE TABLE IF NOT EXISTS vans_accessibility_features (
+    van_id bigint NOT NULL REFERENCES vans (id),
+    accessibility_features_id bigint NOT NULL REFERENCES accessibility_features (id),
+    PRIMARY KEY (van_id, accessibility_features_id)
+);
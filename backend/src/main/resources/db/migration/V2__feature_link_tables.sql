@@ -0,0 +1,41 @@
+-- Unifica as ligações Veículo ↔ Meio Acessível em uma tabela por tipo de veículo
+-- Quando AccessibilityFeature.buses/vans também eram lados donos, o Hibernate
+-- mantinha accessibility_features_buses/_vans em paralelo. As ligações que só
+-- existiam nessas tabelas são copiadas e as tabelas antigas removidas; as que
+-- ficam perdem as linhas repetidas e ganham chave primária.
+-- Sem efeito em bancos criados pela versão 1.
+
+DO $$
+BEGIN
+    IF to_regclass('accessibility_features_buses') IS NOT NULL THEN
+        INSERT INTO buses_accessibility_features (bus_id, accessibility_features_id)
+        SELECT DISTINCT o.buses_id, o.accessibility_feature_id FROM accessibility_features_buses o
+        WHERE NOT EXISTS (SELECT 1 FROM buses_accessibility_features l
+                          WHERE l.bus_id = o.buses_id AND l.accessibility_features_id = o.accessibility_feature_id);
+        DROP TABLE accessibility_features_buses;
+    END IF;
+
+    IF to_regclass('accessibility_features_vans') IS NOT NULL THEN
+        INSERT INTO vans_accessibility_features (van_id, accessibility_features_id)
+        SELECT DISTINCT o.vans_id, o.accessibility_feature_id FROM accessibility_features_vans o
+        WHERE NOT EXISTS (SELECT 1 FROM vans_accessibility_features l
+                          WHERE l.van_id = o.vans_id AND l.accessibility_features_id = o.accessibility_feature_id);
+        DROP TABLE accessibility_features_vans;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'buses_accessibility_features'::regclass AND contype = 'p') THEN
+        DELETE FROM buses_accessibility_features a USING buses_accessibility_features b
+        WHERE a.ctid < b.ctid AND a.bus_id = b.bus_id AND a.accessibility_features_id = b.accessibility_features_id;
+        ALTER TABLE buses_accessibility_features ADD PRIMARY KEY (bus_id, accessibility_features_id);
+        DROP INDEX IF EXISTS idx_buses_accessibility_features_vehicle;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'vans_accessibility_features'::regclass AND contype = 'p') THEN
+        DELETE FROM vans_accessibility_features a USING vans_accessibility_features b
+        WHERE a.ctid < b.ctid AND a.van_id = b.van_id AND a.accessibility_features_id = b.accessibility_features_id;
+        ALTER TABLE vans_accessibility_features ADD PRIMARY KEY (van_id, accessibility_features_id);
+        DROP INDEX IF EXISTS idx_vans_accessibility_features_vehicle;
+    END IF;
+END $$;
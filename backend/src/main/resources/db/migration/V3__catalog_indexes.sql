@@ -0,0 +1,11 @@
+-- Índices usados pelo catálogo unificado (/vehicles)
+-- A chave primária das tabelas de ligação começa pelo veículo; o índice por
+-- Meio Acessível atende a busca no sentido contrário (quem tem o Meio Acessível X).
+
+CREATE INDEX IF NOT EXISTS idx_buses_number_of_seats ON buses (number_of_seats);
+CREATE INDEX IF NOT EXISTS idx_vans_number_of_seats ON vans (number_of_seats);
+
+CREATE INDEX IF NOT EXISTS idx_buses_accessibility_features_feature
+    ON buses_accessibility_features (accessibility_features_id, bus_id);
+CREATE INDEX IF NOT EXISTS idx_vans_accessibility_features_feature
+    ON vans_accessibility_features (accessibility_features_id, van_id);
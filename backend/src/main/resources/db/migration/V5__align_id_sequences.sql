@@ -0,0 +1,12 @@
+-- Ajusta buses_seq e vans_seq para depois do maior id já existente
+-- Necessário em bancos criados quando os ids ainda eram IDENTITY: a sequência
+-- nova começa em 1 e geraria ids repetidos. Com allocationSize = 50 o Hibernate
+-- usa os ids (valor - 49) até valor, por isso basta setval(seq, max(id)).
+
+SELECT setval('buses_seq', m.max_id)
+FROM (SELECT MAX(id) AS max_id FROM buses) m, buses_seq s
+WHERE m.max_id IS NOT NULL AND s.last_value <= m.max_id;
+
+SELECT setval('vans_seq', m.max_id)
+FROM (SELECT MAX(id) AS max_id FROM vans) m, vans_seq s
+WHERE m.max_id IS NOT NULL AND s.last_value <= m.max_id;
@@ -0,0 +1,24 @@
+-- Contador de alterações por tabela (ETag das listas de dados de referência)
+-- Um gatilho por comando (FOR EACH STATEMENT) incrementa table_versions a cada
+-- INSERT/UPDATE/DELETE, inclusive os feitos fora da aplicação. O valor inicial
+-- vem do relógio, para um banco recriado não repetir ETags já entregues.
+
+CREATE TABLE IF NOT EXISTS table_versions (
+    table_name varchar(63) PRIMARY KEY,
+    version bigint NOT NULL
+);
+
+CREATE OR REPLACE FUNCTION bump_table_version() RETURNS trigger AS $$
+BEGIN
+    UPDATE table_versions SET version = version + 1 WHERE table_name = TG_TABLE_NAME;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+INSERT INTO table_versions (table_name, version)
+VALUES ('accessibility_features', CAST(extract(epoch FROM clock_timestamp()) * 1000 AS bigint))
+ON CONFLICT (table_name) DO NOTHING;
+
+DROP TRIGGER IF EXISTS accessibility_features_version ON accessibility_features;
+CREATE TRIGGER accessibility_features_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON accessibility_features
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
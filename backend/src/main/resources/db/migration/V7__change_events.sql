@@ -0,0 +1,17 @@
+-- Tabela da outbox de eventos de mudança (ChangeEventRepository)
+-- Fora do Hibernate: os eventos são gravados e lidos só por JdbcTemplate.
+-- O índice parcial atende a busca dos pendentes; o UNIQUE de position, o feed.
+
+CREATE TABLE IF NOT EXISTS change_events (
+    id bigserial PRIMARY KEY,
+    position bigint UNIQUE,
+    entity varchar(32) NOT NULL,
+    entity_id bigint NOT NULL,
+    operation varchar(16) NOT NULL,
+    version bigint,
+    occurred_at timestamptz NOT NULL DEFAULT now(),
+    published_at timestamptz
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_events_pending ON change_events (id) WHERE position IS NULL;
+CREATE INDEX IF NOT EXISTS idx_change_events_published_at ON change_events (published_at);
@@ -0,0 +1,88 @@
+-- Placa normalizada (plate_key) única entre Ônibus e Vans
+-- vehicle_plates guarda uma linha por placa (chave primária plate_key) com o
+-- tipo e o id do veículo. Um gatilho BEFORE de cada tabela calcula plate_key
+-- e registra a placa no próprio INSERT/UPDATE: uma placa repetida falha no
+-- mesmo comando com unique_violation (mesma mensagem da chave primária, que
+-- o INSERT ... ON CONFLICT DO NOTHING do gatilho não chega a lançar).
+-- normalize_plate() faz a mesma limpeza de PlateKey.
+
+CREATE OR REPLACE FUNCTION normalize_plate(plate text) RETURNS text AS $$
+    SELECT nullif(upper(regexp_replace(coalesce(plate, ''), '[^A-Za-z0-9]', '', 'g')), '')
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE TABLE IF NOT EXISTS vehicle_plates (
+    plate_key varchar(255) PRIMARY KEY,
+    vehicle_type varchar(8) NOT NULL,
+    vehicle_id bigint NOT NULL
+);
+
+ALTER TABLE buses ADD COLUMN IF NOT EXISTS plate_key varchar(255);
+ALTER TABLE vans ADD COLUMN IF NOT EXISTS plate_key varchar(255);
+
+-- Registros existentes: com placas repetidas, fica registrado o primeiro Ônibus
+-- (menor id) e depois a primeira Van; os demais seguem sem plate_key até a placa
+-- ser corrigida. O UPDATE só de plate_key não dispara o gatilho (UPDATE OF license_plate).
+INSERT INTO vehicle_plates (plate_key, vehicle_type, vehicle_id)
+SELECT DISTINCT ON (k.plate_key) k.plate_key, 'BUS', k.id
+FROM (SELECT normalize_plate(license_plate) AS plate_key, id FROM buses WHERE plate_key IS NULL) k
+WHERE k.plate_key IS NOT NULL
+ORDER BY k.plate_key, k.id
+ON CONFLICT DO NOTHING;
+
+INSERT INTO vehicle_plates (plate_key, vehicle_type, vehicle_id)
+SELECT DISTINCT ON (k.plate_key) k.plate_key, 'VAN', k.id
+FROM (SELECT normalize_plate(license_plate) AS plate_key, id FROM vans WHERE plate_key IS NULL) k
+WHERE k.plate_key IS NOT NULL
+ORDER BY k.plate_key, k.id
+ON CONFLICT DO NOTHING;
+
+UPDATE buses b SET plate_key = p.plate_key FROM vehicle_plates p
+WHERE b.plate_key IS NULL AND p.vehicle_type = 'BUS' AND p.vehicle_id = b.id;
+
+UPDATE vans v SET plate_key = p.plate_key FROM vehicle_plates p
+WHERE v.plate_key IS NULL AND p.vehicle_type = 'VAN' AND p.vehicle_id = v.id;
+
+DO $$
+DECLARE
+    duplicates bigint;
+BEGIN
+    SELECT (SELECT COUNT(*) FROM buses WHERE plate_key IS NULL AND normalize_plate(license_plate) IS NOT NULL)
+         + (SELECT COUNT(*) FROM vans WHERE plate_key IS NULL AND normalize_plate(license_plate) IS NOT NULL)
+    INTO duplicates;
+    IF duplicates > 0 THEN
+        RAISE WARNING '% veículos com placa repetida ficaram sem plate_key (não encontrados por '
+            '/vehicles/by-plate até a placa ser corrigida)', duplicates;
+    END IF;
+END $$;
+
+CREATE OR REPLACE FUNCTION sync_vehicle_plate() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' AND OLD.plate_key IS NOT NULL
+            AND (TG_OP = 'DELETE' OR OLD.plate_key IS DISTINCT FROM normalize_plate(NEW.license_plate)) THEN
+        DELETE FROM vehicle_plates
+        WHERE plate_key = OLD.plate_key AND vehicle_type = TG_ARGV[0] AND vehicle_id = OLD.id;
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+
+    NEW.plate_key := normalize_plate(NEW.license_plate);
+    IF NEW.plate_key IS NOT NULL AND (TG_OP = 'INSERT' OR NEW.plate_key IS DISTINCT FROM OLD.plate_key) THEN
+        INSERT INTO vehicle_plates (plate_key, vehicle_type, vehicle_id)
+        VALUES (NEW.plate_key, TG_ARGV[0], NEW.id) ON CONFLICT DO NOTHING;
+        IF NOT FOUND THEN
+            RAISE EXCEPTION USING ERRCODE = 'unique_violation', CONSTRAINT = 'vehicle_plates_pkey',
+                MESSAGE = 'duplicate key value violates unique constraint "vehicle_plates_pkey"',
+                DETAIL = 'Placa já cadastrada: ' || NEW.license_plate;
+        END IF;
+    END IF;
+    RETURN NEW;
+END $$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS buses_plate ON buses;
+CREATE TRIGGER buses_plate BEFORE INSERT OR UPDATE OF license_plate OR DELETE ON buses
+    FOR EACH ROW EXECUTE FUNCTION sync_vehicle_plate('BUS');
+
+DROP TRIGGER IF EXISTS vans_plate ON vans;
+CREATE TRIGGER vans_plate BEFORE INSERT OR UPDATE OF license_plate OR DELETE ON vans
+    FOR EACH ROW EXECUTE FUNCTION sync_vehicle_plate('VAN');
@@ -0,0 +1,132 @@
+-- Estatísticas da frota mantidas por gatilhos (GET /stats)
+-- Cada linha de fleet_stats é um contador por tipo de veículo: vehicles, seats,
+-- wifi, air_conditioning, storage_space (key vazia), brand (key = marca) e
+-- feature (key = id do Meio Acessível). Os gatilhos são por comando, com as
+-- linhas afetadas em tabelas de transição: uma importação em lote aplica uma
+-- soma por contador, e um UPDATE que não muda nada contado não toca fleet_stats.
+-- A conferência periódica (FleetStatsService) compara com fleet_stats_expected.
+
+CREATE TABLE IF NOT EXISTS fleet_stats (
+    vehicle_type varchar(8) NOT NULL,
+    metric varchar(32) NOT NULL,
+    key varchar(255) NOT NULL DEFAULT '',
+    value bigint NOT NULL,
+    PRIMARY KEY (vehicle_type, metric, key)
+);
+
+-- Contribuição de um veículo (linha em JSON: Ônibus não têm has_storage_space)
+CREATE OR REPLACE FUNCTION fleet_stat_entries(vehicle jsonb)
+RETURNS TABLE (metric text, key text, amount bigint) AS $$
+    VALUES ('vehicles', '', 1),
+           ('seats', '', COALESCE(CAST(vehicle->>'number_of_seats' AS bigint), 0)),
+           ('wifi', '', CASE WHEN CAST(vehicle->>'has_wifi' AS boolean) THEN 1 ELSE 0 END),
+           ('air_conditioning', '', CASE WHEN CAST(vehicle->>'has_air_conditioning' AS boolean) THEN 1 ELSE 0 END),
+           ('storage_space', '', CASE WHEN CAST(vehicle->>'has_storage_space' AS boolean) THEN 1 ELSE 0 END),
+           ('brand', COALESCE(vehicle->>'brand', ''), 1)
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Soma os deltas (-1 por linha antiga, +1 por linha nova); contadores sem diferença ficam intocados.
+-- A ordem fixa das chaves evita deadlock entre transações que atualizam os mesmos contadores
+CREATE OR REPLACE FUNCTION apply_fleet_stats(p_type text, old_rows jsonb, new_rows jsonb) RETURNS void AS $$
+    INSERT INTO fleet_stats (vehicle_type, metric, key, value)
+    SELECT p_type, d.metric, d.key, SUM(d.amount)
+    FROM (SELECT e.metric, e.key, -e.amount AS amount
+          FROM jsonb_array_elements(COALESCE(old_rows, CAST('[]' AS jsonb))) r(v)
+          CROSS JOIN LATERAL fleet_stat_entries(r.v) e
+          UNION ALL
+          SELECT e.metric, e.key, e.amount
+          FROM jsonb_array_elements(COALESCE(new_rows, CAST('[]' AS jsonb))) r(v)
+          CROSS JOIN LATERAL fleet_stat_entries(r.v) e) d
+    GROUP BY d.metric, d.key
+    HAVING SUM(d.amount) <> 0
+    ORDER BY d.metric, d.key
+    ON CONFLICT (vehicle_type, metric, key) DO UPDATE SET value = fleet_stats.value + EXCLUDED.value
+$$ LANGUAGE sql;
+
+-- Gatilho das tabelas de veículos; TG_ARGV[0] = BUS ou VAN
+CREATE OR REPLACE FUNCTION track_vehicle_stats() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM apply_fleet_stats(TG_ARGV[0], NULL, (SELECT jsonb_agg(to_jsonb(n)) FROM new_rows n));
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM apply_fleet_stats(TG_ARGV[0], (SELECT jsonb_agg(to_jsonb(o)) FROM old_rows o),
+                (SELECT jsonb_agg(to_jsonb(n)) FROM new_rows n));
+    ELSE
+        PERFORM apply_fleet_stats(TG_ARGV[0], (SELECT jsonb_agg(to_jsonb(o)) FROM old_rows o), NULL);
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+-- Gatilho das tabelas de ligação com Meios Acessíveis; TG_ARGV[0] = BUS ou VAN
+CREATE OR REPLACE FUNCTION track_feature_stats() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO fleet_stats (vehicle_type, metric, key, value)
+        SELECT TG_ARGV[0], 'feature', CAST(n.accessibility_features_id AS text), COUNT(*)
+        FROM new_rows n GROUP BY n.accessibility_features_id ORDER BY n.accessibility_features_id
+        ON CONFLICT (vehicle_type, metric, key) DO UPDATE SET value = fleet_stats.value + EXCLUDED.value;
+    ELSE
+        INSERT INTO fleet_stats (vehicle_type, metric, key, value)
+        SELECT TG_ARGV[0], 'feature', CAST(o.accessibility_features_id AS text), -COUNT(*)
+        FROM old_rows o GROUP BY o.accessibility_features_id ORDER BY o.accessibility_features_id
+        ON CONFLICT (vehicle_type, metric, key) DO UPDATE SET value = fleet_stats.value + EXCLUDED.value;
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+-- Valores corretos calculados do zero (carga inicial e conferência periódica)
+CREATE OR REPLACE VIEW fleet_stats_expected AS
+SELECT 'BUS' AS vehicle_type, e.metric, e.key, SUM(e.amount) AS value
+FROM buses b CROSS JOIN LATERAL fleet_stat_entries(to_jsonb(b)) e
+GROUP BY e.metric, e.key
+UNION ALL
+SELECT 'VAN', e.metric, e.key, SUM(e.amount)
+FROM vans v CROSS JOIN LATERAL fleet_stat_entries(to_jsonb(v)) e
+GROUP BY e.metric, e.key
+UNION ALL
+SELECT 'BUS', 'feature', CAST(accessibility_features_id AS text), COUNT(*)
+FROM buses_accessibility_features GROUP BY accessibility_features_id
+UNION ALL
+SELECT 'VAN', 'feature', CAST(accessibility_features_id AS text), COUNT(*)
+FROM vans_accessibility_features GROUP BY accessibility_features_id;
+
+INSERT INTO fleet_stats (vehicle_type, metric, key, value)
+SELECT vehicle_type, metric, key, value FROM fleet_stats_expected WHERE value <> 0
+ON CONFLICT (vehicle_type, metric, key) DO UPDATE SET value = EXCLUDED.value;
+
+-- Transições (REFERENCING) só são permitidas em gatilhos de um único evento
+DROP TRIGGER IF EXISTS buses_stats_insert ON buses;
+CREATE TRIGGER buses_stats_insert AFTER INSERT ON buses
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION track_vehicle_stats('BUS');
+DROP TRIGGER IF EXISTS buses_stats_update ON buses;
+CREATE TRIGGER buses_stats_update AFTER UPDATE ON buses
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION track_vehicle_stats('BUS');
+DROP TRIGGER IF EXISTS buses_stats_delete ON buses;
+CREATE TRIGGER buses_stats_delete AFTER DELETE ON buses
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION track_vehicle_stats('BUS');
+
+DROP TRIGGER IF EXISTS vans_stats_insert ON vans;
+CREATE TRIGGER vans_stats_insert AFTER INSERT ON vans
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION track_vehicle_stats('VAN');
+DROP TRIGGER IF EXISTS vans_stats_update ON vans;
+CREATE TRIGGER vans_stats_update AFTER UPDATE ON vans
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION track_vehicle_stats('VAN');
+DROP TRIGGER IF EXISTS vans_stats_delete ON vans;
+CREATE TRIGGER vans_stats_delete AFTER DELETE ON vans
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION track_vehicle_stats('VAN');
+
+DROP TRIGGER IF EXISTS buses_features_stats_insert ON buses_accessibility_features;
+CREATE TRIGGER buses_features_stats_insert AFTER INSERT ON buses_accessibility_features
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION track_feature_stats('BUS');
+DROP TRIGGER IF EXISTS buses_features_stats_delete ON buses_accessibility_features;
+CREATE TRIGGER buses_features_stats_delete AFTER DELETE ON buses_accessibility_features
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION track_feature_stats('BUS');
+
+DROP TRIGGER IF EXISTS vans_features_stats_insert ON vans_accessibility_features;
+CREATE TRIGGER vans_features_stats_insert AFTER INSERT ON vans_accessibility_features
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION track_feature_stats('VAN');
+DROP TRIGGER IF EXISTS vans_features_stats_delete ON vans_accessibility_features;
+CREATE TRIGGER vans_features_stats_delete AFTER DELETE ON vans_accessibility_features
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION track_feature_stats('VAN');
@@ -0,0 +1,116 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.marcos.backend.dtos.ChangeEntity;
+import com.marcos.backend.dtos.ChangeOperation;
+import com.marcos.backend.dtos.VehicleType;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.repositories.ChangeEventRepository;
+import com.marcos.backend.services.AccessibilityFeatureIndex;
+import com.marcos.backend.services.AccessibilityFeatureService;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.services.ChangeEventPublisher;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+class AccessibilityFeatureIndexTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private AccessibilityFeatureIndex accessibilityFeatureIndex;
+
+	@Autowired
+	private AccessibilityFeatureService accessibilityFeatureService;
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private ChangeEventPublisher changeEventPublisher;
+
+	@Autowired
+	private ChangeEventRepository changeEventRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void indexesOnlyLinkedFeatures() {
+		Long ramp = feature("Rampa");
+		Bus bus = newBus("Neobus", "Spectrum");
+		bus.setAccessibilityFeatures(Set.of(reference(ramp), reference(987654321L)));
+		Long id = busService.save(bus).getId();
+		catchUp();
+
+		assertThat(accessibilityFeatureIndex.matchingAll(VehicleType.BUS, List.of(ramp)).contains(id.intValue()))
+				.isTrue();
+		assertThat(accessibilityFeatureIndex.featureCounts(VehicleType.BUS, null)).doesNotContainKey(987654321L);
+	}
+
+	@Test
+	void followsWritesFromOtherInstances() {
+		Long lift = feature("Elevador");
+		Long id = busService.save(newBus("Neobus", "Mega")).getId();
+		catchUp();
+		assertThat(accessibilityFeatureIndex.matchingAll(VehicleType.BUS, List.of(lift)).contains(id.intValue()))
+				.isFalse();
+
+		// Escrita de outra instância: só chega a esta pelo evento na outbox
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.update("INSERT INTO buses_accessibility_features (bus_id, accessibility_features_id) "
+					+ "VALUES (?, ?)", id, lift);
+			changeEventRepository.append(ChangeEntity.BUS, id, ChangeOperation.UPDATED, 1L);
+		});
+		catchUp();
+
+		assertThat(accessibilityFeatureIndex.matchingAll(VehicleType.BUS, List.of(lift)).contains(id.intValue()))
+				.isTrue();
+	}
+
+	@Test
+	void deletedFeatureLeavesIndex() {
+		Long signs = feature("Sinalização em Braille");
+		Bus bus = newBus("Comil", "Svelto");
+		bus.setAccessibilityFeatures(Set.of(reference(signs)));
+		Long id = busService.save(bus).getId();
+		catchUp();
+		assertThat(accessibilityFeatureIndex.featureCounts(VehicleType.BUS, null)).containsKey(signs);
+
+		// Meio Acessível em uso não pode ser removido: antes sai do veículo
+		Bus withoutFeatures = new Bus();
+		withoutFeatures.setAccessibilityFeatures(Set.of());
+		busService.patch(id, withoutFeatures, null);
+		accessibilityFeatureService.deleteById(signs, null);
+		catchUp();
+
+		assertThat(accessibilityFeatureIndex.featureCounts(VehicleType.BUS, null)).doesNotContainKey(signs);
+	}
+
+	private void catchUp() {
+		changeEventPublisher.publishPending();
+		accessibilityFeatureIndex.poll();
+	}
+
+	private Long feature(String name) {
+		AccessibilityFeature feature = new AccessibilityFeature();
+		feature.setName(name);
+		return accessibilityFeatureService.save(feature).getId();
+	}
+
+	private static AccessibilityFeature reference(Long id) {
+		AccessibilityFeature feature = new AccessibilityFeature();
+		feature.setId(id);
+		return feature;
+	}
+}
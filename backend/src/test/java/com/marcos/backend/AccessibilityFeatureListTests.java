@@ -0,0 +1,64 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.marcos.backend.dtos.AccessibilityFeatureList;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.services.AccessibilityFeatureService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+class AccessibilityFeatureListTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AccessibilityFeatureService accessibilityFeatureService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void bodyFollowsVersionWrittenElsewhere() throws Exception {
+		AccessibilityFeature audio = new AccessibilityFeature();
+		audio.setName("Aviso sonoro");
+		audio.setDescription("Anúncio das paradas");
+		accessibilityFeatureService.save(audio);
+
+		MvcResult first = mockMvc.perform(get("/accessibility-features")).andExpect(status().isOk()).andReturn();
+		String firstTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(first.getResponse().getContentAsString()).contains("Aviso sonoro");
+
+		// Escrita de outra instância (ou direto no banco): nenhum cache desta instância é removido
+		jdbcTemplate.update("INSERT INTO accessibility_features (name, description, version) VALUES (?, ?, 0)",
+				"Piso tátil", "Faixa de piso tátil até a porta");
+
+		MvcResult second = mockMvc.perform(get("/accessibility-features").header(HttpHeaders.IF_NONE_MATCH, firstTag))
+				.andExpect(status().isOk()).andReturn();
+		String secondTag = second.getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(secondTag).isNotEqualTo(firstTag);
+		assertThat(second.getResponse().getContentAsString()).contains("Aviso sonoro", "Piso tátil");
+
+		mockMvc.perform(get("/accessibility-features").header(HttpHeaders.IF_NONE_MATCH, secondTag))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void listAndVersionComeFromOneSnapshot() {
+		Long before = accessibilityFeatureService.listVersion();
+		AccessibilityFeatureList list = accessibilityFeatureService.findAllWithVersion();
+		assertThat(list.version()).isGreaterThanOrEqualTo(before);
+		assertThat(accessibilityFeatureService.findAllWithVersion()).isSameAs(list);
+		assertThat(list.features()).hasSize(jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM accessibility_features", Integer.class));
+	}
+}
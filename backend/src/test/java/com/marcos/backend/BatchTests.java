@@ -0,0 +1,152 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.marcos.backend.config.CacheConfig;
+import com.marcos.backend.dtos.VehicleType;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.services.AccessibilityFeatureIndex;
+import com.marcos.backend.services.AccessibilityFeatureService;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.services.ChangeEventPublisher;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// POST /batch: tudo ou nada, inclusive caches, outbox e índice de Meios Acessíveis
+class BatchTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private AccessibilityFeatureService accessibilityFeatureService;
+
+	@Autowired
+	private AccessibilityFeatureIndex accessibilityFeatureIndex;
+
+	@Autowired
+	private ChangeEventPublisher changeEventPublisher;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void failedOperationRollsBackEverything() throws Exception {
+		Long ramp = feature("Rampa");
+		Long id = busService.save(newBus("Caio", "Millennium")).getId();
+		String takenPlate = busService.save(newBus("Caio", "Apache")).getLicensePlate();
+		busService.findById(id);
+		long events = eventsOf(id);
+		assertThat(events).isPositive();
+
+		mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON).content("""
+				[{"op": "patch", "entity": "bus", "id": %d,
+				  "body": {"brand": "Comil", "accessibilityFeatures": [{"id": %d}]}},
+				 {"op": "create", "entity": "bus", "body": %s},
+				 {"op": "delete", "entity": "bus", "id": %d}]
+				""".formatted(id, ramp, busJson(takenPlate), id)))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.committed").value(false))
+				.andExpect(jsonPath("$.results[*].status", Matchers.contains(204, 409, 424)));
+
+		assertThat(jdbcTemplate.queryForObject("SELECT brand FROM buses WHERE id = ?", String.class, id))
+				.isEqualTo("Caio");
+		assertThat(cachedBus(id)).isNotNull().extracting(Bus::getBrand).isEqualTo("Caio");
+		assertThat(eventsOf(id)).isEqualTo(events);
+		catchUp();
+		assertThat(accessibilityFeatureIndex.matchingAll(VehicleType.BUS, List.of(ramp)).contains(id.intValue()))
+				.isFalse();
+	}
+
+	@Test
+	void committedBatchEvictsAndIndexes() throws Exception {
+		Long ramp = feature("Rampa");
+		Long id = busService.save(newBus("Caio", "Millennium")).getId();
+		busService.findById(id);
+
+		mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON).content("""
+				[{"op": "patch", "entity": "bus", "id": %d, "version": 0,
+				  "body": {"brand": "Comil", "accessibilityFeatures": [{"id": %d}]}},
+				 {"op": "create", "entity": "bus", "body": %s}]
+				""".formatted(id, ramp, busJson(uniquePlate()))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.committed").value(true))
+				.andExpect(jsonPath("$.results[*].status", Matchers.contains(204, 201)));
+
+		assertThat(cachedBus(id)).isNull();
+		assertThat(busService.findById(id)).get().extracting(Bus::getBrand).isEqualTo("Comil");
+		catchUp();
+		assertThat(accessibilityFeatureIndex.matchingAll(VehicleType.BUS, List.of(ramp)).contains(id.intValue()))
+				.isTrue();
+	}
+
+	// POST /batch e GET /stats passam pelo limite de requisições e pela contagem de comandos SQL
+	@Test
+	void batchAndStatsAreLimitedAndCounted() throws Exception {
+		mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"op\": \"create\", \"entity\": \"bus\", \"body\": " + busJson(uniquePlate()) + "}]"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/stats")).andExpect(status().isOk());
+
+		assertThat(meterRegistry.get("fleet.concurrency.available").tag("endpoint", "POST /batch").gauge().value())
+				.isEqualTo(2);
+		assertThat(meterRegistry.get("fleet.concurrency.available").tag("endpoint", "GET /stats").gauge().value())
+				.isEqualTo(20);
+		assertThat(meterRegistry.get("fleet.sql.statements").tag("uri", "/batch").summary().count()).isPositive();
+		assertThat(meterRegistry.get("fleet.sql.statements").tag("uri", "/stats").summary().count()).isPositive();
+	}
+
+	private Bus cachedBus(Long id) {
+		Cache cache = cacheManager.getCache(CacheConfig.BUSES);
+		return cache == null ? null : cache.get(id, Bus.class);
+	}
+
+	private long eventsOf(Long id) {
+		return jdbcTemplate.queryForObject("SELECT count(*) FROM change_events WHERE entity = 'BUS' AND entity_id = ?",
+				Long.class, id);
+	}
+
+	private void catchUp() {
+		changeEventPublisher.publishPending();
+		accessibilityFeatureIndex.poll();
+	}
+
+	private Long feature(String name) {
+		AccessibilityFeature feature = new AccessibilityFeature();
+		feature.setName(name);
+		return accessibilityFeatureService.save(feature).getId();
+	}
+
+	private static String busJson(String plate) {
+		return """
+				{"brand": "Marcopolo", "model": "Torino", "color": "Azul", "year": "2022",
+				 "licensePlate": "%s", "numberOfSeats": 44, "hasWifi": true, "hasAirConditioning": true}
+				""".formatted(plate);
+	}
+}
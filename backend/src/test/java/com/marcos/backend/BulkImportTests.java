@@ -0,0 +1,100 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.dtos.BulkImportResult;
+import com.marcos.backend.dtos.BulkRowResult;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.services.AccessibilityFeatureService;
+import com.marcos.backend.services.VanService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+// Importação CSV em mais de um bloco (1000 linhas por bloco), com linhas rejeitadas no meio
+class BulkImportTests extends PostgresIntegrationTest {
+
+	private static final int ROWS = 1203;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private VanService vanService;
+
+	@Autowired
+	private AccessibilityFeatureService accessibilityFeatureService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void csvImportRejectsOnlyInvalidRows() throws Exception {
+		AccessibilityFeature feature = new AccessibilityFeature();
+		feature.setName("Rampa");
+		Long ramp = accessibilityFeatureService.save(feature).getId();
+		// Placa de uma Van: a unicidade vale entre Ônibus e Vans
+		String vanPlate = vanService.save(newVan("Renault", "Master")).getLicensePlate();
+
+		List<String> plates = new ArrayList<>();
+		StringBuilder csv = new StringBuilder(
+				"model,brand,color,year,licensePlate,numberOfSeats,hasWifi,hasAirConditioning,accessibilityFeatures\n");
+		for (int row = 1; row <= ROWS; row++) {
+			String plate = uniquePlate();
+			plates.add(plate);
+			String brand = "Csvbus";
+			String seats = "40";
+			String features = String.valueOf(ramp);
+			switch (row) {
+				case 2 -> plate = plates.get(0).toLowerCase();
+				case 3 -> plate = vanPlate;
+				case 4 -> features = ramp + ";987654321";
+				case 5 -> brand = "";
+				case 6 -> seats = "quarenta";
+				// Segundo bloco, placa da primeira linha em outro formato
+				case 1100 -> plate = plates.get(0).substring(0, 3) + "-" + plates.get(0).substring(3);
+				default -> {
+				}
+			}
+			csv.append(String.join(",", "Torino", brand, "Azul", "2020", plate, seats, "true", "false", features))
+					.append('\n');
+		}
+
+		String body = mockMvc.perform(post("/buses/bulk").contentType("text/csv").content(csv.toString()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		BulkImportResult result = objectMapper.readValue(body, BulkImportResult.class);
+
+		Map<Integer, String> rejected = result.rows().stream()
+				.filter(row -> !row.imported())
+				.collect(Collectors.toMap(BulkRowResult::row, BulkRowResult::error));
+		assertThat(rejected).containsOnlyKeys(2, 3, 4, 5, 6, 1100);
+		assertThat(rejected.get(2)).startsWith("Placa repetida na importação");
+		assertThat(rejected.get(3)).startsWith("Placa já cadastrada");
+		assertThat(rejected.get(4)).startsWith("Meio Acessível inexistente");
+		assertThat(rejected.get(1100)).startsWith("Placa repetida na importação");
+
+		assertThat(result.total()).isEqualTo(ROWS);
+		assertThat(result.imported()).isEqualTo(ROWS - 6);
+		assertThat(result.rows()).extracting(BulkRowResult::row).isSorted();
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM buses WHERE brand = 'Csvbus'", Integer.class))
+				.isEqualTo(ROWS - 6);
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM buses_accessibility_features l "
+				+ "JOIN buses b ON b.id = l.bus_id WHERE b.brand = 'Csvbus'", Integer.class))
+				.isEqualTo(ROWS - 6);
+	}
+}
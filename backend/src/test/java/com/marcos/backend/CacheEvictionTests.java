@@ -0,0 +1,61 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.marcos.backend.config.CacheConfig;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+class CacheEvictionTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void evictionWaitsForCommit() {
+		Long id = busService.save(newBus("Marcopolo", "Torino")).getId();
+		busService.findById(id);
+		Cache buses = cacheManager.getCache(CacheConfig.BUSES);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			busService.patch(id, color("Azul"), null);
+			assertThat(buses.get(id)).isNotNull();
+		});
+
+		assertThat(buses.get(id)).isNull();
+	}
+
+	@Test
+	void rollbackKeepsCachedEntry() {
+		Long id = busService.save(newBus("Marcopolo", "Paradiso")).getId();
+		busService.findById(id);
+		Cache buses = cacheManager.getCache(CacheConfig.BUSES);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			busService.patch(id, color("Verde"), null);
+			status.setRollbackOnly();
+		});
+
+		assertThat(buses.get(id)).isNotNull();
+		assertThat(busService.findById(id)).get().extracting(Bus::getColor).isEqualTo("Branco");
+	}
+
+	private static Bus color(String color) {
+		Bus patch = new Bus();
+		patch.setColor(color);
+		return patch;
+	}
+}
@@ -0,0 +1,75 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.marcos.backend.dtos.ChangeEvent;
+import com.marcos.backend.dtos.ChangeFeed;
+import com.marcos.backend.repositories.ChangeEventRepository;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.services.ChangeEventPublisher;
+import com.marcos.backend.services.ChangeFeedService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+class ChangeFeedTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private ChangeEventPublisher changeEventPublisher;
+
+	@Autowired
+	private ChangeFeedService changeFeedService;
+
+	@Autowired
+	private ChangeEventRepository changeEventRepository;
+
+	@Test
+	void positionsKeepGrowingAfterPurge() throws Exception {
+		busService.save(newBus("Volvo", "B270F"));
+		busService.save(newBus("Volvo", "B340M"));
+		changeEventPublisher.publishPending();
+		long before = changeEventRepository.maxPosition();
+		assertThat(before).isGreaterThan(1);
+
+		changeEventRepository.deletePublishedBefore(Duration.ZERO);
+		assertThat(changeEventRepository.purgedThrough()).isEqualTo(before);
+
+		Long id = busService.save(newBus("Volvo", "B450R")).getId();
+		changeEventPublisher.publishPending();
+
+		ChangeFeed feed = changeFeedService.changesSince(before, 100);
+		assertThat(feed).isNotNull();
+		assertThat(feed.changes()).extracting(ChangeEvent::entityId).contains(id);
+		assertThat(feed.changes()).allSatisfy(change -> assertThat(change.position()).isGreaterThan(before));
+		assertThat(feed.nextSince()).isGreaterThan(before);
+		assertThat(changeEventRepository.maxPosition()).isEqualTo(feed.nextSince());
+	}
+
+	@Test
+	void sinceOlderThanRetentionIsGone() throws Exception {
+		busService.save(newBus("Scania", "K310"));
+		busService.save(newBus("Scania", "K360"));
+		changeEventPublisher.publishPending();
+		changeEventRepository.deletePublishedBefore(Duration.ZERO);
+		long purged = changeEventRepository.purgedThrough();
+
+		mockMvc.perform(get("/changes").param("since", String.valueOf(purged - 1)))
+				.andExpect(status().isGone());
+		mockMvc.perform(get("/changes").param("since", String.valueOf(purged)))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/changes").param("since", "0"))
+				.andExpect(status().isOk());
+	}
+}
@@ -0,0 +1,112 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.config.CoalescingProperties;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Coalescência das listagens pelo contexto completo (controller, serviço e commit da escrita)
+/*
+ * A janela de reutilização é ligada no próprio CoalescingProperties, como em
+ * SearchModeTests, para que requisições em sequência se comportem como simultâneas.
+ */
+class CoalescingTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private CoalescingProperties coalescingProperties;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private String brand;
+
+	@BeforeEach
+	void reuseResponses() {
+		coalescingProperties.setReuseWindow(Duration.ofMinutes(1));
+		brand = "Coalbus " + uniquePlate();
+	}
+
+	@AfterEach
+	void restoreWindow() {
+		coalescingProperties.setReuseWindow(Duration.ZERO);
+	}
+
+	@Test
+	void identicalListingsShareOneExecution() throws Exception {
+		busService.save(newBus(brand, "Torino"));
+		double executed = requests("executed");
+		double shared = requests("shared");
+
+		String first = list(brand, "10");
+		String second = list(brand, "10");
+		// Outra paginação é outra chave
+		list(brand, "5");
+
+		assertThat(second).isEqualTo(first);
+		assertThat(requests("executed")).isEqualTo(executed + 2);
+		assertThat(requests("shared")).isEqualTo(shared + 1);
+	}
+
+	@Test
+	void committedWriteIsVisibleToTheNextListing() throws Exception {
+		busService.save(newBus(brand, "Torino"));
+		assertThat(total(list(brand, "10"))).isEqualTo(1);
+
+		busService.save(newBus(brand, "Viale"));
+
+		assertThat(total(list(brand, "10"))).isEqualTo(2);
+	}
+
+	// Sem pesquisa e ?search=null são listagens diferentes, cada uma com a sua execução
+	@Test
+	void missingSearchIsNotTheTextNull() throws Exception {
+		busService.save(newBus(brand, "Torino"));
+		double executed = requests("executed");
+
+		String all = mockMvc.perform(get("/buses").param("size", "10"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		String literal = list("null", "10");
+
+		assertThat(total(all)).isPositive();
+		assertThat(total(literal)).isZero();
+		assertThat(requests("executed")).isEqualTo(executed + 2);
+	}
+
+	private String list(String search, String size) throws Exception {
+		return mockMvc.perform(get("/buses").param("search", search).param("size", size))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+	}
+
+	private long total(String page) throws Exception {
+		return objectMapper.readTree(page).get("totalElements").asLong();
+	}
+
+	private double requests(String outcome) {
+		return meterRegistry.counter("fleet.coalescing.requests", "outcome", outcome).count();
+	}
+}
@@ -0,0 +1,79 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Limite de requisições simultâneas por endpoint (fleet.concurrency.limits)
+/*
+ * Uma exportação iniciada e ainda não despachada segura a vaga (resposta
+ * assíncrona): com as duas vagas de GET /buses/export ocupadas, a terceira
+ * espera acquire-timeout e recebe 503.
+ */
+class ConcurrencyLimitTests extends PostgresIntegrationTest {
+
+	private static final String EXPORT = "GET /buses/export";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void requestAboveEndpointLimitIsRejectedUntilAPermitIsReleased() throws Exception {
+		double rejectedBefore = rejected();
+		List<MvcResult> running = new ArrayList<>();
+		try {
+			for (int i = 0; i < 2; i++) {
+				running.add(startExport());
+			}
+
+			mockMvc.perform(get("/buses/export"))
+					.andExpect(status().isServiceUnavailable())
+					.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+					.andExpect(jsonPath("$.status").value(503))
+					.andExpect(jsonPath("$.path").value("/buses/export"));
+			assertThat(rejected()).isEqualTo(rejectedBefore + 1);
+
+			// Outros endpoints têm vagas próprias
+			mockMvc.perform(get("/vans/export")).andExpect(request().asyncStarted()).andDo(this::finish);
+		} finally {
+			for (MvcResult started : running) {
+				finish(started);
+			}
+		}
+
+		// Vagas devolvidas no fim do envio
+		finish(startExport());
+	}
+
+	private MvcResult startExport() throws Exception {
+		return mockMvc.perform(get("/buses/export")).andExpect(request().asyncStarted()).andReturn();
+	}
+
+	private void finish(MvcResult started) throws Exception {
+		mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+	}
+
+	private double rejected() {
+		return meterRegistry.counter("fleet.concurrency.rejected", "endpoint", EXPORT).count();
+	}
+}
@@ -0,0 +1,128 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+import com.marcos.backend.utils.ETags;
+
+// ETag pela coluna version: If-None-Match (304) e If-Match (412 quando a versão não confere)
+class ConditionalRequestTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void ifNoneMatchAnswersNotModified() throws Exception {
+		Long id = busService.save(newBus("Caio", "Apache")).getId();
+
+		mockMvc.perform(get("/buses/{id}", id))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+		mockMvc.perform(get("/buses/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "W/\"0\""))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/buses/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"7\", \"8\""))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void staleIfMatchIsPreconditionFailed() throws Exception {
+		Long id = busService.save(newBus("Caio", "Apache")).getId();
+
+		patchBrand(id, "\"0\"", "Comil")
+				.andExpect(status().isNoContent())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+		patchBrand(id, "\"0\"", "Marcopolo").andExpect(status().isPreconditionFailed());
+		// ETag que o servidor nunca emitiu: nenhuma versão confere
+		patchBrand(id, "\"abc\"", "Marcopolo").andExpect(status().isPreconditionFailed());
+		assertThat(brandOf(id)).isEqualTo("Comil");
+
+		patchBrand(id, "*", "Marcopolo").andExpect(status().isNoContent());
+		assertThat(brandOf(id)).isEqualTo("Marcopolo");
+	}
+
+	@Test
+	void deleteChecksVersionAndExistence() throws Exception {
+		Long id = busService.save(newBus("Caio", "Apache")).getId();
+
+		mockMvc.perform(delete("/buses/{id}", id).header(HttpHeaders.IF_MATCH, "\"5\""))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(delete("/buses/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\""))
+				.andExpect(status().isNoContent());
+		mockMvc.perform(delete("/buses/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\""))
+				.andExpect(status().isNotFound());
+	}
+
+	// If-Match confere todas as ETags da lista, sem aceitar ETag fraca
+	@Test
+	void ifMatchChecksEveryStrongTag() throws Exception {
+		Long id = busService.save(newBus("Caio", "Apache")).getId();
+
+		patchBrand(id, "W/\"0\"", "Comil").andExpect(status().isPreconditionFailed());
+		patchBrand(id, "\"7\", \"0\"", "Comil")
+				.andExpect(status().isNoContent())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+		patchBrand(id, "\"0\", \"7\"", "Marcopolo").andExpect(status().isPreconditionFailed());
+		assertThat(brandOf(id)).isEqualTo("Comil");
+	}
+
+	// Frontend em outra origem: pode enviar If-Match/If-None-Match e ler o ETag
+	@Test
+	void corsAllowsConditionalHeaders() throws Exception {
+		Long id = busService.save(newBus("Caio", "Apache")).getId();
+
+		mockMvc.perform(options("/buses/{id}", id)
+				.header(HttpHeaders.ORIGIN, "http://localhost:5173")
+				.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PATCH")
+				.header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "if-match, if-none-match"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, "if-match, if-none-match"));
+		mockMvc.perform(get("/buses/{id}", id).header(HttpHeaders.ORIGIN, "http://localhost:5173"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, "ETag"));
+	}
+
+	@Test
+	void headerParsing() {
+		assertThat(ETags.expectedVersion(null, () -> 3L)).isNull();
+		assertThat(ETags.expectedVersion("*", () -> 3L)).isNull();
+		assertThat(ETags.expectedVersion("\"3\"", () -> 3L)).isEqualTo(3L);
+		assertThat(ETags.expectedVersion("\"abc\"", () -> 3L)).isEqualTo(-1L);
+		// Comparação forte: ETag fraca não corresponde
+		assertThat(ETags.expectedVersion("W/\"3\"", () -> 3L)).isEqualTo(-1L);
+		assertThat(ETags.expectedVersion("W/\"3\", \"5\"", () -> 3L)).isEqualTo(5L);
+		// Qualquer ETag da lista pode ser a atual
+		assertThat(ETags.expectedVersion("\"1\", \"2\", \"3\"", () -> 3L)).isEqualTo(3L);
+		assertThat(ETags.matches("*", 4L)).isTrue();
+		assertThat(ETags.matches("\"4\"", null)).isFalse();
+	}
+
+	private ResultActions patchBrand(Long id, String ifMatch, String brand) throws Exception {
+		return mockMvc.perform(patch("/buses/{id}", id).header(HttpHeaders.IF_MATCH, ifMatch)
+				.contentType(MediaType.APPLICATION_JSON).content("{\"brand\": \"" + brand + "\"}"));
+	}
+
+	private String brandOf(Long id) {
+		return jdbcTemplate.queryForObject("SELECT brand FROM buses WHERE id = ?", String.class, id);
+	}
+}
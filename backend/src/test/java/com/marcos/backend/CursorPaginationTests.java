@@ -0,0 +1,80 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.services.VanService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+import com.marcos.backend.utils.CursorCodec;
+
+class CursorPaginationTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private VanService vanService;
+
+	@Test
+	void pagesFollowIdsWithoutGapsOrRepeats() throws Exception {
+		List<Long> created = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			created.add(vanService.save(newVan("Cursorvan", "Sprinter " + i)).getId());
+		}
+
+		List<Long> seen = new ArrayList<>();
+		List<Boolean> hasNext = new ArrayList<>();
+		String cursor = null;
+		do {
+			JsonNode page = page(cursor);
+			page.get("content").forEach(van -> seen.add(van.get("id").asLong()));
+			hasNext.add(page.get("hasNext").asBoolean());
+			cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+		} while (cursor != null);
+
+		assertThat(seen).containsExactlyElementsOf(created);
+		assertThat(hasNext).containsExactly(true, true, false);
+	}
+
+	@Test
+	void malformedCursorOrSizeIsBadRequest() throws Exception {
+		mockMvc.perform(get("/vans/cursor").param("cursor", "!!!")).andExpect(status().isBadRequest());
+		// Base64 válido, mas sem o prefixo "id:"
+		mockMvc.perform(get("/vans/cursor").param("cursor", "MTIz")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/buses/cursor").param("size", "0")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/buses/cursor").param("size", "101")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void codecRoundTrip() {
+		assertThat(CursorCodec.decode(CursorCodec.encode(42L))).isEqualTo(42L);
+		assertThat(CursorCodec.decode(null)).isZero();
+		assertThat(CursorCodec.decode(" ")).isZero();
+		assertThatIllegalArgumentException().isThrownBy(() -> CursorCodec.decode("aWQ6eA"));
+	}
+
+	private JsonNode page(String cursor) throws Exception {
+		MockHttpServletRequestBuilder request = get("/vans/cursor").param("size", "2").param("search", "cursorvan");
+		if (cursor != null) {
+			request.param("cursor", cursor);
+		}
+		String body = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse()
+				.getContentAsString();
+		return objectMapper.readTree(body);
+	}
+}
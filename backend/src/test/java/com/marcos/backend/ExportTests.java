@@ -0,0 +1,148 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.entities.Van;
+import com.marcos.backend.services.AccessibilityFeatureService;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.services.VanService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+import com.marcos.backend.utils.VehicleCsv;
+
+// Exportação completa da frota em streaming (NDJSON e CSV)
+class ExportTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private VanService vanService;
+
+	@Autowired
+	private AccessibilityFeatureService accessibilityFeatureService;
+
+	@Test
+	void ndjsonHasOneLinePerBusWithFeatures() throws Exception {
+		AccessibilityFeature ramp = accessibilityFeatureService.save(feature("Rampa exportada"));
+		Bus bus = newBus("Exportbus", "Apache Vip");
+		bus.setAccessibilityFeatures(Set.of(ramp));
+		Long id = busService.save(bus).getId();
+
+		List<String> lines = export("/buses/export", "ndjson", "application/x-ndjson", "buses.ndjson");
+
+		assertThat(lines).hasSize(count("buses"));
+		JsonNode exported = null;
+		for (String line : lines) {
+			JsonNode node = objectMapper.readTree(line);
+			if (node.get("id").asLong() == id) {
+				exported = node;
+			}
+		}
+		assertThat(exported).isNotNull();
+		assertThat(exported.get("brand").asText()).isEqualTo("Exportbus");
+		assertThat(exported.at("/accessibilityFeatures/0/name").asText()).isEqualTo("Rampa exportada");
+	}
+
+	@Test
+	void csvHasHeaderQuotingAndFeatureIds() throws Exception {
+		AccessibilityFeature lift = accessibilityFeatureService.save(feature("Elevador exportado"));
+		AccessibilityFeature belt = accessibilityFeatureService.save(feature("Cinto exportado"));
+		Van van = newVan("Exportvan", "Sprinter, teto alto");
+		van.setAccessibilityFeatures(Set.of(lift, belt));
+		van = vanService.save(van);
+
+		List<String> lines = export("/vans/export", "csv", "text/csv", "vans.csv");
+
+		assertThat(lines).hasSize(count("vans") + 1);
+		assertThat(lines.get(0)).isEqualTo(VehicleCsv.VAN_HEADER);
+		String expected = van.getId() + ",\"Sprinter, teto alto\",Exportvan,Prata,2021," + van.getLicensePlate()
+				+ ",12,false,true,true,";
+		String line = lines.stream().filter(text -> text.startsWith(expected)).findFirst().orElseThrow();
+		assertThat(line.substring(expected.length()).split(";"))
+				.containsExactlyInAnyOrder(String.valueOf(lift.getId()), String.valueOf(belt.getId()));
+	}
+
+	// Quebra de linha dentro de um campo: a exportação põe aspas e a importação lê o campo inteiro
+	@Test
+	void csvWithLineBreaksRoundTrips() throws Exception {
+		String model = "Torino\nLinha 2\r\nLinha 3";
+		Bus bus = busService.save(newBus("Exportbus", model));
+
+		String csv = exportBody("/buses/export", "csv", "text/csv", "buses.csv");
+		busService.deleteById(bus.getId(), null);
+		int others = count("buses");
+
+		// As demais linhas do arquivo já existem e voltam recusadas por placa repetida
+		mockMvc.perform(post("/buses/bulk").contentType("text/csv").content(csv))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.total").value(others + 1))
+				.andExpect(jsonPath("$.imported").value(1));
+		assertThat(jdbcTemplate.queryForObject("SELECT model FROM buses WHERE license_plate = ?", String.class,
+				bus.getLicensePlate())).isEqualTo(model);
+	}
+
+	@Test
+	void unknownFormatIsBadRequest() throws Exception {
+		mockMvc.perform(get("/buses/export").param("format", "xml")).andExpect(status().isBadRequest());
+	}
+
+	private List<String> export(String path, String format, String contentType, String filename)
+			throws Exception {
+		return exportBody(path, format, contentType, filename).lines().toList();
+	}
+
+	private String exportBody(String path, String format, String contentType, String filename)
+			throws Exception {
+		MvcResult started = mockMvc.perform(get(path).param("format", format))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		MvcResult result = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_TYPE, contentType))
+				.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename))
+				.andReturn();
+		return result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+	}
+
+	private int count(String table) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+	}
+
+	private static AccessibilityFeature feature(String name) {
+		AccessibilityFeature feature = new AccessibilityFeature();
+		feature.setName(name);
+		feature.setDescription(name);
+		return feature;
+	}
+}
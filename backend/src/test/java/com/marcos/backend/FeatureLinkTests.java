@@ -0,0 +1,111 @@
+package com.marcos.backend;
+
+import static com.marcos.backend.support.StatementCountAssertions.assertIndependentOfPageSize;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.marcos.backend.config.StatementCounter;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.services.AccessibilityFeatureService;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+// Ligações Veículo ↔ Meio Acessível: uma tabela por tipo, de dono único (Bus/Van)
+class FeatureLinkTests extends PostgresIntegrationTest {
+
+	private static final int FLEET = 20;
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private AccessibilityFeatureService accessibilityFeatureService;
+
+	@Autowired
+	private StatementCounter statementCounter;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void linksLiveOnlyInTheVehicleTable() {
+		AccessibilityFeature ramp = accessibilityFeatureService.save(feature("Rampa ligada"));
+		Bus bus = newBus("Linkbus", "Torino");
+		bus.setAccessibilityFeatures(Set.of(ramp));
+		Long id = busService.save(bus).getId();
+
+		assertThat(linkedFeatures(id)).containsExactly(ramp.getId());
+		assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('accessibility_features_buses') IS NULL",
+				Boolean.class)).isTrue();
+		// O lado inverso enxerga a mesma ligação
+		Integer inverse = transactionTemplate.execute(status -> accessibilityFeatureService.findById(ramp.getId())
+				.orElseThrow().getBuses().size());
+		assertThat(inverse).isEqualTo(1);
+	}
+
+	// Troca de Meios Acessíveis por diferença: a ligação mantida não é apagada e regravada
+	@Test
+	void changingFeaturesKeepsUnchangedLinks() {
+		AccessibilityFeature ramp = accessibilityFeatureService.save(feature("Rampa mantida"));
+		AccessibilityFeature lift = accessibilityFeatureService.save(feature("Elevador removido"));
+		AccessibilityFeature belt = accessibilityFeatureService.save(feature("Cinto adicionado"));
+		Bus bus = newBus("Linkbus", "Viale");
+		bus.setAccessibilityFeatures(Set.of(ramp, lift));
+		Long id = busService.save(bus).getId();
+		String kept = linkCtid(id, ramp.getId());
+
+		Bus changes = new Bus();
+		changes.setAccessibilityFeatures(Set.of(ramp, belt));
+		busService.patch(id, changes, null);
+
+		assertThat(linkedFeatures(id)).containsExactlyInAnyOrder(ramp.getId(), belt.getId());
+		assertThat(linkCtid(id, ramp.getId())).isEqualTo(kept);
+	}
+
+	// @BatchSize: os Meios Acessíveis de uma página de entidades saem de uma consulta IN
+	@Test
+	void entityPageLoadsFeaturesInOneBatch() throws Exception {
+		AccessibilityFeature ramp = accessibilityFeatureService.save(feature("Rampa em lote"));
+		String brand = "Linkbatch " + uniquePlate();
+		for (int i = 0; i < FLEET; i++) {
+			Bus bus = newBus(brand, "Torino");
+			bus.setAccessibilityFeatures(Set.of(ramp));
+			busService.save(bus);
+		}
+
+		assertIndependentOfPageSize(statementCounter, size -> transactionTemplate.executeWithoutResult(status ->
+				busService.searchByBrandOrModel(brand, PageRequest.of(0, size, Sort.by("id")))
+						.forEach(bus -> assertThat(bus.getAccessibilityFeatures()).containsExactly(ramp))),
+				1, 10, FLEET);
+	}
+
+	private List<Long> linkedFeatures(Long busId) {
+		return jdbcTemplate.queryForList("SELECT accessibility_features_id FROM buses_accessibility_features "
+				+ "WHERE bus_id = ?", Long.class, busId);
+	}
+
+	private String linkCtid(Long busId, Long featureId) {
+		return jdbcTemplate.queryForObject("SELECT ctid::text FROM buses_accessibility_features "
+				+ "WHERE bus_id = ? AND accessibility_features_id = ?", String.class, busId, featureId);
+	}
+
+	private static AccessibilityFeature feature(String name) {
+		AccessibilityFeature feature = new AccessibilityFeature();
+		feature.setName(name);
+		feature.setDescription(name);
+		return feature;
+	}
+}
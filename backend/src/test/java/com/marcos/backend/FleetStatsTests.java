@@ -0,0 +1,169 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.marcos.backend.dtos.VehicleType;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.entities.Van;
+import com.marcos.backend.repositories.FleetStatsRepository;
+import com.marcos.backend.services.AccessibilityFeatureService;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.services.FleetStatsService;
+import com.marcos.backend.services.VanService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Contadores de /stats (migração V9): gatilhos a cada escrita e conferência periódica
+class FleetStatsTests extends PostgresIntegrationTest {
+
+	// Contadores diferentes do recálculo completo (fleet_stats_expected), nos dois sentidos
+	private static final String DIFFERENCES = "SELECT count(*) FROM ("
+			+ "(SELECT vehicle_type, metric, key, value FROM fleet_stats WHERE value <> 0 "
+			+ "EXCEPT SELECT vehicle_type, metric, key, value FROM fleet_stats_expected WHERE value <> 0) "
+			+ "UNION ALL "
+			+ "(SELECT vehicle_type, metric, key, value FROM fleet_stats_expected WHERE value <> 0 "
+			+ "EXCEPT SELECT vehicle_type, metric, key, value FROM fleet_stats WHERE value <> 0)) d";
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private VanService vanService;
+
+	@Autowired
+	private AccessibilityFeatureService accessibilityFeatureService;
+
+	@Autowired
+	private FleetStatsService fleetStatsService;
+
+	@Autowired
+	private FleetStatsRepository fleetStatsRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void triggersFollowEveryWrite() {
+		AccessibilityFeature ramp = feature("Rampa");
+		Bus bus = newBus("Statsbus", "Torino");
+		bus.setAccessibilityFeatures(Set.of(ramp));
+		Long busId = busService.save(bus).getId();
+		busService.save(newBus("Statsbus", "Viale"));
+		Van van = newVan("Statsvan", "Sprinter");
+		van.setAccessibilityFeatures(Set.of(ramp));
+		Long vanId = vanService.save(van).getId();
+		assertThat(brandCount(VehicleType.BUS, "Statsbus")).isEqualTo(2);
+
+		Bus change = new Bus();
+		change.setBrand("Statsother");
+		change.setNumberOfSeats(12);
+		change.setAccessibilityFeatures(Set.of());
+		busService.patch(busId, change, null);
+		vanService.deleteById(vanId, null);
+
+		assertThat(brandCount(VehicleType.BUS, "Statsbus")).isEqualTo(1);
+		assertThat(brandCount(VehicleType.BUS, "Statsother")).isEqualTo(1);
+		assertThat(brandCount(VehicleType.VAN, "Statsvan")).isZero();
+		assertThat(jdbcTemplate.queryForObject(DIFFERENCES, Long.class)).isZero();
+	}
+
+	@Test
+	void reconcileRepairsDrift() {
+		busService.save(newBus("Driftbus", "Torino"));
+		// Escritas direto em fleet_stats não passam pelos gatilhos
+		jdbcTemplate.update("UPDATE fleet_stats SET value = value + 100 "
+				+ "WHERE vehicle_type = 'BUS' AND metric = 'brand' AND key = 'Driftbus'");
+		jdbcTemplate.update("INSERT INTO fleet_stats (vehicle_type, metric, key, value) "
+				+ "VALUES ('VAN', 'brand', 'Driftghost', 3)");
+		assertThat(jdbcTemplate.queryForObject(DIFFERENCES, Long.class)).isEqualTo(3);
+		double before = meterRegistry.counter("fleet.stats.drift").count();
+
+		fleetStatsService.reconcile();
+
+		assertThat(jdbcTemplate.queryForObject(DIFFERENCES, Long.class)).isZero();
+		assertThat(brandCount(VehicleType.BUS, "Driftbus")).isEqualTo(1);
+		assertThat(meterRegistry.counter("fleet.stats.drift").count() - before).isEqualTo(2);
+	}
+
+	// Com a conferência ainda aberta, uma escrita de outra conexão não espera por ela
+	@Test
+	void reconcileDoesNotBlockVehicleWrites() {
+		busService.save(newBus("Lockbus", "Torino"));
+		drift("Lockbus", 5);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			assertThat(fleetStatsRepository.tryLockReconcile()).isTrue();
+			assertThat(fleetStatsRepository.reconcile()).isEqualTo(1);
+			insertBus("Lockother");
+		});
+
+		assertThat(jdbcTemplate.queryForObject(DIFFERENCES, Long.class)).isZero();
+		assertThat(brandCount(VehicleType.BUS, "Lockother")).isEqualTo(1);
+	}
+
+	// Outra instância conferindo (lock consultivo ocupado): a rodada é pulada
+	@Test
+	void onlyOneInstanceReconciles() throws SQLException {
+		busService.save(newBus("Skipbus", "Torino"));
+		drift("Skipbus", 7);
+
+		try (Connection other = postgres().getPostgresDatabase().getConnection();
+				Statement statement = other.createStatement()) {
+			statement.execute("BEGIN");
+			statement.execute("SELECT pg_advisory_xact_lock(" + 0x0F1EE7 + ")");
+			fleetStatsService.reconcile();
+			assertThat(brandCount(VehicleType.BUS, "Skipbus")).isEqualTo(8);
+			statement.execute("COMMIT");
+		}
+
+		fleetStatsService.reconcile();
+		assertThat(brandCount(VehicleType.BUS, "Skipbus")).isEqualTo(1);
+	}
+
+	private void drift(String brand, long amount) {
+		jdbcTemplate.update("UPDATE fleet_stats SET value = value + ? "
+				+ "WHERE vehicle_type = 'BUS' AND metric = 'brand' AND key = ?", amount, brand);
+	}
+
+	// INSERT por uma conexão própria, que desiste se precisar esperar por um lock
+	private static void insertBus(String brand) {
+		try (Connection other = postgres().getPostgresDatabase().getConnection();
+				Statement statement = other.createStatement()) {
+			statement.execute("SET lock_timeout = '2s'");
+			statement.execute("INSERT INTO buses (id, model, brand, color, year, license_plate, number_of_seats, "
+					+ "has_wifi, has_air_conditioning, version, search_text) VALUES (nextval('buses_seq'), "
+					+ "'Viale', '" + brand + "', 'Branco', '2020', '" + uniquePlate() + "', 40, true, false, 0, "
+					+ "'" + brand.toLowerCase() + " viale')");
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private long brandCount(VehicleType type, String brand) {
+		return fleetStatsService.stats().types().get(type).brands().getOrDefault(brand, 0L);
+	}
+
+	private AccessibilityFeature feature(String name) {
+		AccessibilityFeature feature = new AccessibilityFeature();
+		feature.setName(name);
+		return accessibilityFeatureService.save(feature);
+	}
+}
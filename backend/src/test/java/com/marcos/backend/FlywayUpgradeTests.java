@@ -0,0 +1,91 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+// Atualização de um banco criado antes das migrações (esquema em db/pre-migration-schema.sql)
+class FlywayUpgradeTests {
+
+	private static final String DATABASE = "pre_migration";
+
+	@Test
+	void upgradesPreMigrationDatabase() throws Exception {
+		JdbcTemplate admin = jdbc("postgres");
+		admin.execute("DROP DATABASE IF EXISTS " + DATABASE);
+		admin.execute("CREATE DATABASE " + DATABASE);
+		JdbcTemplate legacy = jdbc(DATABASE);
+		legacy.execute(new ClassPathResource("db/pre-migration-schema.sql").getContentAsString(StandardCharsets.UTF_8));
+
+		// Sobe a aplicação com a configuração real (Flyway + ddl-auto=validate) sobre o banco antigo
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+				.web(WebApplicationType.NONE)
+				.run("--spring.datasource.url=" + url(DATABASE), "--spring.datasource.username=postgres",
+						"--spring.datasource.password=", "--fleet.outbox.publisher-enabled=false",
+						"--fleet.stats.reconcile-enabled=false")) {
+			assertThat(context.getBean(Flyway.class).info().pending()).isEmpty();
+			assertThat(legacy.queryForObject("SELECT version FROM flyway_schema_history WHERE installed_rank = 1",
+					String.class)).isEqualTo("0");
+
+			// Ligações antigas copiadas, sem repetição, e tabelas paralelas removidas
+			assertThat(legacy.queryForList("SELECT accessibility_features_id FROM buses_accessibility_features "
+					+ "WHERE bus_id = 1 ORDER BY 1", Long.class)).containsExactly(1L, 2L);
+			assertThat(legacy.queryForList("SELECT accessibility_features_id FROM vans_accessibility_features "
+					+ "WHERE van_id = 1 ORDER BY 1", Long.class)).containsExactly(1L, 2L);
+			assertThat(legacy.queryForObject("SELECT to_regclass('accessibility_features_buses') IS NULL",
+					Boolean.class)).isTrue();
+
+			// search_text calculado uma única vez, pela migração Java (SearchText)
+			assertThat(legacy.queryForList("SELECT version || ' ' || type FROM flyway_schema_history "
+					+ "WHERE description ILIKE '%search text%'", String.class)).containsExactly("4 JDBC");
+			assertThat(legacy.queryForObject("SELECT search_text FROM buses WHERE id = 1", String.class))
+					.isEqualTo("marcopolo onibus eletrico");
+			assertThat(legacy.queryForObject("SELECT search_text FROM vans WHERE id = 2", String.class))
+					.isEqualTo("skoda citigo");
+			assertThat(legacy.queryForObject("SELECT count(*) FROM vehicle_plates", Long.class)).isEqualTo(4);
+			assertThat(legacy.queryForList("(SELECT vehicle_type, metric, key, value FROM fleet_stats_expected "
+					+ "WHERE value <> 0) EXCEPT (SELECT vehicle_type, metric, key, value FROM fleet_stats)")).isEmpty();
+			assertThat(legacy.queryForObject("SELECT value FROM fleet_stats WHERE vehicle_type = 'BUS' "
+					+ "AND metric = 'vehicles'", Long.class)).isEqualTo(3);
+
+			// Novo Ônibus pela sequência (ajustada depois dos ids IDENTITY existentes)
+			Bus bus = new Bus();
+			bus.setBrand("Volvo");
+			bus.setModel("B8R");
+			bus.setColor("Branco");
+			bus.setYear("2024");
+			bus.setLicensePlate("JKL3456");
+			bus.setNumberOfSeats(46);
+			bus.setHasWifi(true);
+			bus.setHasAirConditioning(true);
+			Bus saved = context.getBean(BusService.class).save(bus);
+			assertThat(saved.getId()).isGreaterThan(3);
+			assertThat(saved.getVersion()).isZero();
+			List<Map<String, Object>> rows = legacy.queryForList("SELECT id FROM buses ORDER BY id");
+			assertThat(rows).hasSize(4);
+		}
+	}
+
+	private static String url(String database) {
+		return PostgresIntegrationTest.postgres().getJdbcUrl("postgres", database);
+	}
+
+	private static JdbcTemplate jdbc(String database) throws Exception {
+		return new JdbcTemplate(new SingleConnectionDataSource(url(database), "postgres", "", true));
+	}
+}
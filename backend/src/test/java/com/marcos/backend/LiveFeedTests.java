@@ -0,0 +1,62 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+// Feed ao vivo pelas tarefas agendadas (publicação da outbox e leitura do feed)
+class LiveFeedTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BusService busService;
+
+	@Test
+	void vehicleLeavingFilterIsSentAsRemoval() throws Exception {
+		Long id = busService.save(newBus("Irizar", "i6")).getId();
+		MvcResult stream = mockMvc.perform(get("/changes/stream").param("search", "irizar"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		patchBus(id, "{\"model\": \"i6S\"}");
+		String updated = "\"entityId\":" + id + ",\"operation\":\"UPDATED\"";
+		awaitContent(stream, content -> content.contains(updated));
+
+		patchBus(id, "{\"brand\": \"Marcopolo\"}");
+		String removed = "\"entityId\":" + id + ",\"operation\":\"DELETED\"";
+		String content = awaitContent(stream, text -> text.contains(removed));
+
+		assertThat(content).containsOnlyOnce(updated).contains(removed + ",\"version\":2,\"data\":null");
+	}
+
+	private void patchBus(Long id, String body) throws Exception {
+		mockMvc.perform(patch("/buses/{id}", id).contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isNoContent());
+	}
+
+	private static String awaitContent(MvcResult stream, Predicate<String> condition) throws Exception {
+		long deadline = System.currentTimeMillis() + 10_000;
+		String content = stream.getResponse().getContentAsString();
+		while (!condition.test(content) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(100);
+			content = stream.getResponse().getContentAsString();
+		}
+		assertThat(condition).accepts(content);
+		return content;
+	}
+}
@@ -0,0 +1,90 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+// Métricas em /actuator/prometheus e log de consultas lentas (fleet.slow-query)
+class ObservabilityTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final ListAppender<ILoggingEvent> slowQueries = new ListAppender<>();
+
+	@BeforeEach
+	void captureSlowQueries() {
+		slowQueries.start();
+		slowQueryLogger().addAppender(slowQueries);
+	}
+
+	@AfterEach
+	void releaseSlowQueries() {
+		slowQueryLogger().detachAppender(slowQueries);
+	}
+
+	@Test
+	void prometheusExposesRequestServiceRepositoryAndSqlMetrics() throws Exception {
+		mockMvc.perform(get("/buses").param("size", "1")).andExpect(status().isOk());
+		mockMvc.perform(get("/vehicles").param("size", "1")).andExpect(status().isOk());
+
+		String scrape = mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		assertThat(scrape)
+				.containsPattern("http_server_requests_seconds_bucket\\{[^}]*uri=\"/buses\"")
+				.containsPattern("fleet_service_seconds_bucket\\{[^}]*method=\"searchSummaries\"")
+				.containsPattern("fleet_repository_seconds_count\\{[^}]*class=\"[\\w.]*VehicleCatalogRepository\"")
+				.containsPattern("spring_data_repository_invocations_seconds_bucket\\{")
+				.containsPattern("fleet_sql_statements_count\\{[^}]*uri=\"/vehicles\"")
+				.containsPattern("hikaricp_connections_active\\{[^}]*pool=\"fleet-pool\"")
+				.containsPattern("cache_gets_total\\{[^}]*cache=\"buses\"");
+	}
+
+	@Test
+	void onlyStatementsAboveThresholdAreLogged() {
+		jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+		assertThat(ownSlowQueries()).isEmpty();
+
+		// Acima de fleet.observability.slow-query-threshold (200ms): uma linha chave=valor
+		jdbcTemplate.execute("SELECT pg_sleep(0.3)");
+		assertThat(ownSlowQueries()).singleElement()
+				.extracting(ILoggingEvent::getFormattedMessage)
+				.asString()
+				.matches("slow-query durationMs=\\d+ type=STATEMENT batchSize=0 success=true "
+						+ "sql=\"SELECT pg_sleep\\(0.3\\)\"");
+	}
+
+	// Só os comandos desta thread: as tarefas agendadas também podem passar do limite
+	// (o appender grava sincronizado nele mesmo)
+	private List<ILoggingEvent> ownSlowQueries() {
+		String thread = Thread.currentThread().getName();
+		synchronized (slowQueries) {
+			return slowQueries.list.stream().filter(event -> thread.equals(event.getThreadName())).toList();
+		}
+	}
+
+	private static Logger slowQueryLogger() {
+		return (Logger) LoggerFactory.getLogger("fleet.slow-query");
+	}
+}
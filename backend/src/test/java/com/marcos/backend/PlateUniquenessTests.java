@@ -0,0 +1,104 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.entities.Van;
+import com.marcos.backend.exceptions.DuplicatePlateException;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.services.VanService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+// Gatilhos de placa (migração V8): plate_key normalizada e única entre Ônibus e Vans
+class PlateUniquenessTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private VanService vanService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void insertRegistersNormalizedPlate() throws Exception {
+		String plate = uniquePlate();
+		Bus bus = newBus("Caio", "Apache");
+		bus.setLicensePlate(dashed(plate).toLowerCase());
+		Long id = busService.save(bus).getId();
+
+		assertThat(jdbcTemplate.queryForObject("SELECT plate_key FROM buses WHERE id = ?", String.class, id))
+				.isEqualTo(plate);
+		assertThat(registration(plate)).containsEntry("vehicle_type", "BUS").containsEntry("vehicle_id", id);
+
+		mockMvc.perform(get("/vehicles/by-plate/{plate}", " " + plate.toLowerCase()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.type").value("BUS"))
+				.andExpect(jsonPath("$.id").value(id));
+	}
+
+	@Test
+	void samePlateIsRejectedAcrossTypes() {
+		String plate = uniquePlate();
+		Bus bus = newBus("Caio", "Apache");
+		bus.setLicensePlate(plate);
+		busService.save(bus);
+
+		Van van = newVan("Renault", "Master");
+		van.setLicensePlate(dashed(plate));
+		assertThatThrownBy(() -> vanService.save(van)).isInstanceOf(DuplicatePlateException.class);
+		// Direto no banco, sem passar pela aplicação: o gatilho também recusa
+		assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO vans (id, license_plate, version) "
+				+ "VALUES (nextval('vans_seq'), ?, 0)", plate.toLowerCase()))
+				.hasMessageContaining("vehicle_plates_pkey");
+	}
+
+	@Test
+	void changingOrDeletingFreesPlate() {
+		String first = uniquePlate();
+		String second = uniquePlate();
+		Bus bus = newBus("Caio", "Apache");
+		bus.setLicensePlate(first);
+		Long id = busService.save(bus).getId();
+
+		Bus plateOnly = new Bus();
+		plateOnly.setLicensePlate(second);
+		busService.patch(id, plateOnly, null);
+		assertThat(registration(first)).isNull();
+		assertThat(registration(second)).containsEntry("vehicle_id", id);
+
+		Van van = newVan("Renault", "Master");
+		van.setLicensePlate(first);
+		Long vanId = vanService.save(van).getId();
+		assertThat(registration(first)).containsEntry("vehicle_type", "VAN").containsEntry("vehicle_id", vanId);
+
+		busService.deleteById(id, null);
+		assertThat(registration(second)).isNull();
+	}
+
+	private Map<String, Object> registration(String plateKey) {
+		List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+				"SELECT vehicle_type, vehicle_id FROM vehicle_plates WHERE plate_key = ?", plateKey);
+		return rows.isEmpty() ? null : rows.get(0);
+	}
+
+	private static String dashed(String plate) {
+		return plate.substring(0, 3) + "-" + plate.substring(3);
+	}
+}
@@ -0,0 +1,123 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.marcos.backend.config.SearchIndexInitializer;
+import com.marcos.backend.config.SearchMode;
+import com.marcos.backend.config.SearchProperties;
+import com.marcos.backend.dtos.AccessibilityFeatureSummary;
+import com.marcos.backend.dtos.BusSummary;
+import com.marcos.backend.dtos.CursorPage;
+import com.marcos.backend.dtos.VanSummary;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.services.AccessibilityFeatureService;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.services.VanService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+// Pesquisa por Marca ou Modelo nos dois modos (fleet.search.mode)
+/*
+ * O modo é trocado no próprio SearchProperties, e não com outra configuração,
+ * para não subir um segundo contexto com os agendamentos no mesmo banco.
+ * O SearchIndexInitializer roda de novo para criar pg_trgm e os índices GIN.
+ */
+class SearchModeTests extends PostgresIntegrationTest {
+
+	private static final PageRequest FIRST_PAGE = PageRequest.of(0, 10, Sort.by("id"));
+
+	@Autowired
+	private SearchProperties searchProperties;
+
+	@Autowired
+	private SearchIndexInitializer searchIndexInitializer;
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private VanService vanService;
+
+	@Autowired
+	private AccessibilityFeatureService accessibilityFeatureService;
+
+	@AfterEach
+	void restoreMode() {
+		searchProperties.setMode(SearchMode.LIKE);
+	}
+
+	@Test
+	void likeModeOrdersByRequestedSort() {
+		Long longer = busService.save(newBus("Trgmarca Rodoviaria Extra", "Paradiso Longo")).getId();
+		Long exact = busService.save(newBus("Trgmarca", "G8")).getId();
+
+		assertThat(busService.searchSummaries("TRGMARCA", FIRST_PAGE).map(BusSummary::id))
+				.containsExactly(longer, exact);
+	}
+
+	@Test
+	void trigramModeOrdersByRelevanceAndIgnoresAccents() {
+		useTrigram();
+		AccessibilityFeature ramp = accessibilityFeatureService.save(feature("Rampa trigrama"));
+		Long longer = busService.save(newBus("Trgrelevo Rodoviaria Extra", "Paradiso Longo")).getId();
+		Bus exactBus = newBus("Trgrelevo", "G8");
+		exactBus.setAccessibilityFeatures(Set.of(ramp));
+		Long exact = busService.save(exactBus).getId();
+		busService.save(newBus("Marcopolo", "Torino"));
+
+		// A mais parecida com o termo vem primeiro, mesmo com id maior
+		Page<BusSummary> page = busService.searchSummaries("TRGRELEVO", FIRST_PAGE);
+		assertThat(page.map(BusSummary::id)).containsExactly(exact, longer);
+		assertThat(page.getTotalElements()).isEqualTo(2);
+		assertThat(page.getContent().get(0).brand()).isEqualTo("Trgrelevo");
+		assertThat(page.getContent().get(0).accessibilityFeatures())
+				.extracting(AccessibilityFeatureSummary::name).containsExactly("Rampa trigrama");
+
+		Long van = vanService.save(newVan("Trgcaminhão", "Ducato")).getId();
+		assertThat(vanService.searchSummaries("trgcaminhao", FIRST_PAGE).map(VanSummary::id)).containsExactly(van);
+	}
+
+	// Cursor no modo TRIGRAM: mesmos registros da pesquisa por relevância (sem acentos), em ordem de id
+	@Test
+	void trigramCursorMatchesWithoutAccentsInIdOrder() {
+		Long first = busService.save(newBus("Trgcursôr", "Paradiso")).getId();
+		Long second = busService.save(newBus("Marcopolo", "TRGCURSOR G8")).getId();
+		Long third = busService.save(newBus("Trgcursor", "Torino")).getId();
+
+		assertThat(busService.findSummariesAfter("trgcursor", null, 10).content()).extracting(BusSummary::id)
+				.containsExactly(second, third);
+
+		useTrigram();
+		CursorPage<BusSummary> page = busService.findSummariesAfter("TRGCURSOR", null, 2);
+		assertThat(page.content()).extracting(BusSummary::id).containsExactly(first, second);
+		assertThat(page.hasNext()).isTrue();
+		CursorPage<BusSummary> next = busService.findSummariesAfter("TRGCURSOR", page.nextCursor(), 2);
+		assertThat(next.content()).extracting(BusSummary::id).containsExactly(third);
+		assertThat(next.hasNext()).isFalse();
+
+		Long van = vanService.save(newVan("Trgcursão", "Ducato")).getId();
+		assertThat(vanService.findSummariesAfter("trgcursao", null, 10).content()).extracting(VanSummary::id)
+				.containsExactly(van);
+	}
+
+	private void useTrigram() {
+		searchProperties.setMode(SearchMode.TRIGRAM);
+		searchIndexInitializer.run(null);
+	}
+
+	private static AccessibilityFeature feature(String name) {
+		AccessibilityFeature feature = new AccessibilityFeature();
+		feature.setName(name);
+		feature.setDescription(name);
+		return feature;
+	}
+}
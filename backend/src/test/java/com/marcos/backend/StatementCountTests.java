@@ -0,0 +1,111 @@
+package com.marcos.backend;
+
+import static com.marcos.backend.support.StatementCountAssertions.assertIndependentOfPageSize;
+import static com.marcos.backend.support.StatementCountAssertions.capture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Set;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.marcos.backend.config.StatementCounter;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.entities.Van;
+import com.marcos.backend.services.AccessibilityFeatureService;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.services.VanService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+// Listagens com a mesma quantidade de comandos SQL para qualquer tamanho de página (sem N+1)
+class StatementCountTests extends PostgresIntegrationTest {
+
+	private static final int FLEET = 30;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private StatementCounter statementCounter;
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private VanService vanService;
+
+	@Autowired
+	private AccessibilityFeatureService accessibilityFeatureService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// Páginas cheias até o maior tamanho usado, cada veículo com dois Meios Acessíveis
+	@BeforeEach
+	void fleet() {
+		AccessibilityFeature ramp = accessibilityFeatureService.save(feature("Rampa"));
+		AccessibilityFeature audio = accessibilityFeatureService.save(feature("Aviso sonoro"));
+		for (int i = 0; i < FLEET; i++) {
+			Bus bus = newBus("Marcopolo", "Torino");
+			bus.setAccessibilityFeatures(Set.of(ramp, audio));
+			busService.save(bus);
+			Van van = newVan("Mercedes", "Sprinter");
+			van.setAccessibilityFeatures(Set.of(ramp, audio));
+			vanService.save(van);
+		}
+	}
+
+	// A contagem é no JDBC: comandos do JdbcTemplate também entram
+	@Test
+	void countsJdbcTemplateStatements() throws Exception {
+		assertThat(capture(statementCounter, () -> jdbcTemplate.queryForObject("SELECT 1", Integer.class)).count())
+				.isEqualTo(1);
+		assertThat(capture(statementCounter, () -> list("/vehicles", 5)).count()).isPositive();
+	}
+
+	@Test
+	void busesPage() throws Exception {
+		assertIndependentOfPageSize(statementCounter, size -> list("/buses", size), 1, 10, FLEET);
+	}
+
+	@Test
+	void vansPage() throws Exception {
+		assertIndependentOfPageSize(statementCounter, size -> list("/vans", size), 1, 10, FLEET);
+	}
+
+	@Test
+	void vehiclesPage() throws Exception {
+		assertIndependentOfPageSize(statementCounter, size -> list("/vehicles", size), 1, 10, FLEET);
+	}
+
+	// Sem paginação: o "tamanho" é a quantidade de Meios Acessíveis criados antes da leitura
+	@Test
+	void accessibilityFeatureList() throws Exception {
+		assertIndependentOfPageSize(statementCounter, size -> {
+			for (int i = 0; i < size; i++) {
+				accessibilityFeatureService.save(feature("Extra " + i));
+			}
+		}, size -> mockMvc.perform(get("/accessibility-features")).andExpect(status().isOk()), 1, 10, FLEET);
+	}
+
+	private void list(String path, int size) throws Exception {
+		mockMvc.perform(get(path).param("size", String.valueOf(size)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content", Matchers.hasSize(size)));
+	}
+
+	private static AccessibilityFeature feature(String name) {
+		AccessibilityFeature feature = new AccessibilityFeature();
+		feature.setName(name);
+		feature.setDescription(name);
+		return feature;
+	}
+}
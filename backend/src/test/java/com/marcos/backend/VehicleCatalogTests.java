@@ -0,0 +1,141 @@
+package com.marcos.backend;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Set;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.entities.Van;
+import com.marcos.backend.services.AccessibilityFeatureIndex;
+import com.marcos.backend.services.AccessibilityFeatureService;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.services.ChangeEventPublisher;
+import com.marcos.backend.services.VanService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+// Catálogo unificado (/vehicles): filtros de Ônibus e Vans em uma consulta, com as facetas
+/*
+ * Cada teste cria dois Meios Acessíveis novos e uma marca própria, então as
+ * contagens por Meio Acessível só enxergam os veículos do próprio teste,
+ * venham do SQL (com filtros de coluna) ou do índice em memória (sem eles).
+ */
+class VehicleCatalogTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private VanService vanService;
+
+	@Autowired
+	private AccessibilityFeatureService accessibilityFeatureService;
+
+	@Autowired
+	private ChangeEventPublisher changeEventPublisher;
+
+	@Autowired
+	private AccessibilityFeatureIndex accessibilityFeatureIndex;
+
+	private String brand;
+	private AccessibilityFeature ramp;
+	private AccessibilityFeature lift;
+	private Long fullBus;
+	private Long fullVan;
+
+	// Ônibus e Van com os dois Meios Acessíveis, mais um de cada com só a rampa
+	@BeforeEach
+	void fleet() {
+		brand = "Catalogo " + uniquePlate();
+		ramp = accessibilityFeatureService.save(feature("Rampa do catálogo"));
+		lift = accessibilityFeatureService.save(feature("Elevador do catálogo"));
+
+		Bus bus = newBus(brand, "Torino");
+		bus.setAccessibilityFeatures(Set.of(ramp, lift));
+		fullBus = busService.save(bus).getId();
+		Bus rampOnly = newBus(brand, "Viale");
+		rampOnly.setAccessibilityFeatures(Set.of(ramp));
+		busService.save(rampOnly);
+
+		Van van = newVan(brand + " Vans", "Sprinter");
+		van.setAccessibilityFeatures(Set.of(ramp, lift));
+		fullVan = vanService.save(van).getId();
+		Van rampOnlyVan = newVan(brand + " Vans", "Daily");
+		rampOnlyVan.setHasStorageSpace(false);
+		rampOnlyVan.setAccessibilityFeatures(Set.of(ramp));
+		vanService.save(rampOnlyVan);
+
+		changeEventPublisher.publishPending();
+		accessibilityFeatureIndex.poll();
+	}
+
+	@Test
+	void columnFiltersCountTypesBrandsAndFeatures() throws Exception {
+		search(get("/vehicles").param("search", brand).param("size", "3"))
+				.andExpect(jsonPath("$.totalElements").value(4))
+				.andExpect(jsonPath("$.totalPages").value(2))
+				.andExpect(jsonPath("$.content", Matchers.hasSize(3)))
+				.andExpect(jsonPath("$.facets.types.BUS").value(2))
+				.andExpect(jsonPath("$.facets.types.VAN").value(2))
+				.andExpect(jsonPath("$.facets.brands['" + brand + "']").value(2))
+				.andExpect(jsonPath("$.facets.brands['" + brand + " Vans']").value(2))
+				.andExpect(jsonPath("$.facets.features['" + ramp.getId() + "']").value(4))
+				.andExpect(jsonPath("$.facets.features['" + lift.getId() + "']").value(2));
+
+		search(get("/vehicles").param("search", brand).param("type", "van").param("hasStorageSpace", "true"))
+				.andExpect(jsonPath("$.totalElements").value(1))
+				.andExpect(jsonPath("$.content[0].type").value("VAN"))
+				.andExpect(jsonPath("$.content[0].id").value(fullVan))
+				.andExpect(jsonPath("$.content[0].accessibilityFeatures", Matchers.hasSize(2)));
+	}
+
+	@Test
+	void featureFilterRequiresEveryFeature() throws Exception {
+		// Sem filtros de coluna: ids e contagens saem do índice em memória
+		search(get("/vehicles").param("features", ramp.getId() + "," + lift.getId()))
+				.andExpect(jsonPath("$.totalElements").value(2))
+				.andExpect(jsonPath("$.content[*].id", Matchers.containsInAnyOrder(
+						fullBus.intValue(), fullVan.intValue())))
+				.andExpect(jsonPath("$.facets.features['" + ramp.getId() + "']").value(2))
+				.andExpect(jsonPath("$.facets.features['" + lift.getId() + "']").value(2));
+
+		// Com filtro de coluna as mesmas contagens vêm da consulta
+		search(get("/vehicles").param("features", String.valueOf(lift.getId())).param("type", "bus")
+				.param("minSeats", "30"))
+				.andExpect(jsonPath("$.totalElements").value(1))
+				.andExpect(jsonPath("$.content[0].id").value(fullBus))
+				.andExpect(jsonPath("$.content[0].hasStorageSpace").value(Matchers.nullValue()))
+				.andExpect(jsonPath("$.facets.features['" + ramp.getId() + "']").value(1));
+	}
+
+	@Test
+	void invalidParametersAreBadRequest() throws Exception {
+		mockMvc.perform(get("/vehicles").param("type", "truck")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/vehicles").param("size", "0")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/vehicles").param("page", "-1")).andExpect(status().isBadRequest());
+	}
+
+	private ResultActions search(MockHttpServletRequestBuilder request) throws Exception {
+		return mockMvc.perform(request).andExpect(status().isOk());
+	}
+
+	private static AccessibilityFeature feature(String name) {
+		AccessibilityFeature feature = new AccessibilityFeature();
+		feature.setName(name);
+		feature.setDescription(name);
+		return feature;
+	}
+}
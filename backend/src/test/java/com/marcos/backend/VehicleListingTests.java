@@ -0,0 +1,104 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.entities.Van;
+import com.marcos.backend.services.AccessibilityFeatureService;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.services.VanService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+// Listagens de Ônibus e Vans pelos resumos (projeções), com os Meios Acessíveis preenchidos por página
+class VehicleListingTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private VanService vanService;
+
+	@Autowired
+	private AccessibilityFeatureService accessibilityFeatureService;
+
+	@Test
+	void busPageCarriesSummaryFieldsAndFeatureNames() throws Exception {
+		AccessibilityFeature ramp = accessibilityFeatureService.save(feature("Rampa de listagem"));
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Bus bus = newBus("Listabus", "Paradiso " + i);
+			if (i == 0) {
+				bus.setAccessibilityFeatures(Set.of(ramp));
+			}
+			ids.add(busService.save(bus).getId());
+		}
+
+		JsonNode page = list("/buses", "listabus", 2);
+		assertThat(page.get("totalElements").asLong()).isEqualTo(3);
+		assertThat(page.get("totalPages").asInt()).isEqualTo(2);
+		JsonNode first = page.get("content").get(0);
+		assertThat(first.get("id").asLong()).isEqualTo(ids.get(0));
+		assertThat(first.get("brand").asText()).isEqualTo("Listabus");
+		assertThat(first.get("model").asText()).isEqualTo("Paradiso 0");
+		assertThat(first.get("licensePlate").asText()).startsWith("TST");
+		assertThat(first.get("numberOfSeats").asInt()).isEqualTo(40);
+		// Resumo do Meio Acessível: só id e nome
+		JsonNode features = first.get("accessibilityFeatures");
+		assertThat(features).hasSize(1);
+		assertThat(features.get(0).get("id").asLong()).isEqualTo(ramp.getId());
+		assertThat(features.get(0).get("name").asText()).isEqualTo("Rampa de listagem");
+		assertThat(features.get(0).has("description")).isFalse();
+		assertThat(page.get("content").get(1).get("accessibilityFeatures")).isEmpty();
+	}
+
+	@Test
+	void vanSearchMatchesBrandOrModelIgnoringCase() throws Exception {
+		AccessibilityFeature lift = accessibilityFeatureService.save(feature("Elevador de listagem"));
+		Van byBrand = newVan("Listavan", "Master");
+		byBrand.setAccessibilityFeatures(Set.of(lift));
+		Long brandId = vanService.save(byBrand).getId();
+		Long modelId = vanService.save(newVan("Renault", "LISTAVAN Cargo")).getId();
+		vanService.save(newVan("Renault", "Kangoo"));
+
+		JsonNode page = list("/vans", "listavan", 10);
+		List<Long> ids = new ArrayList<>();
+		page.get("content").forEach(van -> ids.add(van.get("id").asLong()));
+		assertThat(ids).containsExactly(brandId, modelId);
+		JsonNode first = page.get("content").get(0);
+		assertThat(first.get("hasStorageSpace").asBoolean()).isTrue();
+		assertThat(first.at("/accessibilityFeatures/0/name").asText()).isEqualTo("Elevador de listagem");
+	}
+
+	private JsonNode list(String path, String search, int size) throws Exception {
+		String body = mockMvc.perform(get(path).param("search", search).param("size", String.valueOf(size)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private static AccessibilityFeature feature(String name) {
+		AccessibilityFeature feature = new AccessibilityFeature();
+		feature.setName(name);
+		feature.setDescription(name);
+		return feature;
+	}
+}
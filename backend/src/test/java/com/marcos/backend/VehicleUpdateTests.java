@@ -0,0 +1,90 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.services.AccessibilityFeatureService;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.services.VanService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+import com.marcos.backend.utils.SearchText;
+
+class VehicleUpdateTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private VanService vanService;
+
+	@Autowired
+	private AccessibilityFeatureService accessibilityFeatureService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void patchComputesSearchTextLikeCreate() throws Exception {
+		Long id = busService.save(newBus("Caio", "Apache")).getId();
+
+		// Š fica fora da tabela Latin-1 do antigo translate(); a decomposição NFD remove o acento
+		mockMvc.perform(patch("/buses/{id}", id).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"brand\": \"Škoda Ônibus\"}"))
+				.andExpect(status().isNoContent());
+
+		assertThat(jdbcTemplate.queryForObject("SELECT search_text FROM buses WHERE id = ?", String.class, id))
+				.isEqualTo(SearchText.of("Škoda Ônibus", "Apache"))
+				.isEqualTo("skoda onibus apache");
+	}
+
+	@Test
+	void patchWithoutBrandOrModelKeepsSearchText() throws Exception {
+		Long id = vanService.save(newVan("Renault", "Máster")).getId();
+
+		mockMvc.perform(patch("/vans/{id}", id).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"color\": \"Preto\"}"))
+				.andExpect(status().isNoContent());
+
+		assertThat(jdbcTemplate.queryForObject("SELECT search_text FROM vans WHERE id = ?", String.class, id))
+				.isEqualTo("renault master");
+	}
+
+	@Test
+	void putReturnsPersistedStateWithLinkedFeatures() throws Exception {
+		AccessibilityFeature ramp = new AccessibilityFeature();
+		ramp.setName("Rampa");
+		ramp.setDescription("Rampa de acesso");
+		Long rampId = accessibilityFeatureService.save(ramp).getId();
+		Long id = busService.save(newBus("Mascarello", "Gran Via")).getId();
+
+		mockMvc.perform(put("/buses/{id}", id).contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"brand": "Mascarello", "model": "Roma", "color": "Cinza", "year": "2022",
+						 "licensePlate": "%s", "numberOfSeats": 42, "hasWifi": false, "hasAirConditioning": true,
+						 "accessibilityFeatures": [{"id": %d}, {"id": 987654321}]}
+						""".formatted(uniquePlate(), rampId)))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"1\""))
+				.andExpect(jsonPath("$.version").value(1))
+				.andExpect(jsonPath("$.model").value("Roma"))
+				.andExpect(jsonPath("$.accessibilityFeatures", hasSize(1)))
+				.andExpect(jsonPath("$.accessibilityFeatures[*].name", contains("Rampa")))
+				.andExpect(jsonPath("$.accessibilityFeatures[0].version").value(0));
+	}
+}
@@ -0,0 +1,127 @@
+package com.marcos.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.config.StatementCounter;
+import com.marcos.backend.dtos.AccessibilityFeatureView;
+import com.marcos.backend.dtos.BusView;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.repositories.BusRepository;
+import com.marcos.backend.services.AccessibilityFeatureService;
+import com.marcos.backend.services.BusService;
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+import jakarta.persistence.EntityManager;
+
+// Respostas pelos records de visualização: sem lados inversos e sem carregamento preguiçoso
+class ViewSerializationTests extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private BusService busService;
+
+	@Autowired
+	private BusRepository busRepository;
+
+	@Autowired
+	private AccessibilityFeatureService accessibilityFeatureService;
+
+	@Autowired
+	private StatementCounter statementCounter;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void linkedEntitiesSerializeWithoutCycles() throws Exception {
+		AccessibilityFeature ramp = accessibilityFeatureService.save(feature("Rampa da visualização"));
+		Bus bus = newBus("Viewbus", "Torino");
+		bus.setAccessibilityFeatures(Set.of(ramp));
+		Long id = busService.save(bus).getId();
+
+		mockMvc.perform(get("/buses/{id}", id))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.version").value(0))
+				.andExpect(jsonPath("$.accessibilityFeatures[0].name").value("Rampa da visualização"))
+				.andExpect(jsonPath("$.accessibilityFeatures[0].description").value("Rampa da visualização"))
+				.andExpect(jsonPath("$.accessibilityFeatures[0].buses").doesNotExist());
+		mockMvc.perform(get("/accessibility-features/{id}", ramp.getId()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").value("Rampa da visualização"))
+				.andExpect(jsonPath("$.buses").doesNotExist())
+				.andExpect(jsonPath("$.vans").doesNotExist());
+	}
+
+	// Fora da sessão a coleção não carregada vira null em vez de LazyInitializationException
+	@Test
+	void unloadedCollectionIsNull() {
+		Long id = busService.save(newBus("Viewbus", "Viale")).getId();
+		Bus detached = busRepository.findById(id).orElseThrow();
+
+		JsonNode json = objectMapper.valueToTree(BusView.of(detached));
+		assertThat(json.get("brand").asText()).isEqualTo("Viewbus");
+		assertThat(json.get("accessibilityFeatures").isNull()).isTrue();
+	}
+
+	// Referência não inicializada: só o id, sem consulta; igual à entidade carregada
+	@Test
+	void uninitializedReferenceNeedsNoQuery() {
+		Long id = accessibilityFeatureService.save(feature("Elevador da visualização")).getId();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			AccessibilityFeature reference = entityManager.getReference(AccessibilityFeature.class, id);
+			StatementCounter.Capture capture = statementCounter.start();
+			AccessibilityFeatureView view = AccessibilityFeatureView.of(reference);
+			statementCounter.stop(capture);
+
+			assertThat(capture.count()).isZero();
+			assertThat(view).isEqualTo(new AccessibilityFeatureView(id, null, null, null));
+
+			// equals lê só a classe e o id do proxy, sem inicializá-lo
+			entityManager.clear();
+			AccessibilityFeature loaded = entityManager.find(AccessibilityFeature.class, id);
+			assertThat(loaded.equals(reference)).isTrue();
+		});
+	}
+
+	// hashCode não muda quando o id é gerado: a entidade continua achável no Set
+	@Test
+	void hashSurvivesIdGeneration() {
+		Bus bus = newBus("Viewbus", "Mega");
+		Set<Bus> buses = new HashSet<>(Set.of(bus));
+		busService.save(bus);
+
+		assertThat(bus.getId()).isNotNull();
+		assertThat(buses).contains(bus);
+		assertThat(busRepository.findById(bus.getId()).orElseThrow()).isEqualTo(bus);
+	}
+
+	private static AccessibilityFeature feature(String name) {
+		AccessibilityFeature feature = new AccessibilityFeature();
+		feature.setName(name);
+		feature.setDescription(name);
+		return feature;
+	}
+}
@@ -0,0 +1,99 @@
+package com.marcos.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.marcos.backend.support.PostgresIntegrationTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Roteamento primário/réplica sem contexto Spring: a "réplica" é o próprio banco embutido
+class ReplicaRoutingDataSourceTests {
+
+	private ReplicaRoutingDataSource routing;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		DataSource database = PostgresIntegrationTest.postgres().getPostgresDatabase();
+		ReplicaRoutingProperties properties = new ReplicaRoutingProperties();
+		properties.setLagCheckInterval(Duration.ofMillis(50));
+		routing = new ReplicaRoutingDataSource(database, Map.of("replica-1", database), properties,
+				new SimpleMeterRegistry());
+		routing.afterPropertiesSet();
+
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!"replica-1".equals(routing.determineCurrentLookupKey()) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		TransactionSynchronizationManager.clearSynchronization();
+		routing.destroy();
+	}
+
+	@Test
+	void readOnlyGoesToReplica() {
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-1");
+	}
+
+	@Test
+	void cacheFillsGoToPrimary() {
+		assertThat(PrimaryReads.call(() -> routing.determineCurrentLookupKey()))
+				.isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-1");
+	}
+
+	@Test
+	void withoutReplicasReadsGoToPrimary() throws Exception {
+		ReplicaRoutingDataSource primaryOnly = new ReplicaRoutingDataSource(
+				PostgresIntegrationTest.postgres().getPostgresDatabase(), Map.of(), new ReplicaRoutingProperties(),
+				new SimpleMeterRegistry());
+		primaryOnly.afterPropertiesSet();
+		try {
+			assertThat(primaryOnly.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+		} finally {
+			primaryOnly.destroy();
+		}
+	}
+
+	// Roteamento ligado sem réplicas: a configuração é recusada na inicialização
+	@Test
+	void enabledWithoutReplicasFailsAtStartup() {
+		ApplicationContextRunner runner = new ApplicationContextRunner()
+				.withUserConfiguration(RoutingProperties.class);
+
+		runner.withPropertyValues("fleet.datasource.routing.enabled=true")
+				.run(context -> assertThat(context).hasFailed()
+						.getFailure().rootCause().hasMessageContaining("replicas"));
+		runner.withPropertyValues("fleet.datasource.routing.enabled=true",
+				"fleet.datasource.routing.replicas[0].url=jdbc:postgresql://replica1:5432/poo")
+				.run(context -> assertThat(context).hasNotFailed());
+	}
+
+	@Test
+	void lagQueryRunsOnPrimary() {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(PostgresIntegrationTest.postgres().getPostgresDatabase());
+		assertThat(jdbcTemplate.queryForObject(ReplicaRoutingDataSource.LAG_QUERY, Double.class)).isZero();
+	}
+
+	@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+	static class RoutingProperties {
+	}
+}
@@ -0,0 +1,69 @@
+package com.marcos.backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.config.CoalescingProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+
+// Coalescência sem contexto Spring: janela de reutilização longa para observar o compartilhamento
+class ResponseCoalescerTests {
+
+	private ResponseCoalescer coalescer;
+
+	@BeforeEach
+	void setUp() {
+		CoalescingProperties properties = new CoalescingProperties();
+		properties.setReuseWindow(Duration.ofMinutes(1));
+		coalescer = new ResponseCoalescer(new ObjectMapper(), properties, new SimpleMeterRegistry());
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void identicalRequestsShareOneExecution() {
+		assertThat(list("first")).isEqualTo("\"first\"");
+		assertThat(list("second")).isEqualTo("\"first\"");
+	}
+
+	@Test
+	void committedWriteStartsNewGeneration() {
+		list("before");
+		coalescer.invalidateAfterCommit();
+
+		assertThat(list("after")).isEqualTo("\"after\"");
+		assertThat(list("again")).isEqualTo("\"after\"");
+	}
+
+	@Test
+	void stickyClientDoesNotJoinReplicaFlight() {
+		list("replica");
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(new Cookie("fleet-read-primary-until",
+				String.valueOf(System.currentTimeMillis() + 60_000)));
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+		assertThat(list("primary")).isEqualTo("\"primary\"");
+		assertThat(list("primary again")).isEqualTo("\"primary\"");
+	}
+
+	private String list(String value) {
+		return new String(coalescer.json("buses", "page=0", () -> value), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,85 @@
+package com.marcos.backend.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.entities.Van;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// Base dos testes de integração: PostgreSQL embutido, migrado pelo Flyway na subida do contexto
+/*
+ * Um único servidor por execução e um único contexto Spring para todas as
+ * subclasses (mesma configuração): os testes não dependem uns dos outros,
+ * por isso cada um cria seus próprios registros com placas únicas.
+ * Com o registro Prometheus ligado, como em produção (/actuator/prometheus).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+public abstract class PostgresIntegrationTest {
+
+	private static final EmbeddedPostgres POSTGRES = start();
+
+	private static final AtomicInteger PLATES = new AtomicInteger();
+
+	private static EmbeddedPostgres start() {
+		try {
+			return EmbeddedPostgres.builder().start();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public static EmbeddedPostgres postgres() {
+		return POSTGRES;
+	}
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url",
+				() -> POSTGRES.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "");
+	}
+
+	// Placa ainda não usada nesta execução (TST0001, TST0002, ...)
+	protected static String uniquePlate() {
+		return String.format("TST%04d", PLATES.incrementAndGet());
+	}
+
+	protected static Bus newBus(String brand, String model) {
+		Bus bus = new Bus();
+		bus.setBrand(brand);
+		bus.setModel(model);
+		bus.setColor("Branco");
+		bus.setYear("2020");
+		bus.setLicensePlate(uniquePlate());
+		bus.setNumberOfSeats(40);
+		bus.setHasWifi(true);
+		bus.setHasAirConditioning(false);
+		return bus;
+	}
+
+	protected static Van newVan(String brand, String model) {
+		Van van = new Van();
+		van.setBrand(brand);
+		van.setModel(model);
+		van.setColor("Prata");
+		van.setYear("2021");
+		van.setLicensePlate(uniquePlate());
+		van.setNumberOfSeats(12);
+		van.setHasWifi(false);
+		van.setHasStorageSpace(true);
+		van.setHasAirConditioning(true);
+		return van;
+	}
+}
@@ -0,0 +1,69 @@
+package com.marcos.backend.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.marcos.backend.config.StatementCounter;
+
+// Asserções sobre a quantidade de comandos SQL (testes de integração)
+/*
+ * Uso com MockMvc, injetando o StatementCounter do contexto:
+ *
+ * assertIndependentOfPageSize(counter,
+ *         size -> mockMvc.perform(get("/buses").param("size", String.valueOf(size))), 1, 10, 50);
+ *
+ * Falha quando a quantidade de comandos muda com o tamanho da página (N+1).
+ */
+public final class StatementCountAssertions {
+
+	@FunctionalInterface
+	public interface Action {
+		void run() throws Exception;
+	}
+
+	@FunctionalInterface
+	public interface SizedAction {
+		void run(int size) throws Exception;
+	}
+
+	private StatementCountAssertions() {
+	}
+
+	public static StatementCounter.Capture capture(StatementCounter counter, Action action)
+			throws Exception {
+		StatementCounter.Capture capture = counter.start();
+		try {
+			action.run();
+		} finally {
+			counter.stop(capture);
+		}
+		return capture;
+	}
+
+	public static void assertAtMost(StatementCounter counter, long max, Action action) throws Exception {
+		StatementCounter.Capture capture = capture(counter, action);
+		if (capture.count() > max) {
+			throw new AssertionError("Esperado no máximo " + max + " comandos SQL, executados " + capture.count()
+					+ " (mais repetido " + capture.maxRepeats() + "x: " + capture.mostRepeated() + ")");
+		}
+	}
+
+	public static void assertIndependentOfPageSize(StatementCounter counter, SizedAction action,
+			int... sizes) throws Exception {
+		assertIndependentOfPageSize(counter, size -> {
+		}, action, sizes);
+	}
+
+	// prepare roda antes de cada medição, fora da contagem (ex.: criar size registros)
+	public static void assertIndependentOfPageSize(StatementCounter counter, SizedAction prepare,
+			SizedAction action, int... sizes) throws Exception {
+		Map<Integer, Long> counts = new LinkedHashMap<>();
+		for (int size : sizes) {
+			prepare.run(size);
+			counts.put(size, capture(counter, () -> action.run(size)).count());
+		}
+		if (counts.values().stream().distinct().count() > 1) {
+			throw new AssertionError("Comandos SQL variam com o tamanho da página (tamanho=comandos): " + counts);
+		}
+	}
+}
@@ -0,0 +1,39 @@
+-- Esquema de um banco criado pela versão original (spring.jpa.hibernate.ddl-auto=update),
+-- antes das migrações: ids IDENTITY, sem version/search_text/sequências, ligações
+-- duplicadas (accessibility_features_buses/_vans) e sem chave primária.
+-- Gerado pelo Hibernate da versão original, seguido de alguns registros.
+
+create table accessibility_features (id bigint generated by default as identity, description varchar(255), name varchar(255), primary key (id));
+create table accessibility_features_buses (accessibility_feature_id bigint not null, buses_id bigint not null);
+create table accessibility_features_vans (accessibility_feature_id bigint not null, vans_id bigint not null);
+create table buses (has_air_conditioning boolean, has_wifi boolean, number_of_seats integer, id bigint generated by default as identity, brand varchar(255), color varchar(255), license_plate varchar(255), model varchar(255), year varchar(255), primary key (id));
+create table buses_accessibility_features (accessibility_features_id bigint not null, bus_id bigint not null);
+create table vans (has_air_conditioning boolean, has_storage_space boolean, has_wifi boolean, number_of_seats integer, id bigint generated by default as identity, brand varchar(255), color varchar(255), license_plate varchar(255), model varchar(255), year varchar(255), primary key (id));
+create table vans_accessibility_features (accessibility_features_id bigint not null, van_id bigint not null);
+alter table if exists accessibility_features_buses add constraint FKisb5nvi8kopbqxkgx6ej468vi foreign key (buses_id) references buses;
+alter table if exists accessibility_features_buses add constraint FK8op5uirobph19fhrm2a85ei87 foreign key (accessibility_feature_id) references accessibility_features;
+alter table if exists accessibility_features_vans add constraint FK7mdb0gfioxwf7atp0ux704uws foreign key (vans_id) references vans;
+alter table if exists accessibility_features_vans add constraint FKk8wvb4lfenno6iiblh491m68g foreign key (accessibility_feature_id) references accessibility_features;
+alter table if exists buses_accessibility_features add constraint FKlg8gjbot9py1kc9m0wyfup7wc foreign key (accessibility_features_id) references accessibility_features;
+alter table if exists buses_accessibility_features add constraint FKcj81fm1xj0wqjrsf8atywig7e foreign key (bus_id) references buses;
+alter table if exists vans_accessibility_features add constraint FKt1olwfumi3ty3x9f82u15iyy6 foreign key (accessibility_features_id) references accessibility_features;
+alter table if exists vans_accessibility_features add constraint FK4b2i44q6raoxjm2j0c54yt937 foreign key (van_id) references vans;
+
+INSERT INTO accessibility_features (name, description) VALUES
+    ('Rampa', 'Rampa de acesso'),
+    ('Elevador', 'Elevador para cadeira de rodas');
+
+INSERT INTO buses (brand, model, color, year, license_plate, number_of_seats, has_wifi, has_air_conditioning) VALUES
+    ('Marcopolo', 'Ônibus Elétrico', 'Branco', '2019', 'ABC-1234', 44, true, true),
+    ('Caio', 'Apache Vip', 'Azul', '2015', 'DEF5678', 38, false, true),
+    ('Caio', 'Millennium', 'Azul', '2016', 'def-5678', 40, false, false);
+
+INSERT INTO vans (brand, model, color, year, license_plate, number_of_seats, has_wifi, has_air_conditioning,
+        has_storage_space) VALUES
+    ('Mercedes-Benz', 'Sprinter', 'Prata', '2020', 'GHI9012', 15, true, true, true),
+    ('Škoda', 'Citigo', 'Vermelho', '2018', 'MNO3456', 8, false, true, false);
+
+INSERT INTO buses_accessibility_features (bus_id, accessibility_features_id) VALUES (1, 1), (1, 1), (2, 2);
+INSERT INTO accessibility_features_buses (accessibility_feature_id, buses_id) VALUES (2, 1), (1, 1);
+INSERT INTO vans_accessibility_features (van_id, accessibility_features_id) VALUES (1, 2);
+INSERT INTO accessibility_features_vans (accessibility_feature_id, vans_id) VALUES (1, 1);
@@ -0,0 +1,43 @@
+package com.marcos.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Executa os benchmarks com o profiler de GC (taxa de alocação) e grava o resultado em JSON
+/*
+ * Aceita as mesmas opções da linha de comando do JMH (ex.: "Serialization -p fleetSize=1000").
+ * Sem -rf/-rff o resultado vai para target/jmh-result.json, para comparar execuções.
+ */
+public class BenchmarkRunner {
+
+    private static final String RESULT_FILE = "target/jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackageName() + ".*Benchmark");
+            // Depende do build "mvn -Pfast-startup package" do backend; roda só quando pedido ("Startup")
+            options.exclude(StartupBenchmark.class.getName());
+            // Carga HTTP com 256 clientes: roda só quando pedida ("Load")
+            options.exclude(LoadBenchmark.class.getName());
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(RESULT_FILE);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,174 @@
+package com.marcos.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.marcos.backend.BackendApplication;
+import com.marcos.backend.entities.AccessibilityFeature;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.repositories.AccessibilityFeatureRepository;
+import com.marcos.backend.repositories.ChangeEventRepository;
+import com.marcos.backend.services.AccessibilityFeatureIndex;
+import com.marcos.backend.services.BulkImportService;
+import com.marcos.backend.services.ChangeEventPublisher;
+import com.marcos.backend.services.LiveFeedService;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// Frota de benchmark: PostgreSQL embutido + contexto Spring do backend
+/*
+ * Cada fork do JMH sobe um PostgreSQL local (embedded-postgres), inicia o
+ * backend sem servidor web e grava fleetSize Ônibus pela importação em lote.
+ * Os benchmarks usam os beans reais (repositórios, serviços, ObjectMapper).
+ *
+ * Tamanhos de 1 mil a 1 milhão de Ônibus. A carga é feita em blocos de
+ * SEED_CHUNK para não manter a frota inteira em memória; com 1 milhão ela
+ * leva alguns minutos por fork. Para uma rodada rápida: -p fleetSize=1000,10000.
+ */
+@State(Scope.Benchmark)
+public class FleetState {
+
+    private static final String[] BRANDS = { "Volvo", "Mercedes-Benz", "Scania", "Marcopolo", "Caio", "Iveco" };
+    private static final String[] MODELS = { "Torino", "Apache Vip", "Paradiso", "Viale", "Millennium", "Citmax" };
+    private static final String[] COLORS = { "Branco", "Azul", "Vermelho", "Prata", "Amarelo" };
+    private static final String[] FEATURES = { "Rampa", "Elevador", "Piso baixo", "Assento preferencial",
+            "Sinal sonoro", "Espaço para cadeira de rodas", "Corrimão", "Painel em braile" };
+    private static final int SEED_CHUNK = 10_000;
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public int fleetSize;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private List<Long> busIds;
+    private List<Long> featureIds;
+    // Placas são únicas entre Ônibus e Vans: cada Ônibus novo recebe a próxima
+    private final AtomicInteger nextPlate = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        Map<String, Object> properties = new HashMap<>(Map.of(
+                "spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                "spring.jpa.show-sql", "false",
+                "spring.main.banner-mode", "off",
+                "logging.level.root", "WARN"));
+        properties.putAll(extraProperties());
+        // Como argumentos de linha de comando: propriedades padrão (builder.properties) perdem para o
+        // application.properties, e o backend iria para o banco de localhost:5432
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(webApplicationType())
+                .run(args);
+        seed();
+    }
+
+    // Propriedades do backend específicas de um benchmark (ex.: fleet.search.mode)
+    protected Map<String, Object> extraProperties() {
+        return Map.of();
+    }
+
+    // Sem servidor web: os benchmarks chamam os beans direto (LoadFleetState sobe o Tomcat)
+    protected WebApplicationType webApplicationType() {
+        return WebApplicationType.NONE;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    private void seed() {
+        AccessibilityFeatureRepository features = bean(AccessibilityFeatureRepository.class);
+        for (String name : FEATURES) {
+            AccessibilityFeature feature = new AccessibilityFeature();
+            feature.setName(name);
+            feature.setDescription(name + " para passageiros com mobilidade reduzida");
+            features.save(feature);
+        }
+        featureIds = features.findAll().stream().map(AccessibilityFeature::getId).toList();
+
+        BulkImportService bulkImport = bean(BulkImportService.class);
+        for (int start = 0; start < fleetSize; start += SEED_CHUNK) {
+            int end = Math.min(fleetSize, start + SEED_CHUNK);
+            List<Bus> buses = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                buses.add(newBus(i));
+            }
+            bulkImport.importAll(buses, Bus::getAccessibilityFeatures);
+        }
+        // Só os ids: carregar 1 milhão de entidades não cabe no setup
+        busIds = bean(JdbcTemplate.class).queryForList("SELECT id FROM buses ORDER BY id", Long.class);
+        settle();
+    }
+
+    // Eventos da carga publicados e já aplicados: o trabalho em segundo plano fica fora da medição
+    private void settle() {
+        ChangeEventRepository events = bean(ChangeEventRepository.class);
+        ChangeEventPublisher publisher = bean(ChangeEventPublisher.class);
+        while (!events.findPending(1).isEmpty()) {
+            publisher.publishPending();
+        }
+        bean(AccessibilityFeatureIndex.class).rebuild();
+        bean(LiveFeedService.class).poll();
+    }
+
+    // Ônibus novo (sem id, placa inédita) com dois Meios Acessíveis referenciados pelo id
+    public Bus newBus(int i) {
+        Bus bus = new Bus();
+        bus.setBrand(BRANDS[i % BRANDS.length]);
+        bus.setModel(MODELS[(i / BRANDS.length) % MODELS.length]);
+        bus.setColor(COLORS[i % COLORS.length]);
+        bus.setYear(String.valueOf(2005 + i % 20));
+        bus.setLicensePlate(String.format("BEN-%07d", nextPlate.getAndIncrement()));
+        bus.setNumberOfSeats(30 + i % 30);
+        bus.setHasWifi(i % 2 == 0);
+        bus.setHasAirConditioning(i % 3 == 0);
+
+        Set<AccessibilityFeature> busFeatures = new LinkedHashSet<>();
+        for (int f = 0; f < 2; f++) {
+            AccessibilityFeature feature = new AccessibilityFeature();
+            feature.setId(featureIds.get((i + f) % featureIds.size()));
+            busFeatures.add(feature);
+        }
+        bus.setAccessibilityFeatures(busFeatures);
+        return bus;
+    }
+
+    public Long randomBusId() {
+        return busIds.get(ThreadLocalRandom.current().nextInt(busIds.size()));
+    }
+
+    public List<Long> busIds() {
+        return busIds;
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,84 @@
+package com.marcos.benchmarks;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Carga HTTP nas listagens e na busca por id de Ônibus: threads de plataforma x threads virtuais
+/*
+ * 256 clientes simultâneos, acima das 200 threads do Tomcat, para que o modo PLATFORM
+ * enfileire conexões. Throughput dá a vazão; SampleTime dá os percentis (p99).
+ * As respostas 503 do limite por endpoint (fleet.concurrency) contam em "rejected".
+ * Rodada padrão: -Djmh.args="Load -p fleetSize=10000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(256)
+@Fork(1)
+public class LoadBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private HttpClient httpClient;
+
+    @Setup
+    public void setUp() {
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rejected = 0;
+        }
+    }
+
+    @Benchmark
+    public int list(LoadFleetState fleet, Responses responses) throws IOException, InterruptedException {
+        int pages = Math.max(1, fleet.fleetSize / PAGE_SIZE);
+        return send(fleet, "/buses?size=" + PAGE_SIZE + "&page=" + ThreadLocalRandom.current().nextInt(pages),
+                responses);
+    }
+
+    @Benchmark
+    public int findById(LoadFleetState fleet, Responses responses) throws IOException, InterruptedException {
+        return send(fleet, "/buses/" + fleet.randomBusId(), responses);
+    }
+
+    private int send(LoadFleetState fleet, String path, Responses responses)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(fleet.uri(path)).build();
+        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 503) {
+            responses.rejected++;
+        } else if (status != 200) {
+            throw new IllegalStateException("GET " + path + " respondeu " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,38 @@
+package com.marcos.benchmarks;
+
+import java.net.URI;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.core.env.Environment;
+
+// Frota de benchmark servida pelo Tomcat em porta livre, no modo de execução escolhido
+/*
+ * PLATFORM: pool de threads de plataforma do Tomcat (até 200 threads).
+ * VIRTUAL: uma thread virtual por requisição (spring.threads.virtual.enabled).
+ */
+@State(Scope.Benchmark)
+public class LoadFleetState extends FleetState {
+
+    @Param({ "PLATFORM", "VIRTUAL" })
+    public String threads;
+
+    @Override
+    protected Map<String, Object> extraProperties() {
+        return Map.of(
+                "server.port", "0",
+                "spring.threads.virtual.enabled", String.valueOf(threads.equals("VIRTUAL")));
+    }
+
+    @Override
+    protected WebApplicationType webApplicationType() {
+        return WebApplicationType.SERVLET;
+    }
+
+    public URI uri(String path) {
+        return URI.create("http://localhost:" + bean(Environment.class).getProperty("local.server.port") + path);
+    }
+}
@@ -0,0 +1,66 @@
+package com.marcos.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.marcos.backend.dtos.BusSummary;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.repositories.BusRepository;
+import com.marcos.backend.services.BusService;
+
+// Caminhos de leitura e escrita de Ônibus: listagem, busca por id e cadastro (pesquisa em SearchBenchmark)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private BusService busService;
+    private BusRepository busRepository;
+
+    @Setup
+    public void setUp(FleetState fleet) {
+        busService = fleet.bean(BusService.class);
+        busRepository = fleet.bean(BusRepository.class);
+    }
+
+    @Benchmark
+    public Page<BusSummary> list(FleetState fleet) {
+        int pages = Math.max(1, fleet.fleetSize / PAGE_SIZE);
+        return busService.searchSummaries(null,
+                PageRequest.of(ThreadLocalRandom.current().nextInt(pages), PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Optional<Bus> findById(FleetState fleet) {
+        return busRepository.findWithFeaturesById(fleet.randomBusId());
+    }
+
+    @Benchmark
+    public Optional<Bus> findByIdCached(FleetState fleet) {
+        return busService.findById(fleet.randomBusId());
+    }
+
+    @Benchmark
+    public Bus save(FleetState fleet) {
+        return busService.save(fleet.newBus(ThreadLocalRandom.current().nextInt(10000)));
+    }
+}
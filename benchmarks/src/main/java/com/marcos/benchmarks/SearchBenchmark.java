@@ -0,0 +1,58 @@
+package com.marcos.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.marcos.backend.dtos.BusSummary;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.services.BusService;
+
+// Latência da pesquisa por Marca/Modelo nos modos LIKE e TRIGRAM, de 1 mil a 1 milhão de Ônibus
+/*
+ * "volvo" atinge um sexto da frota (uma das seis marcas); "parad" é um trecho
+ * de Modelo ("Paradiso"), o caso em que só o índice de trigramas evita varrer a tabela.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private BusService busService;
+
+    @Setup
+    public void setUp(SearchFleetState fleet) {
+        busService = fleet.bean(BusService.class);
+    }
+
+    @Benchmark
+    public Page<BusSummary> searchBrand() {
+        return busService.searchSummaries("volvo", PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<BusSummary> searchModelFragment() {
+        return busService.searchSummaries("parad", PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<Bus> searchByBrandOrModel() {
+        return busService.searchByBrandOrModel("scania", PageRequest.of(0, PAGE_SIZE));
+    }
+}
@@ -0,0 +1,24 @@
+package com.marcos.benchmarks;
+
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+// Frota de benchmark com o modo de pesquisa escolhido (fleet.search.mode)
+/*
+ * LIKE: filtro por LOWER(brand/model) LIKE, ordenado por id.
+ * TRIGRAM: search_text com índice GIN de trigramas (pg_trgm), ordenado por relevância.
+ */
+@State(Scope.Benchmark)
+public class SearchFleetState extends FleetState {
+
+    @Param({ "LIKE", "TRIGRAM" })
+    public String searchMode;
+
+    @Override
+    protected Map<String, Object> extraProperties() {
+        return Map.of("fleet.search.mode", searchMode);
+    }
+}
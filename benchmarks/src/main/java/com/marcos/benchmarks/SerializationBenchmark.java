@@ -0,0 +1,75 @@
+package com.marcos.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcos.backend.dtos.BusSummary;
+import com.marcos.backend.dtos.BusView;
+import com.marcos.backend.entities.Bus;
+import com.marcos.backend.repositories.BusRepository;
+import com.marcos.backend.services.BusService;
+
+// Serialização JSON de uma página de Ônibus com o ObjectMapper configurado pelo Spring
+/*
+ * As páginas são carregadas uma vez no setup; o benchmark mede só o Jackson,
+ * comparando a entidade (Page<Bus>), a resposta da API (BusView, com a cópia
+ * incluída) e o modelo de leitura da listagem (Page<BusSummary>).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+    private Page<Bus> entityPage;
+    private Page<BusSummary> summaryPage;
+
+    @Setup
+    public void setUp(FleetState fleet) {
+        objectMapper = fleet.bean(ObjectMapper.class);
+        BusRepository busRepository = fleet.bean(BusRepository.class);
+
+        List<Bus> buses = fleet.busIds().stream()
+                .limit(PAGE_SIZE)
+                .map(id -> busRepository.findWithFeaturesById(id).orElseThrow())
+                .toList();
+        entityPage = new PageImpl<>(buses, PageRequest.of(0, PAGE_SIZE), fleet.fleetSize);
+        summaryPage = fleet.bean(BusService.class).searchSummaries(null, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public byte[] serializeEntityPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entityPage);
+    }
+
+    @Benchmark
+    public byte[] serializeViewPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entityPage.map(BusView::of));
+    }
+
+    @Benchmark
+    public byte[] serializeSummaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaryPage);
+    }
+}
@@ -0,0 +1,149 @@
+package com.marcos.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// Tempo até a primeira resposta: do "java -jar" ao primeiro 200 de GET /accessibility-features
+/*
+ * Usa o jar extraído e os arquivos CDS de "mvn -Pfast-startup package" no backend
+ * (diretório em -Dstartup.directory, padrão ../backend/target/fast-startup).
+ * Cada invocação sobe um processo novo contra o mesmo PostgreSQL embutido; o
+ * aquecimento aplica as migrações, então as medições só validam o esquema.
+ * O log de cada modo fica em target/startup-<modo>.log.
+ *
+ * Modos: JIT (jar comum), AOT (-Dspring.aot.enabled), CDS e AOT_CDS.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(3);
+
+    @Param({ "JIT", "AOT", "CDS", "AOT_CDS" })
+    public String mode;
+
+    private EmbeddedPostgres postgres;
+    private Path directory;
+    private Path jar;
+    private HttpClient httpClient;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        directory = Paths.get(System.getProperty("startup.directory", "../backend/target/fast-startup"));
+        try (Stream<Path> files = Files.list(directory)) {
+            jar = files.filter(file -> file.toString().endsWith(".jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Jar não encontrado em " + directory));
+        } catch (IOException e) {
+            throw new IllegalStateException("Gere o build com: cd backend && mvn -Pfast-startup package", e);
+        }
+        postgres = EmbeddedPostgres.start();
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws IOException, InterruptedException {
+        int port = freePort();
+        process = new ProcessBuilder(command(port))
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(new File("target/startup-" + mode + ".log"))
+                .start();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/accessibility-features"))
+                .build();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("O backend encerrou na inicialização; veja target/startup-"
+                        + mode + ".log");
+            }
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return response.statusCode();
+                }
+            } catch (ConnectException e) {
+                // Servidor web ainda não aceita conexões
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Sem resposta em " + TIMEOUT_MILLIS + " ms (modo " + mode + ")");
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopBackend() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private List<String> command(int port) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (mode.startsWith("AOT")) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        if (mode.equals("CDS")) {
+            command.add("-XX:SharedArchiveFile=backend.jsa");
+        } else if (mode.equals("AOT_CDS")) {
+            command.add("-XX:SharedArchiveFile=backend-aot.jsa");
+        }
+        command.add("-jar");
+        command.add(jar.getFileName().toString());
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"));
+        command.add("--spring.datasource.username=postgres");
+        command.add("--spring.datasource.password=postgres");
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
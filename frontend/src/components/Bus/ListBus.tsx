@@ -3,6 +3,7 @@ import { Layout } from "../layout/Layout";
 import { Pagination } from "../ui/Pagination";
 import { CirclePlus, Pencil } from "lucide-react";
 import { apiRequest } from "../../services/api";
+import { subscribeToFleetChanges } from "../../services/liveFeed";
 import { CreateButton } from "../ui/CreateButton";
 import { BusModal } from "./CreateBusModal";
 import { ConfirmModal } from "../ui/ConfirmModal";
@@ -55,6 +56,22 @@ export default function ListBus() {
         loadBuses();
     }, [currentPage, sortField, sortOrder, debouncedSearchTerm]);
 
+    // Atualizações ao vivo: edição troca a linha; criação/remoção recarrega a página
+    useEffect(() => {
+        return subscribeToFleetChanges<Bus>(
+            { type: "bus", search: debouncedSearchTerm || undefined },
+            (change) => {
+                const updated = change.data;
+                if (change.operation === "UPDATED" && updated) {
+                    setBuses((current) => current.map((item) => (item.id === change.entityId ? updated : item)));
+                } else {
+                    loadBuses();
+                }
+            },
+            loadBuses
+        );
+    }, [currentPage, sortField, sortOrder, debouncedSearchTerm]);
+
     useEffect(() => {
         const handler = setTimeout(() => {
             setDebouncedSearchTerm(searchTerm);
@@ -3,6 +3,7 @@ import { Layout } from "../layout/Layout";
 import { Pagination } from "../ui/Pagination";
 import { CirclePlus, Pencil } from "lucide-react";
 import { apiRequest } from "../../services/api";
+import { subscribeToFleetChanges } from "../../services/liveFeed";
 import { CreateButton } from "../ui/CreateButton";
 import { VanModal } from "./CreateVanModal";
 import { ConfirmModal } from "../ui/ConfirmModal";
@@ -61,6 +62,22 @@ export default function ListVan() {
     loadVans();
   }, [currentPage, sortField, sortOrder, debouncedSearchTerm]);
 
+  // Atualizações ao vivo: edição troca a linha; criação/remoção recarrega a página
+  useEffect(() => {
+    return subscribeToFleetChanges<Van>(
+      { type: "van", search: debouncedSearchTerm || undefined },
+      (change) => {
+        const updated = change.data;
+        if (change.operation === "UPDATED" && updated) {
+          setVans((current) => current.map((item) => (item.id === change.entityId ? updated : item)));
+        } else {
+          loadVans();
+        }
+      },
+      loadVans
+    );
+  }, [currentPage, sortField, sortOrder, debouncedSearchTerm]);
+
   useEffect(() => {
     const handler = setTimeout(() => {
       setDebouncedSearchTerm(searchTerm);
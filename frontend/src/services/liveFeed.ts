@@ -0,0 +1,35 @@
+import { API_BASE_URL } from './api';
+
+export type FleetChange<T> = {
+    position: number;
+    entity: 'BUS' | 'VAN' | 'ACCESSIBILITY_FEATURE';
+    entityId: number;
+    operation: 'CREATED' | 'UPDATED' | 'DELETED';
+    version: number | null;
+    data: T | null;
+};
+
+export type FleetChangeFilter = {
+    type?: 'bus' | 'van';
+    search?: string;
+    features?: number[];
+};
+
+// Mudanças ao vivo (GET /changes/stream); o EventSource reconecta sozinho com Last-Event-ID.
+// "resync" indica que houve perda e a lista deve ser recarregada. Retorna a função que encerra a conexão.
+export const subscribeToFleetChanges = <T>(
+    filter: FleetChangeFilter,
+    onChange: (change: FleetChange<T>) => void,
+    onResync: () => void
+): (() => void) => {
+    const params = new URLSearchParams();
+    if (filter.type) params.set('type', filter.type);
+    if (filter.search) params.set('search', filter.search);
+    filter.features?.forEach((id) => params.append('features', String(id)));
+
+    const source = new EventSource(`${API_BASE_URL}/changes/stream?${params}`, { withCredentials: true });
+    source.addEventListener('change', (event) => onChange(JSON.parse((event as MessageEvent).data)));
+    source.addEventListener('resync', () => onResync());
+
+    return () => source.close();
+};